@@ -1,11 +1,14 @@
 package com.epam.taskgym.client;
 
 import com.epam.taskgym.models.TrainingRequest;
+import com.epam.taskgym.models.WorkloadBatchResult;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 
+import java.util.List;
+
 @FeignClient(name = "MICROSERVICE", fallback = MicroserviceFallback.class)
 public interface MicroserviceClient {
 
@@ -13,4 +16,9 @@ public interface MicroserviceClient {
     void actionTraining(@RequestBody TrainingRequest trainingRequest,
                         @RequestHeader("Transaction-ID") String transactionId,
                         @RequestHeader("Authorization") String Authorization);
+
+    @PostMapping("/Workloads/batch")
+    List<WorkloadBatchResult> actionTrainingBatch(@RequestBody List<TrainingRequest> trainingRequests,
+                                                  @RequestHeader("Transaction-ID") String transactionId,
+                                                  @RequestHeader("Authorization") String Authorization);
 }
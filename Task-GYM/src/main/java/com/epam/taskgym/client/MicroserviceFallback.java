@@ -1,13 +1,28 @@
 package com.epam.taskgym.client;
 
+import com.epam.taskgym.exception.MicroserviceUnavailableException;
 import com.epam.taskgym.models.TrainingRequest;
+import com.epam.taskgym.models.WorkloadBatchResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Component
 public class MicroserviceFallback implements MicroserviceClient {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MicroserviceFallback.class);
 
+    // Fail loudly so the outbox keeps the update and retries it later
     @Override
     public void actionTraining(TrainingRequest trainingRequest, String transactionId, String Authorization) {
-        System.out.println("Microservice is not available");
+        LOGGER.warn("Transaction Id: {}, Microservice is not available", transactionId);
+        throw new MicroserviceUnavailableException("Microservice is not available");
+    }
+
+    @Override
+    public List<WorkloadBatchResult> actionTrainingBatch(List<TrainingRequest> trainingRequests, String transactionId, String Authorization) {
+        LOGGER.warn("Transaction Id: {}, Microservice is not available", transactionId);
+        throw new MicroserviceUnavailableException("Microservice is not available");
     }
 }
@@ -0,0 +1,15 @@
+package com.epam.taskgym.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties("export")
+public class ExportProperties {
+    // Rows the JDBC driver pulls per round trip; MySQL honours it only with useCursorFetch=true
+    private int fetchSize = 1000;
+}
@@ -0,0 +1,27 @@
+package com.epam.taskgym.configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class ImportExecutorConfig {
+    public static final String IMPORT_EXECUTOR = "importExecutor";
+
+    // Kept apart from the login pool so a large import cannot starve logins; when full, the importing thread hashes itself
+    @Bean(name = IMPORT_EXECUTOR, destroyMethod = "shutdown")
+    public ThreadPoolExecutor importExecutor(ImportProperties properties, MeterRegistry meterRegistry) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(properties.getThreads(), properties.getThreads(),
+                0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                new CustomizableThreadFactory("import-"), new ThreadPoolExecutor.CallerRunsPolicy());
+        new ExecutorServiceMetrics(executor, "import", Tags.empty()).bindTo(meterRegistry);
+        return executor;
+    }
+}
@@ -0,0 +1,17 @@
+package com.epam.taskgym.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties("registration.import")
+public class ImportProperties {
+    // Rows validated, hashed, allocated and inserted together; also the unit of the flushed response
+    private int chunkSize = 500;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private int queueCapacity = 1000;
+}
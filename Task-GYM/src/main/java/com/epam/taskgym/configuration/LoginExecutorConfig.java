@@ -0,0 +1,27 @@
+package com.epam.taskgym.configuration;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class LoginExecutorConfig {
+    public static final String LOGIN_EXECUTOR = "loginExecutor";
+
+    // Fixed size and a bounded queue; AbortPolicy lets AuthService turn saturation into a fast 503.
+    // The decorator hands each login the caller's MDC, and Spring Boot's executor metrics pick the pool up by bean name
+    @Bean(name = LOGIN_EXECUTOR)
+    public ThreadPoolTaskExecutor loginExecutor(LoginExecutorProperties properties, TaskDecorator mdcTaskDecorator) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getThreads());
+        executor.setMaxPoolSize(properties.getThreads());
+        executor.setQueueCapacity(properties.getQueueCapacity());
+        executor.setThreadNamePrefix("login-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setTaskDecorator(mdcTaskDecorator);
+        return executor;
+    }
+}
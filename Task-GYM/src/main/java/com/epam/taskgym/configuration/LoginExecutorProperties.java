@@ -0,0 +1,19 @@
+package com.epam.taskgym.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties("security.login")
+public class LoginExecutorProperties {
+    // BCrypt is CPU bound, so more threads than cores only adds queueing inside the pool
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private int queueCapacity = 64;
+    private Duration timeout = Duration.ofSeconds(5);
+}
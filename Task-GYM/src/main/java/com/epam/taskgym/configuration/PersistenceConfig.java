@@ -0,0 +1,16 @@
+package com.epam.taskgym.configuration;
+
+import com.epam.taskgym.entity.PooledSequenceGenerator;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class PersistenceConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer idAllocationSizeCustomizer(PersistenceProperties properties) {
+        return hibernateProperties -> hibernateProperties.put(PooledSequenceGenerator.ALLOCATION_SIZE_SETTING,
+                String.valueOf(properties.getAllocationSize()));
+    }
+}
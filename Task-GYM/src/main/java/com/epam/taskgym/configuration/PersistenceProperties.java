@@ -0,0 +1,16 @@
+package com.epam.taskgym.configuration;
+
+import com.epam.taskgym.entity.PooledSequenceGenerator;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties("persistence.id")
+public class PersistenceProperties {
+    // Ids reserved per sequence round trip; raising it on an existing database needs the <table>_seq values bumped first
+    private int allocationSize = PooledSequenceGenerator.DEFAULT_ALLOCATION_SIZE;
+}
@@ -0,0 +1,17 @@
+package com.epam.taskgym.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties("profile.cache")
+public class ProfileCacheProperties {
+    private long maxSize = 10_000;
+    private Duration ttl = Duration.ofMinutes(5);
+}
@@ -0,0 +1,19 @@
+package com.epam.taskgym.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties("workload.outbox")
+public class WorkloadOutboxProperties {
+    private int batchSize = 200;
+    private int maxAttempts = 20;
+    private Duration initialBackoff = Duration.ofSeconds(1);
+    private Duration maxBackoff = Duration.ofMinutes(5);
+}
@@ -1,6 +1,7 @@
 package com.epam.taskgym.controller;
 
 import com.epam.taskgym.exception.*;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -37,6 +38,16 @@ public class GlobalExceptionHandler{
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new ErrorResponse(ex.getClass().getName(), ex.getMessage(), LocalDateTime.now(), HttpStatus.INTERNAL_SERVER_ERROR.value(), ex.getCause(), ex.getLocalizedMessage(), List.of(ex.getStackTrace())));
     }
 
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<ErrorResponse> handleBadRequestException(BadRequestException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new ErrorResponse(ex.getClass().getName(), ex.getMessage(), LocalDateTime.now(), HttpStatus.BAD_REQUEST.value(), ex.getCause(), ex.getLocalizedMessage(), List.of(ex.getStackTrace())));
+    }
+
+    @ExceptionHandler(LoginUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleLoginUnavailableException(LoginUnavailableException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").body(new ErrorResponse(ex.getClass().getName(), ex.getMessage(), LocalDateTime.now(), HttpStatus.SERVICE_UNAVAILABLE.value(), ex.getCause(), ex.getLocalizedMessage(), List.of(ex.getStackTrace())));
+    }
+
     // Handle generic exceptions
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleException(Exception ex) {
@@ -4,12 +4,17 @@ import com.epam.taskgym.entity.*;
 import com.epam.taskgym.models.*;
 import com.epam.taskgym.helpers.Builders;
 import com.epam.taskgym.service.*;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 @RestController
@@ -23,6 +28,12 @@ public class GymController {
     private final TrainingService trainingService;
     private final UserService userService;
     private final AuthService authService;
+    private final TrainingExportService trainingExportService;
+    private final RegistrationImportService registrationImportService;
+    private final TrainingImportService trainingImportService;
+    private final WorkloadOutboxService workloadOutboxService;
+    public static final String IMPORT_CONTENT_TYPE = "application/x-ndjson";
+    public static final String NEXT_CURSOR_HEADER = "Next-Cursor";
 
     // 1. Add a new trainee
     @PostMapping(value = "/trainee")
@@ -54,9 +65,7 @@ public class GymController {
     @GetMapping(value = "/trainees/{username}")
     public ResponseEntity<TraineeDTO> getTraineeProfile(
             @PathVariable String username) {
-        Trainee trainee = traineeService.getTraineeByUsername(username);
-        TraineeDTO traineeDTO = Builders.convertTraineeToTraineeDTO(trainee);
-        return new ResponseEntity<>(traineeDTO, HttpStatus.OK);
+        return new ResponseEntity<>(traineeService.getTraineeProfileDTO(username), HttpStatus.OK);
     }
 
     // 6. Update Trainee Profile
@@ -81,9 +90,7 @@ public class GymController {
     @GetMapping(value = "/trainers/{username}")
     public ResponseEntity<TrainerDTO> getTrainerProfile(
             @PathVariable String username) {
-        Trainer trainer = trainerService.getTrainerByUsername(username);
-        TrainerDTO trainerDTO = Builders.convertTrainerToTraineeDTO(trainer);
-        return new ResponseEntity<>(trainerDTO, HttpStatus.OK);
+        return new ResponseEntity<>(trainerService.getTrainerProfileDTO(username), HttpStatus.OK);
     }
 
     // 9. Update Trainer Profile
@@ -99,8 +106,10 @@ public class GymController {
     // 10. Get not assigned on trainee active trainers
     @GetMapping(value = "/trainees/{username}/trainersNotAssigned")
     public ResponseEntity<List<TrainerListItem>> getNotAssignedTrainers(
-            @PathVariable String username) {
-        return new ResponseEntity<>(trainerService.getUnassignedTrainers(username), HttpStatus.OK);
+            @PathVariable String username,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "" + TrainerService.DEFAULT_PAGE_SIZE) int size) {
+        return new ResponseEntity<>(trainerService.getUnassignedTrainers(username, after, size), HttpStatus.OK);
     }
 
     // 11. update Trainee's Trainer List
@@ -116,18 +125,26 @@ public class GymController {
     @GetMapping(value = "/trainees/{username}/trainings")
     public ResponseEntity<List<TrainingResponse>> getTraineeTrainings(
             @PathVariable String username,
-            @RequestBody TrainingFilteredDTO trainingFilteredDTO) {
+            @RequestBody TrainingFilteredDTO trainingFilteredDTO,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
         trainingFilteredDTO.setUsername(username);
-        return new ResponseEntity<>(trainingService.getTraineeTrainingsFiltered(trainingFilteredDTO), HttpStatus.OK);
+        trainingFilteredDTO.setCursor(cursor);
+        trainingFilteredDTO.setSize(size);
+        return toResponse(trainingService.getTraineeTrainingsFiltered(trainingFilteredDTO));
     }
 
     // 13. Get Trainer Trainings List
     @GetMapping(value = "/trainers/{username}/trainings")
     public ResponseEntity<List<TrainingResponse>> getTrainerTrainings(
             @PathVariable String username,
-            @RequestBody TrainingFilteredDTO trainingFilteredDTO) {
+            @RequestBody TrainingFilteredDTO trainingFilteredDTO,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
         trainingFilteredDTO.setUsername(username);
-        return new ResponseEntity<>(trainingService.getTrainerTrainingsFiltered(trainingFilteredDTO), HttpStatus.OK);
+        trainingFilteredDTO.setCursor(cursor);
+        trainingFilteredDTO.setSize(size);
+        return toResponse(trainingService.getTrainerTrainingsFiltered(trainingFilteredDTO));
     }
 
     // 14. Add Training
@@ -159,4 +176,99 @@ public class GymController {
     public ResponseEntity<List<TrainingType>> getAllTrainingTypes() {
         return new ResponseEntity<>(trainingTypeService.getAllTrainingTypes(), HttpStatus.OK);
     }
+
+    // 18. Export Trainee Trainings
+    @GetMapping(value = "/trainees/{username}/trainings/export")
+    public void exportTraineeTrainings(
+            @PathVariable String username,
+            @RequestParam(defaultValue = "ndjson") String format,
+            HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = ExportFormat.of(format);
+        trainingExportService.exportTraineeTrainings(username, exportFormat, exportWriter(response, exportFormat, username));
+    }
+
+    // 19. Export Trainer Trainings
+    @GetMapping(value = "/trainers/{username}/trainings/export")
+    public void exportTrainerTrainings(
+            @PathVariable String username,
+            @RequestParam(defaultValue = "ndjson") String format,
+            HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = ExportFormat.of(format);
+        trainingExportService.exportTrainerTrainings(username, exportFormat, exportWriter(response, exportFormat, username));
+    }
+
+    // 20. Export all Trainings
+    @GetMapping(value = "/trainings/export")
+    public void exportAllTrainings(
+            @RequestParam(defaultValue = "ndjson") String format,
+            HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = ExportFormat.of(format);
+        trainingExportService.exportAllTrainings(exportFormat, exportWriter(response, exportFormat, "gym"));
+    }
+
+    // 21. Import Trainees from a CSV or JSON array body
+    @PostMapping(value = "/trainees/import", consumes = {"text/csv", "application/json"})
+    public void importTrainees(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ImportFormat importFormat = ImportFormat.of(request.getContentType());
+        registrationImportService.importTrainees(importReader(request), importFormat, importWriter(response));
+    }
+
+    // 22. Import Trainers from a CSV or JSON array body
+    @PostMapping(value = "/trainers/import", consumes = {"text/csv", "application/json"})
+    public void importTrainers(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ImportFormat importFormat = ImportFormat.of(request.getContentType());
+        registrationImportService.importTrainers(importReader(request), importFormat, importWriter(response));
+    }
+
+    // 23. Import Trainings from a CSV or JSON array body
+    @PostMapping(value = "/trainings/import", consumes = {"text/csv", "application/json"})
+    public void importTrainings(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ImportFormat importFormat = ImportFormat.of(request.getContentType());
+        trainingImportService.importTrainings(importReader(request), importFormat, importWriter(response));
+    }
+
+    // 24. Retry the parked workload updates of a trainer
+    @PostMapping(value = "/workload-outbox/{trainerUsername}/retry")
+    public ResponseEntity<String> retryParkedWorkloadUpdates(@PathVariable String trainerUsername) {
+        int requeued = workloadOutboxService.retryParked(trainerUsername);
+        return new ResponseEntity<>(requeued + " parked workload updates requeued", HttpStatus.OK);
+    }
+
+    // 25. Discard the parked workload updates of a trainer
+    @DeleteMapping(value = "/workload-outbox/{trainerUsername}")
+    public ResponseEntity<String> discardParkedWorkloadUpdates(@PathVariable String trainerUsername) {
+        int discarded = workloadOutboxService.discardParked(trainerUsername);
+        return new ResponseEntity<>(discarded + " parked workload updates discarded", HttpStatus.OK);
+    }
+
+    private static Reader importReader(HttpServletRequest request) throws IOException {
+        String encoding = request.getCharacterEncoding();
+        return new BufferedReader(new InputStreamReader(request.getInputStream(),
+                encoding == null ? StandardCharsets.UTF_8.name() : encoding));
+    }
+
+    // One result line per input row, flushed chunk by chunk while the import runs
+    private static Writer importWriter(HttpServletResponse response) throws IOException {
+        response.setContentType(IMPORT_CONTENT_TYPE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        return new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8));
+    }
+
+    // Rows go straight to the servlet output stream instead of being collected first
+    private static Writer exportWriter(HttpServletResponse response, ExportFormat format, String name) throws IOException {
+        response.setContentType(format.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"" + name + "-trainings." + format.name().toLowerCase() + "\"");
+        return new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8));
+    }
+
+    // The body stays a plain list; the cursor for the next page travels in a header
+    private static ResponseEntity<List<TrainingResponse>> toResponse(TrainingPage trainingPage) {
+        HttpHeaders headers = new HttpHeaders();
+        if (trainingPage.getNextCursor() != null) {
+            headers.add(NEXT_CURSOR_HEADER, trainingPage.getNextCursor());
+        }
+        return new ResponseEntity<>(trainingPage.getTrainings(), headers, HttpStatus.OK);
+    }
 }
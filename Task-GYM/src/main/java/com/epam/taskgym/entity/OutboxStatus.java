@@ -0,0 +1,6 @@
+package com.epam.taskgym.entity;
+
+public enum OutboxStatus {
+    PENDING,
+    FAILED
+}
@@ -1,32 +1,54 @@
 package com.epam.taskgym.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 import lombok.*;
 
 import java.util.Date;
-import java.util.List;
+import java.util.Set;
 
 @Getter
 @Setter
 @Entity
 @Table(name = "trainee")
+@NamedEntityGraph(name = Trainee.PROFILE_GRAPH,
+        attributeNodes = {
+                @NamedAttributeNode("user"),
+                @NamedAttributeNode(value = "trainers", subgraph = "trainers")
+        },
+        subgraphs = @NamedSubgraph(name = "trainers", attributeNodes = {
+                @NamedAttributeNode("user"),
+                @NamedAttributeNode("specialization")
+        }))
 @NoArgsConstructor
 public class Trainee {
+    // Everything convertTraineeToTraineeDTO touches
+    public static final String PROFILE_GRAPH = "Trainee.profile";
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(generator = "trainee_seq")
+    @GenericGenerator(name = "trainee_seq", type = PooledSequenceGenerator.class,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "trainee_seq"))
     private Long id;
     @Column(name = "date_of_birth")
     @Temporal(TemporalType.DATE)
     private Date dateOfBirth;
-    @OneToOne
+    // A new profile persists its new user with it
+    @OneToOne(cascade = CascadeType.PERSIST)
     @NonNull
     private User user;
     @Column(name = "address")
     private String address;
 
+    // The owning side: one join table whose primary key is the (trainee_id, trainer_id) pair, so a new link is a
+    // single insert and a removed one a single delete
     @ManyToMany
-    private List<Trainer> trainers;
+    @JoinTable(name = "trainee_trainer",
+            joinColumns = @JoinColumn(name = "trainee_id"),
+            inverseJoinColumns = @JoinColumn(name = "trainer_id"))
+    private Set<Trainer> trainers;
 
     @Override
     public String toString() {
@@ -38,4 +60,24 @@ public class Trainee {
                 ", Is Active=" + user.getIsActive() +
                 '}';
     }
+
+    // Usernames never change and are set before a trainee joins any association, so they key the sets
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Trainee trainee)) return false;
+        String username = usernameOf(this);
+        return username != null && username.equals(usernameOf(trainee));
+    }
+
+    @Override
+    public int hashCode() {
+        String username = usernameOf(this);
+        return username == null ? System.identityHashCode(this) : username.hashCode();
+    }
+
+    // Through the getter, so a lazy proxy gets initialised rather than read as empty fields
+    private static String usernameOf(Trainee trainee) {
+        return trainee.getUser() == null ? null : trainee.getUser().getUsername();
+    }
 }
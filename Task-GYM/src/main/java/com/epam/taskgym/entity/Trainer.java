@@ -1,29 +1,44 @@
 package com.epam.taskgym.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 import lombok.*;
 
-import java.util.List;
+import java.util.Set;
 
 @Getter
 @Setter
 @Entity
 @Table(name = "trainer")
+@NamedEntityGraph(name = Trainer.PROFILE_GRAPH,
+        attributeNodes = {
+                @NamedAttributeNode("user"),
+                @NamedAttributeNode("specialization"),
+                @NamedAttributeNode(value = "trainees", subgraph = "trainees")
+        },
+        subgraphs = @NamedSubgraph(name = "trainees", attributeNodes = @NamedAttributeNode("user")))
 @NoArgsConstructor
 public class Trainer {
+    // Everything convertTrainerToTraineeDTO touches
+    public static final String PROFILE_GRAPH = "Trainer.profile";
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(generator = "trainer_seq")
+    @GenericGenerator(name = "trainer_seq", type = PooledSequenceGenerator.class,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "trainer_seq"))
     private Long id;
     @ManyToOne
     @NonNull
     private TrainingType specialization;
-    @OneToOne
+    // A new profile persists its new user with it
+    @OneToOne(cascade = CascadeType.PERSIST)
     @NonNull
     private User user;
 
-    @ManyToMany
-    private List<Trainee> trainees;
+    @ManyToMany(mappedBy = "trainers")
+    private Set<Trainee> trainees;
 
     @Override
     public String toString() {
@@ -34,4 +49,23 @@ public class Trainer {
                 ", Is Active=" + user.getIsActive() +
                 '}';
     }
+
+    // Same username key as Trainee
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Trainer trainer)) return false;
+        String username = usernameOf(this);
+        return username != null && username.equals(usernameOf(trainer));
+    }
+
+    @Override
+    public int hashCode() {
+        String username = usernameOf(this);
+        return username == null ? System.identityHashCode(this) : username.hashCode();
+    }
+
+    private static String usernameOf(Trainer trainer) {
+        return trainer.getUser() == null ? null : trainer.getUser().getUsername();
+    }
 }
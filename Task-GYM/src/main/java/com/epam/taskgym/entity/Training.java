@@ -1,6 +1,9 @@
 package com.epam.taskgym.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 import lombok.*;
 
 import java.util.Date;
@@ -9,12 +12,17 @@ import java.util.Date;
 @Setter
 @ToString
 @Entity
-@Table(name = "training")
+@Table(name = "training", indexes = {
+        @Index(name = "idx_training_trainee_history", columnList = "trainee_id, training_date, id"),
+        @Index(name = "idx_training_trainer_history", columnList = "trainer_id, training_date, id")
+})
 @NoArgsConstructor
 public class Training {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(generator = "training_seq")
+    @GenericGenerator(name = "training_seq", type = PooledSequenceGenerator.class,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "training_seq"))
     private Long id;
     @ManyToOne
     @NonNull
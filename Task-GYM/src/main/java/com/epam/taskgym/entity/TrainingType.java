@@ -1,6 +1,9 @@
 package com.epam.taskgym.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 import lombok.*;
 
 @Getter
@@ -12,7 +15,9 @@ import lombok.*;
 public class TrainingType {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(generator = "training_type_seq")
+    @GenericGenerator(name = "training_type_seq", type = PooledSequenceGenerator.class,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "training_type_seq"))
     private Long id;
     @Column(name = "training_type_name", nullable=false)
     @NonNull
@@ -0,0 +1,20 @@
+package com.epam.taskgym.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+@Getter
+@Setter
+@Entity
+@Table(name = "username_sequence")
+@NoArgsConstructor
+@AllArgsConstructor
+public class UsernameSequence {
+
+    @Id
+    @Column(name = "base_name")
+    private String baseName;
+    // 0 means the bare base name was handed out, n means base name + n
+    @Column(name = "last_suffix", nullable = false)
+    private int lastSuffix;
+}
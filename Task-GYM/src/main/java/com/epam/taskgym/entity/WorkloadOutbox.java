@@ -0,0 +1,56 @@
+package com.epam.taskgym.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.Date;
+
+@Getter
+@Setter
+@ToString
+@Entity
+@Table(name = "workload_outbox", indexes = {
+        @Index(name = "idx_workload_outbox_status_next_attempt", columnList = "status, next_attempt_at"),
+        @Index(name = "idx_workload_outbox_trainer", columnList = "trainer_username")
+})
+@NoArgsConstructor
+public class WorkloadOutbox {
+
+    @Id
+    @GeneratedValue(generator = "workload_outbox_seq")
+    @GenericGenerator(name = "workload_outbox_seq", type = PooledSequenceGenerator.class,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "workload_outbox_seq"))
+    private Long id;
+    @Column(name = "trainer_username", nullable = false)
+    private String trainerUsername;
+    @Column(name = "trainer_first_name")
+    private String trainerFirstName;
+    @Column(name = "trainer_last_name")
+    private String trainerLastName;
+    @Column(name = "trainer_is_active")
+    private Boolean trainerIsActive;
+    @Column(name = "training_date", nullable = false)
+    @Temporal(TemporalType.DATE)
+    private Date trainingDate;
+    @Column(name = "training_duration", nullable = false)
+    private Integer duration;
+    @Column(name = "action", nullable = false)
+    private String action;
+    @Column(name = "transaction_id")
+    private String transactionId;
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private OutboxStatus status;
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+    @Column(name = "next_attempt_at", nullable = false)
+    private Instant nextAttemptAt;
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+}
@@ -0,0 +1,11 @@
+package com.epam.taskgym.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class MicroserviceUnavailableException extends RuntimeException {
+    public MicroserviceUnavailableException(String message) {
+        super(message);
+    }
+}
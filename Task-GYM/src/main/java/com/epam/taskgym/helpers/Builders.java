@@ -5,13 +5,11 @@ import com.epam.taskgym.entity.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
-import java.util.Date;
-import java.util.List;
-import java.util.Random;
+import java.util.*;
 
 public class Builders {
     private static final Logger LOGGER = LoggerFactory.getLogger(Builders.class);
+    private static final Comparator<String> BY_USERNAME = Comparator.nullsFirst(Comparator.naturalOrder());
     public static User buildUser(String firstName, String lastName, String username, String password, String role) {
         User user = new User();
         user.setFirstName(firstName);
@@ -35,6 +33,19 @@ public class Builders {
         return training;
     }
 
+    public static TrainingRequest buildTrainingRequest(Training training, String action) {
+        User trainerUser = training.getTrainer().getUser();
+        return TrainingRequest.builder()
+                .username(trainerUser.getUsername())
+                .firstName(trainerUser.getFirstName())
+                .lastName(trainerUser.getLastName())
+                .isActive(trainerUser.getIsActive())
+                .date(training.getDate())
+                .duration(training.getDuration())
+                .action(action)
+                .build();
+    }
+
     public static String generateRandomPassword() {
         LOGGER.info("Generating random password");
         String password = new Random().ints(48, 122)
@@ -58,9 +69,10 @@ public class Builders {
         return traineeDTO;
     }
 
-    public static ArrayList<TrainerListItem> convertTrainersToTrainerListItem(List<Trainer> trainers) {
+    // Sets have no order of their own, so lists come out sorted by username
+    public static ArrayList<TrainerListItem> convertTrainersToTrainerListItem(Collection<Trainer> trainers) {
         ArrayList<TrainerListItem> trainerListItem = new ArrayList<>();
-        trainers.forEach(trainer -> {
+        trainers.stream().sorted(Comparator.comparing(trainer -> trainer.getUser().getUsername(), BY_USERNAME)).forEach(trainer -> {
             TrainerListItem trainerDTO = new TrainerListItem();
             trainerDTO.setFirstName(trainer.getUser().getFirstName());
             trainerDTO.setLastName(trainer.getUser().getLastName());
@@ -81,9 +93,9 @@ public class Builders {
         return trainerDTO;
     }
 
-    public static List<TraineeListItem> convertTrainerListToTraineeListItem(List<Trainee> trainees) {
+    public static List<TraineeListItem> convertTrainerListToTraineeListItem(Collection<Trainee> trainees) {
         List<TraineeListItem> traineeListItems = new ArrayList<>();
-        for (Trainee trainee : trainees) {
+        for (Trainee trainee : trainees.stream().sorted(Comparator.comparing(trainee -> trainee.getUser().getUsername(), BY_USERNAME)).toList()) {
             TraineeListItem traineeListItem = new TraineeListItem();
             traineeListItem.setFirstName(trainee.getUser().getFirstName());
             traineeListItem.setLastName(trainee.getUser().getLastName());
@@ -98,6 +110,7 @@ public class Builders {
         List<TrainingResponse> trainingResponses = new ArrayList<>();
         for (Training training : trainings) {
             TrainingResponse trainingResponse = new TrainingResponse();
+            trainingResponse.setId(training.getId());
             trainingResponse.setTrainingName(training.getName());
             trainingResponse.setTrainingDate(training.getDate());
             trainingResponse.setDuration(training.getDuration());
@@ -0,0 +1,38 @@
+package com.epam.taskgym.helpers;
+
+import com.epam.taskgym.exception.BadRequestException;
+import com.epam.taskgym.models.TrainingResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+// Opaque keyset position in a training history, ordered by (date, id) descending
+public record TrainingCursor(Date date, Long id) {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TrainingCursor.class);
+
+    public static TrainingCursor of(TrainingResponse lastTraining) {
+        return new TrainingCursor(lastTraining.getTrainingDate(), lastTraining.getId());
+    }
+
+    public static TrainingCursor decode(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(":");
+            return new TrainingCursor(new Date(Long.parseLong(parts[0])), Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            LOGGER.error("Transaction Id: {}, Invalid cursor: {}", MDC.get("transactionId"), token);
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    public String encode() {
+        String raw = date.getTime() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -95,6 +95,13 @@ public class Validations {
         }
     }
 
+    public static void validatePageSize(int size, int maxSize) {
+        if (size < 1 || size > maxSize) {
+            LOGGER.error("Transaction Id: {}, Page size must be between 1 and {}", MDC.get("transactionId"), maxSize);
+            throw new BadRequestException("Page size must be between 1 and " + maxSize);
+        }
+    }
+
     public static void validateUsername(String username) {
         LOGGER.info("Transaction Id: {}, validating username: {}", MDC.get("transactionId"), username);
         if (username == null || username.isEmpty()) {
@@ -0,0 +1,30 @@
+package com.epam.taskgym.models;
+
+import com.epam.taskgym.exception.BadRequestException;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+public enum ImportFormat {
+    CSV(MediaType.valueOf("text/csv")),
+    JSON(MediaType.APPLICATION_JSON);
+
+    private final MediaType mediaType;
+
+    ImportFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public static ImportFormat of(String contentType) {
+        try {
+            MediaType requested = MediaType.parseMediaType(contentType);
+            for (ImportFormat importFormat : values()) {
+                if (importFormat.mediaType.isCompatibleWith(requested)) {
+                    return importFormat;
+                }
+            }
+        } catch (InvalidMediaTypeException e) {
+            // falls through to the same error as an unknown type
+        }
+        throw new BadRequestException("Unsupported import content type: " + contentType);
+    }
+}
@@ -0,0 +1,30 @@
+package com.epam.taskgym.models;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+// One line of the import response; row is 1-based and counts data rows only
+@Getter
+@ToString
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ImportResult {
+    private int row;
+    private String username;
+    private String password;
+    private String error;
+
+    public static ImportResult created(int row, String username, String password) {
+        return new ImportResult(row, username, password, null);
+    }
+
+    public static ImportResult imported(int row) {
+        return new ImportResult(row, null, null, null);
+    }
+
+    public static ImportResult failed(int row, String error) {
+        return new ImportResult(row, null, null, error);
+    }
+}
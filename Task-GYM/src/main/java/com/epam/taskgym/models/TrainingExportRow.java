@@ -0,0 +1,22 @@
+package com.epam.taskgym.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Date;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrainingExportRow {
+    private Long id;
+    private Date date;
+    private String name;
+    private String trainingType;
+    private Integer duration;
+    private String traineeUsername;
+    private String trainerUsername;
+}
@@ -15,5 +15,6 @@ public class TrainingFilteredDTO {
     private Date dateTo;
     private String trainingTypeName;
     private String TrainerOrTraineeName;
-
+    private String cursor;
+    private Integer size;
 }
@@ -0,0 +1,17 @@
+package com.epam.taskgym.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrainingPage {
+    private List<TrainingResponse> trainings;
+    private String nextCursor;
+}
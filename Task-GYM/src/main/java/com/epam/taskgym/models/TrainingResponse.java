@@ -1,6 +1,7 @@
 package com.epam.taskgym.models;
 
 import com.epam.taskgym.entity.TrainingType;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -11,9 +12,24 @@ import java.util.Date;
 @Setter
 @NoArgsConstructor
 public class TrainingResponse {
+    @JsonIgnore
+    private Long id;
     private String TrainingName;
     private Date trainingDate;
     private TrainingType trainingType;
     private Integer duration;
     private String traineeOrTrainerName;
+
+    // Used by the training history projections
+    public TrainingResponse(Long id, String trainingName, Date trainingDate, Long trainingTypeId, String trainingTypeName,
+                            Integer duration, String traineeOrTrainerName) {
+        this.id = id;
+        this.TrainingName = trainingName;
+        this.trainingDate = trainingDate;
+        this.trainingType = new TrainingType();
+        this.trainingType.setId(trainingTypeId);
+        this.trainingType.setName(trainingTypeName);
+        this.duration = duration;
+        this.traineeOrTrainerName = traineeOrTrainerName;
+    }
 }
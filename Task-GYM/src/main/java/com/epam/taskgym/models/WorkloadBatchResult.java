@@ -0,0 +1,22 @@
+package com.epam.taskgym.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkloadBatchResult {
+    public static final String OK = "OK";
+    public static final String REJECTED = "REJECTED";
+    public static final String NOT_FOUND = "NOT_FOUND";
+    public static final String FAILED = "FAILED";
+
+    private int index;
+    private String transactionId;
+    private String status;
+    private String message;
+}
@@ -1,12 +1,22 @@
 package com.epam.taskgym.repository;
 
 import com.epam.taskgym.entity.Trainee;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface TraineeRepository extends JpaRepository<Trainee, Long> {
     Optional<Trainee> findByUserUsername(String username);
+
+    @EntityGraph(Trainee.PROFILE_GRAPH)
+    Optional<Trainee> findProfileByUserUsername(String username);
+
+    // Loads the assigned trainers too, so links can be checked without a query per trainee
+    @EntityGraph(attributePaths = {"user", "trainers"})
+    List<Trainee> findAllByUserUsernameIn(Collection<String> usernames);
 }
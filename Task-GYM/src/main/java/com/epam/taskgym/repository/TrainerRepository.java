@@ -1,16 +1,46 @@
 package com.epam.taskgym.repository;
 
 import com.epam.taskgym.entity.Trainer;
+import com.epam.taskgym.models.TrainerListItem;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface TrainerRepository extends JpaRepository<Trainer, Long> {
     Optional<Trainer> findByUserUsername(String username);
+
+    @EntityGraph(Trainer.PROFILE_GRAPH)
+    Optional<Trainer> findProfileByUserUsername(String username);
     List<Trainer> findAll();
 
-    List<Trainer> findAllByUserUsernameIn(List<String> trainerUsernames);
+    @EntityGraph(attributePaths = {"user", "specialization", "trainees"})
+    List<Trainer> findAllByUserUsernameIn(Collection<String> trainerUsernames);
+
+    // Just what a TrainerListItem shows
+    @EntityGraph(attributePaths = {"user", "specialization"})
+    List<Trainer> findWithSpecializationByUserUsernameIn(Collection<String> trainerUsernames);
+
+    @Query("SELECT new com.epam.taskgym.models.TrainerListItem(u.username, u.firstName, u.lastName, s.name) " +
+            "FROM Trainer tr " +
+            "JOIN tr.user u " +
+            "JOIN tr.specialization s " +
+            "WHERE u.isActive = true AND " +
+            "(:after is null or u.username > :after) AND " +
+            "NOT EXISTS (SELECT 1 FROM Trainee te JOIN te.trainers assigned " +
+            "WHERE te.user.username = :traineeUsername AND assigned = tr) AND " +
+            "NOT EXISTS (SELECT 1 FROM Training t " +
+            "WHERE t.trainee.user.username = :traineeUsername AND t.trainer = tr) " +
+            "ORDER BY u.username")
+    List<TrainerListItem> findActiveTrainersNotAssignedTo(
+            @Param("traineeUsername") String traineeUsername,
+            @Param("after") String after,
+            Pageable pageable);
 }
@@ -2,6 +2,8 @@ package com.epam.taskgym.repository;
 
 import com.epam.taskgym.entity.Trainer;
 import com.epam.taskgym.entity.Training;
+import com.epam.taskgym.models.TrainingResponse;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -20,37 +22,51 @@ public interface TrainingRepository extends JpaRepository<Training, Long> {
     @Query("SELECT DISTINCT t.trainer FROM Training t WHERE t.trainee.user.username = :username")
     List<Trainer> findAllTrainersByTraineeUsername(@Param("username") String username);
 
-    @Query("SELECT t FROM Training t " +
+    @Query("SELECT new com.epam.taskgym.models.TrainingResponse(t.id, t.name, t.date, tt.id, tt.name, t.duration, trUser.firstName) " +
+            "FROM Training t " +
             "JOIN t.trainee trn " +
             "JOIN trn.user trnUser " +
             "JOIN t.trainer tr " +
             "JOIN tr.user trUser " +
+            "JOIN t.trainingType tt " +
             "WHERE " +
             "(trnUser.username = :username) AND " +
             "(:fromDate is null or t.date >= :fromDate) AND " +
             "(:toDate is null or t.date <= :toDate) AND " +
             "(:trainerName is null or trUser.firstName = :trainerName) AND " +
-            "(:trainingTypeName is null or t.trainingType.name = :trainingTypeName)")
-    List<Training> getTraineeFilteredTrainings(
+            "(:trainingTypeName is null or tt.name = :trainingTypeName) AND " +
+            "(:cursorDate is null or t.date < :cursorDate or (t.date = :cursorDate and t.id < :cursorId)) " +
+            "ORDER BY t.date DESC, t.id DESC")
+    List<TrainingResponse> getTraineeFilteredTrainings(
             @Param("username") String username,
             @Param("fromDate") Date fromDate,
             @Param("toDate") Date toDate,
             @Param("trainerName") String trainerName,
-            @Param("trainingTypeName") String trainingTypeName);
+            @Param("trainingTypeName") String trainingTypeName,
+            @Param("cursorDate") Date cursorDate,
+            @Param("cursorId") Long cursorId,
+            Pageable pageable);
 
-    @Query("SELECT t FROM Training t " +
+    @Query("SELECT new com.epam.taskgym.models.TrainingResponse(t.id, t.name, t.date, tt.id, tt.name, t.duration, trnUser.firstName) " +
+            "FROM Training t " +
             "JOIN t.trainer tr " +
             "JOIN tr.user trUser " +
             "JOIN t.trainee trn " +
             "JOIN trn.user trnUser " +
+            "JOIN t.trainingType tt " +
             "WHERE " +
             "(trUser.username = :username) AND " +
             "(:fromDate is null or t.date >= :fromDate) AND " +
             "(:toDate is null or t.date <= :toDate) AND " +
-            "(:traineeName is null or trnUser.firstName = :traineeName)")
-    List<Training> getTrainerFilteredTrainings(
+            "(:traineeName is null or trnUser.firstName = :traineeName) AND " +
+            "(:cursorDate is null or t.date < :cursorDate or (t.date = :cursorDate and t.id < :cursorId)) " +
+            "ORDER BY t.date DESC, t.id DESC")
+    List<TrainingResponse> getTrainerFilteredTrainings(
             @Param("username") String username,
             @Param("fromDate") Date fromDate,
             @Param("toDate") Date toDate,
-            @Param("traineeName") String traineeName);
+            @Param("traineeName") String traineeName,
+            @Param("cursorDate") Date cursorDate,
+            @Param("cursorId") Long cursorId,
+            Pageable pageable);
 }
@@ -2,11 +2,23 @@ package com.epam.taskgym.repository;
 
 import com.epam.taskgym.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
+
+    boolean existsByUsername(String username);
+
+    @Query("SELECT u.username FROM User u WHERE u.username LIKE :pattern ESCAPE '!'")
+    List<String> findUsernamesLike(@Param("pattern") String pattern);
+
+    @Query("SELECT u.username FROM User u WHERE u.username IN :usernames")
+    List<String> findUsernamesIn(@Param("usernames") Collection<String> usernames);
 }
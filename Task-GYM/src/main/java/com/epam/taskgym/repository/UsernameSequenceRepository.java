@@ -0,0 +1,41 @@
+package com.epam.taskgym.repository;
+
+import com.epam.taskgym.entity.UsernameSequence;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface UsernameSequenceRepository extends JpaRepository<UsernameSequence, String> {
+
+    @Modifying
+    @Query("UPDATE UsernameSequence s SET s.lastSuffix = s.lastSuffix + 1 WHERE s.baseName = :baseName")
+    int increment(@Param("baseName") String baseName);
+
+    // Creates the counter, or bumps it if a concurrent registration created it first
+    @Modifying
+    @Query(value = "INSERT INTO username_sequence (base_name, last_suffix) VALUES (:baseName, :initialSuffix) " +
+            "ON DUPLICATE KEY UPDATE last_suffix = last_suffix + 1", nativeQuery = true)
+    int insertOrIncrement(@Param("baseName") String baseName, @Param("initialSuffix") int initialSuffix);
+
+    @Modifying
+    @Query("UPDATE UsernameSequence s SET s.lastSuffix = s.lastSuffix + :count WHERE s.baseName = :baseName")
+    int incrementBy(@Param("baseName") String baseName, @Param("count") int count);
+
+    // Batch variant of insertOrIncrement: reserves count suffixes ending at lastSuffix
+    @Modifying
+    @Query(value = "INSERT INTO username_sequence (base_name, last_suffix) VALUES (:baseName, :lastSuffix) " +
+            "ON DUPLICATE KEY UPDATE last_suffix = last_suffix + :count", nativeQuery = true)
+    int insertOrIncrementBy(@Param("baseName") String baseName, @Param("lastSuffix") int lastSuffix, @Param("count") int count);
+
+    // Records a handed-out username as a counter of its own whose bare name is taken. Returns 0 if it already has
+    // one; a concurrent claim of the same name waits on that row instead of failing
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO username_sequence (base_name, last_suffix) VALUES (:username, 0)", nativeQuery = true)
+    int claim(@Param("username") String username);
+
+    @Query("SELECT s.lastSuffix FROM UsernameSequence s WHERE s.baseName = :baseName")
+    int findLastSuffix(@Param("baseName") String baseName);
+}
@@ -0,0 +1,35 @@
+package com.epam.taskgym.repository;
+
+import com.epam.taskgym.entity.OutboxStatus;
+import com.epam.taskgym.entity.WorkloadOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface WorkloadOutboxRepository extends JpaRepository<WorkloadOutbox, Long> {
+
+    // Skips every trainer that still has a backed-off or parked entry so per-trainer order is preserved; a parked
+    // entry holds its trainer until an operator retries or discards it
+    @Query("SELECT o FROM WorkloadOutbox o " +
+            "WHERE o.status = com.epam.taskgym.entity.OutboxStatus.PENDING " +
+            "AND o.trainerUsername NOT IN (" +
+            "SELECT b.trainerUsername FROM WorkloadOutbox b " +
+            "WHERE (b.status = com.epam.taskgym.entity.OutboxStatus.PENDING AND b.nextAttemptAt > :now) " +
+            "OR b.status = com.epam.taskgym.entity.OutboxStatus.FAILED) " +
+            "ORDER BY o.id")
+    List<WorkloadOutbox> findDue(@Param("now") Instant now, Pageable pageable);
+
+    List<WorkloadOutbox> findByTrainerUsernameAndStatusOrderById(String trainerUsername, OutboxStatus status);
+
+    long countByStatus(OutboxStatus status);
+
+    @Query("SELECT MIN(o.createdAt) FROM WorkloadOutbox o WHERE o.status = com.epam.taskgym.entity.OutboxStatus.PENDING")
+    Optional<Instant> findOldestPendingCreatedAt();
+}
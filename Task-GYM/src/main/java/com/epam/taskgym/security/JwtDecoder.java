@@ -1,19 +1,21 @@
 package com.epam.taskgym.security;
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.interfaces.DecodedJWT;
-import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 @Component
-@RequiredArgsConstructor
 public class JwtDecoder {
-    private final JwtProperties properties;
+    // JWTVerifier is immutable and thread-safe, so one instance serves every request
+    private final JWTVerifier verifier;
+
+    public JwtDecoder(JwtProperties properties) {
+        this.verifier = JWT.require(Algorithm.HMAC256(properties.getSecretKey())).build();
+    }
 
     public DecodedJWT decode(String token) {
-        return JWT.require(Algorithm.HMAC256(properties.getSecretKey()))
-                .build()
-                .verify(token);
+        return verifier.verify(token);
     }
 }
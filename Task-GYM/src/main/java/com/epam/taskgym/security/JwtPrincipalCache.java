@@ -0,0 +1,87 @@
+package com.epam.taskgym.security;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+@Component
+public class JwtPrincipalCache {
+    public static final String CACHE_NAME = "jwtPrincipals";
+
+    private final JwtDecoder jwtDecoder;
+    private final JwtToPrincipalConverter jwtToPrincipalConverter;
+    private final Cache<String, CachedPrincipal> cache;
+    private final Ticker ticker;
+    private final long ttlNanos;
+
+    @Autowired
+    public JwtPrincipalCache(JwtDecoder jwtDecoder, JwtToPrincipalConverter jwtToPrincipalConverter,
+                             JwtProperties properties, MeterRegistry meterRegistry) {
+        this(jwtDecoder, jwtToPrincipalConverter, properties, Ticker.systemTicker());
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    JwtPrincipalCache(JwtDecoder jwtDecoder, JwtToPrincipalConverter jwtToPrincipalConverter,
+                      JwtProperties properties, Ticker ticker) {
+        this.jwtDecoder = jwtDecoder;
+        this.jwtToPrincipalConverter = jwtToPrincipalConverter;
+        this.ticker = ticker;
+        this.ttlNanos = properties.getCacheTtl().toNanos();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getCacheMaxSize())
+                .expireAfter(new TokenExpiry())
+                .ticker(ticker)
+                .recordStats()
+                .build();
+    }
+
+    public UserPrincipal resolve(String token) {
+        return cache.get(token, this::verify).principal();
+    }
+
+    public long size() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    private CachedPrincipal verify(String token) {
+        DecodedJWT jwt = jwtDecoder.decode(token);
+        Instant expiresAt = jwt.getExpiresAtAsInstant();
+        long lifetime = ttlNanos;
+        if (expiresAt != null) {
+            long untilExpiry = Duration.between(Instant.now(), expiresAt).toNanos();
+            lifetime = Math.max(0, Math.min(ttlNanos, untilExpiry));
+        }
+        return new CachedPrincipal(jwtToPrincipalConverter.convert(jwt), ticker.read() + lifetime);
+    }
+
+    record CachedPrincipal(UserPrincipal principal, long expiresAtNanos) {
+    }
+
+    // Each entry lives until its own deadline, which is never past the token's exp claim
+    private static class TokenExpiry implements Expiry<String, CachedPrincipal> {
+        @Override
+        public long expireAfterCreate(String key, CachedPrincipal value, long currentTime) {
+            return Math.max(0, value.expiresAtNanos() - currentTime);
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedPrincipal value, long currentTime, long currentDuration) {
+            return Math.max(0, value.expiresAtNanos() - currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedPrincipal value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
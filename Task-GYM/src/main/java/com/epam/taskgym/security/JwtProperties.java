@@ -5,10 +5,14 @@ import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+
 @Getter
 @Setter
 @Configuration
 @ConfigurationProperties("security.jwt")
 public class JwtProperties {
     private String secretKey;
+    private long cacheMaxSize = 10_000;
+    private Duration cacheTtl = Duration.ofMinutes(10);
 }
@@ -1,17 +1,23 @@
 package com.epam.taskgym.security;
 
+import com.epam.taskgym.controller.GymController;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
@@ -23,6 +29,7 @@ import java.util.List;
 @EnableWebSecurity
 @RequiredArgsConstructor
 public class WebSecurityConfig {
+    public static final String ADMIN = "ADMIN";
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
     private final CustomUserDetailService customUserDetailService;
@@ -46,6 +53,14 @@ public class WebSecurityConfig {
                                         .requestMatchers("api/trainee").permitAll()
                                         .requestMatchers("api/user/login").permitAll()
                                         .requestMatchers("api/trainer").permitAll()
+                                        // Exports are for the reporting team; a trainee or trainer may only export their own history
+                                        .requestMatchers(HttpMethod.GET, "/api/trainings/export").hasRole(ADMIN)
+                                        .requestMatchers(HttpMethod.GET, "/api/trainees/{username}/trainings/export",
+                                                "/api/trainers/{username}/trainings/export").access(ownerOrAdmin())
+                                        // Bulk imports write on behalf of other users, so they are an admin task
+                                        .requestMatchers(HttpMethod.POST, "/api/trainees/import", "/api/trainers/import",
+                                                "/api/trainings/import").hasRole(ADMIN)
+                                        .requestMatchers("/api/workload-outbox/**").hasRole(ADMIN)
                                         .anyRequest().authenticated()
                                         .and()
                                         .logout()
@@ -68,9 +83,21 @@ public class WebSecurityConfig {
                 .and().build();
     }
 
+    // The {username} in the path has to be the caller's own, unless the caller is an admin
+    static AuthorizationManager<RequestAuthorizationContext> ownerOrAdmin() {
+        return (authentication, context) -> {
+            Authentication caller = authentication.get();
+            boolean admin = caller.getAuthorities().stream()
+                    .anyMatch(authority -> authority.getAuthority().equals("ROLE_" + ADMIN));
+            return new AuthorizationDecision(caller.isAuthenticated()
+                    && (admin || caller.getName().equals(context.getVariables().get("username"))));
+        };
+    }
+
     CorsConfigurationSource apiConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "PATCH"));
+        configuration.setExposedHeaders(List.of(GymController.NEXT_CURSOR_HEADER));
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", configuration);
         return source;
@@ -1,25 +1,54 @@
 package com.epam.taskgym.service;
 
+import com.epam.taskgym.configuration.LoginExecutorConfig;
+import com.epam.taskgym.configuration.LoginExecutorProperties;
+import com.epam.taskgym.exception.LoginUnavailableException;
 import com.epam.taskgym.models.LoginResponse;
 import com.epam.taskgym.security.JwtIssuer;
 import com.epam.taskgym.security.UserPrincipal;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.concurrent.*;
+
 @Service
-@RequiredArgsConstructor
 public class AuthService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AuthService.class);
+
     private final JwtIssuer jwtIssuer;
     private final AuthenticationManager authenticationManager;
+    private final AsyncTaskExecutor loginExecutor;
+    private final Duration timeout;
+    private final Timer hashTimer;
+    private final Counter rejected;
+    private final Counter timedOut;
+
+    public AuthService(JwtIssuer jwtIssuer, AuthenticationManager authenticationManager,
+                       @Qualifier(LoginExecutorConfig.LOGIN_EXECUTOR) AsyncTaskExecutor loginExecutor,
+                       LoginExecutorProperties properties, MeterRegistry meterRegistry) {
+        this.jwtIssuer = jwtIssuer;
+        this.authenticationManager = authenticationManager;
+        this.loginExecutor = loginExecutor;
+        this.timeout = properties.getTimeout();
+        this.hashTimer = meterRegistry.timer("auth.login.verification");
+        this.rejected = meterRegistry.counter("auth.login.rejected", "reason", "saturated");
+        this.timedOut = meterRegistry.counter("auth.login.rejected", "reason", "timeout");
+    }
 
     public LoginResponse attemptLogin(String username, String password) {
-        var authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(username,password)
-        );
+        var authentication = authenticate(new UsernamePasswordAuthenticationToken(username, password));
 
         var principal = (UserPrincipal)(authentication.getPrincipal());
         var roles = principal.getAuthorities().stream()
@@ -31,4 +60,32 @@ public class AuthService {
                 .accessToken(token)
                 .build();
     }
+
+    // Password hashing runs on the login pool so a login burst cannot occupy every request thread
+    private Authentication authenticate(UsernamePasswordAuthenticationToken token) {
+        Future<Authentication> result;
+        try {
+            result = loginExecutor.submit(() -> hashTimer.recordCallable(() -> authenticationManager.authenticate(token)));
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            LOGGER.warn("Transaction Id: {}, Login rejected, password verification queue is full", MDC.get("transactionId"));
+            throw new LoginUnavailableException("Too many logins in progress, please retry shortly");
+        }
+        try {
+            return result.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            result.cancel(true);
+            timedOut.increment();
+            LOGGER.warn("Transaction Id: {}, Login timed out waiting for password verification", MDC.get("transactionId"));
+            throw new LoginUnavailableException("Too many logins in progress, please retry shortly");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LoginUnavailableException("Login was interrupted");
+        }
+    }
 }
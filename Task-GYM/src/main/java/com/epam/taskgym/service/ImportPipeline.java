@@ -0,0 +1,167 @@
+package com.epam.taskgym.service;
+
+import com.epam.taskgym.configuration.ImportProperties;
+import com.epam.taskgym.exception.BadRequestException;
+import com.epam.taskgym.helpers.CsvReader;
+import com.epam.taskgym.models.ImportFormat;
+import com.epam.taskgym.models.ImportResult;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+// Shared plumbing of the bulk imports: reads CSV or JSON array rows as a stream, hands them over in chunks
+// and writes one NDJSON result per row, flushed after every chunk, so memory stays flat however large the upload is.
+@Component
+@RequiredArgsConstructor
+public class ImportPipeline {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ImportPipeline.class);
+
+    private final ImportProperties importProperties;
+    private final ObjectMapper objectMapper;
+
+    // Header problems surface here, before anything is written, so they still become a plain 400
+    public <T> RowSource<T> rows(Reader reader, ImportFormat format, Class<T> type,
+                                 Function<Map<String, String>, T> fromCsv, List<String> requiredColumns) {
+        try {
+            return format == ImportFormat.CSV ? csvRows(reader, fromCsv, requiredColumns) : jsonRows(reader, type);
+        } catch (IOException e) {
+            throw new BadRequestException("Unreadable import: " + e.getMessage());
+        }
+    }
+
+    // importChunk returns one result per row of the chunk, in order; returns how many rows succeeded
+    public <T> long run(RowSource<T> rows, Writer writer, Function<List<ImportRow<T>>, List<ImportResult>> importChunk) {
+        long imported = 0;
+        int lastRow = 0;
+        List<ImportRow<T>> chunk = new ArrayList<>(importProperties.getChunkSize());
+        try {
+            while (true) {
+                ImportRow<T> row;
+                try {
+                    row = rows.next();
+                } catch (IOException | BadRequestException e) {
+                    // The rest of the input cannot be read; report it against the next row and keep what was imported
+                    imported += runChunk(chunk, writer, importChunk);
+                    LOGGER.error("Transaction Id: {}, Import stopped after row {}: {}", MDC.get("transactionId"), lastRow, e.getMessage());
+                    write(writer, ImportResult.failed(lastRow + 1, "Unreadable input: " + e.getMessage()));
+                    break;
+                }
+                if (row == null) {
+                    imported += runChunk(chunk, writer, importChunk);
+                    break;
+                }
+                lastRow = row.row();
+                chunk.add(row);
+                if (chunk.size() == importProperties.getChunkSize()) {
+                    imported += runChunk(chunk, writer, importChunk);
+                    chunk.clear();
+                }
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        LOGGER.info("Transaction Id: {}, Imported {} of {} rows", MDC.get("transactionId"), imported, lastRow);
+        return imported;
+    }
+
+    private <T> int runChunk(List<ImportRow<T>> chunk, Writer writer,
+                             Function<List<ImportRow<T>>, List<ImportResult>> importChunk) throws IOException {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        int imported = 0;
+        for (ImportResult result : importChunk.apply(chunk)) {
+            write(writer, result);
+            if (result.getError() == null) {
+                imported++;
+            }
+        }
+        writer.flush();
+        return imported;
+    }
+
+    private void write(Writer writer, ImportResult result) throws IOException {
+        writer.write(objectMapper.writeValueAsString(result));
+        writer.write('\n');
+    }
+
+    private static <T> RowSource<T> csvRows(Reader reader, Function<Map<String, String>, T> fromCsv,
+                                            List<String> requiredColumns) throws IOException {
+        CsvReader csvReader = new CsvReader(reader);
+        List<String> header = csvReader.next();
+        if (header == null || !header.containsAll(requiredColumns)) {
+            throw new BadRequestException("CSV header must name the " + String.join(", ", requiredColumns) + " columns");
+        }
+        int[] row = {0};
+        return () -> {
+            List<String> fields = csvReader.next();
+            if (fields == null) {
+                return null;
+            }
+            row[0]++;
+            if (fields.size() != header.size()) {
+                return new ImportRow<>(row[0], null, "Expected " + header.size() + " fields but found " + fields.size());
+            }
+            Map<String, String> record = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                record.put(header.get(i), fields.get(i).isEmpty() ? null : fields.get(i));
+            }
+            try {
+                return new ImportRow<>(row[0], fromCsv.apply(record), null);
+            } catch (BadRequestException e) {
+                return new ImportRow<>(row[0], null, e.getMessage());
+            }
+        };
+    }
+
+    // Elements are read one at a time as trees, so a bad field fails its own row instead of the whole stream
+    private <T> RowSource<T> jsonRows(Reader reader, Class<T> type) throws IOException {
+        JsonParser parser = objectMapper.getFactory().createParser(reader);
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+            throw new BadRequestException("JSON import must be an array");
+        }
+        int[] row = {0};
+        return () -> {
+            if (parser.nextToken() == JsonToken.END_ARRAY) {
+                return null;
+            }
+            JsonNode node = objectMapper.readTree(parser);
+            if (node == null) {
+                throw new BadRequestException("Unexpected end of JSON array");
+            }
+            row[0]++;
+            try {
+                return new ImportRow<>(row[0], objectMapper.treeToValue(node, type), null);
+            } catch (JsonProcessingException e) {
+                return new ImportRow<>(row[0], null, "Invalid row: " + e.getOriginalMessage());
+            }
+        };
+    }
+
+    // row is 1-based and counts data rows only; error is set when the row could not be parsed
+    public record ImportRow<T>(int row, T value, String error) {
+    }
+
+    public interface RowSource<T> {
+        // Null once the input is exhausted
+        ImportRow<T> next() throws IOException;
+    }
+}
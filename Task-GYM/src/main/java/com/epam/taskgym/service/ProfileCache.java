@@ -0,0 +1,110 @@
+package com.epam.taskgym.service;
+
+import com.epam.taskgym.configuration.ProfileCacheProperties;
+import com.epam.taskgym.models.TraineeDTO;
+import com.epam.taskgym.models.TrainerDTO;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+// Profiles are loaded by the reading thread outside the cache's locks. A load run inside Cache.get holds a map bin
+// while it waits for a pooled connection, and a writer evicting from that bin with its connection held then blocks
+// until the pool times out; with every connection held that way no request could make progress.
+@Component
+public class ProfileCache {
+    public static final String TRAINEE_CACHE_NAME = "traineeProfiles";
+    public static final String TRAINER_CACHE_NAME = "trainerProfiles";
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProfileCache.class);
+
+    private final AsyncCache<String, TraineeDTO> trainees;
+    private final AsyncCache<String, TrainerDTO> trainers;
+
+    public ProfileCache(ProfileCacheProperties properties, MeterRegistry meterRegistry) {
+        this.trainees = build(properties);
+        this.trainers = build(properties);
+        CaffeineCacheMetrics.monitor(meterRegistry, trainees, TRAINEE_CACHE_NAME);
+        CaffeineCacheMetrics.monitor(meterRegistry, trainers, TRAINER_CACHE_NAME);
+    }
+
+    public TraineeDTO trainee(String username, Function<String, TraineeDTO> loader) {
+        return get(trainees, username, loader);
+    }
+
+    public TrainerDTO trainer(String username, Function<String, TrainerDTO> loader) {
+        return get(trainers, username, loader);
+    }
+
+    public void evictTrainee(String username) {
+        evict(trainees, username);
+    }
+
+    public void evictTrainer(String username) {
+        evict(trainers, username);
+    }
+
+    public void evictTrainees(Collection<String> usernames) {
+        usernames.forEach(this::evictTrainee);
+    }
+
+    public void evictTrainers(Collection<String> usernames) {
+        usernames.forEach(this::evictTrainer);
+    }
+
+    // Concurrent readers of a missing profile wait for the first one's load instead of each querying
+    private static <V> V get(AsyncCache<String, V> cache, String username, Function<String, V> loader) {
+        CompletableFuture<V> loading = new CompletableFuture<>();
+        CompletableFuture<V> profile = cache.get(username, (key, executor) -> loading);
+        if (profile == loading) {
+            try {
+                loading.complete(loader.apply(username));
+            } catch (RuntimeException e) {
+                // A failed load is dropped from the cache, so the next read tries again
+                loading.completeExceptionally(e);
+                throw e;
+            }
+        }
+        try {
+            return profile.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    // Evicts now and again after commit, so a read racing the transaction cannot leave a stale entry behind.
+    // Evicting a profile that is still loading discards that load's result
+    private static <V> void evict(AsyncCache<String, V> cache, String username) {
+        cache.synchronous().invalidate(username);
+        LOGGER.info("Transaction Id: {}, Evicted cached profile: {}", MDC.get("transactionId"), username);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.synchronous().invalidate(username);
+                }
+            });
+        }
+    }
+
+    private static <V> AsyncCache<String, V> build(ProfileCacheProperties properties) {
+        return Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .buildAsync();
+    }
+}
@@ -0,0 +1,275 @@
+package com.epam.taskgym.service;
+
+import com.epam.taskgym.entity.Trainee;
+import com.epam.taskgym.entity.Trainer;
+import com.epam.taskgym.entity.TrainingType;
+import com.epam.taskgym.entity.User;
+import com.epam.taskgym.exception.BadRequestException;
+import com.epam.taskgym.exception.NotFoundException;
+import com.epam.taskgym.helpers.Builders;
+import com.epam.taskgym.helpers.Validations;
+import com.epam.taskgym.models.ImportFormat;
+import com.epam.taskgym.models.ImportResult;
+import com.epam.taskgym.models.TraineeDTO;
+import com.epam.taskgym.models.TrainerDTO;
+import com.epam.taskgym.service.ImportPipeline.ImportRow;
+import com.epam.taskgym.service.ImportPipeline.RowSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.io.Reader;
+import java.io.Writer;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import static com.epam.taskgym.configuration.ImportExecutorConfig.IMPORT_EXECUTOR;
+
+// Bulk registration: each chunk of rows gets parallel hashing, one username allocation and one batched insert
+@Service
+public class RegistrationImportService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RegistrationImportService.class);
+    private static final List<String> NAME_COLUMNS = List.of("firstName", "lastName");
+
+    private final TraineeService traineeService;
+    private final TrainerService trainerService;
+    private final TrainingTypeService trainingTypeService;
+    private final UsernameAllocator usernameAllocator;
+    private final PasswordEncoder passwordEncoder;
+    private final ExecutorService importExecutor;
+    private final ImportPipeline importPipeline;
+
+    public RegistrationImportService(TraineeService traineeService, TrainerService trainerService,
+                                     TrainingTypeService trainingTypeService, UsernameAllocator usernameAllocator,
+                                     PasswordEncoder passwordEncoder, @Qualifier(IMPORT_EXECUTOR) ExecutorService importExecutor,
+                                     ImportPipeline importPipeline) {
+        this.traineeService = traineeService;
+        this.trainerService = trainerService;
+        this.trainingTypeService = trainingTypeService;
+        this.usernameAllocator = usernameAllocator;
+        this.passwordEncoder = passwordEncoder;
+        this.importExecutor = importExecutor;
+        this.importPipeline = importPipeline;
+    }
+
+    public long importTrainees(Reader reader, ImportFormat format, Writer writer) {
+        LOGGER.info("Transaction Id: {}, Method: {}, Importing trainees from {}", MDC.get("transactionId"), MDC.get("MethodName"), format);
+        RowSource<TraineeDTO> rows = importPipeline.rows(reader, format, TraineeDTO.class,
+                RegistrationImportService::traineeFromCsv, NAME_COLUMNS);
+        TraineeRegistration registration = new TraineeRegistration();
+        return importPipeline.run(rows, writer, chunk -> importChunk(chunk, registration));
+    }
+
+    public long importTrainers(Reader reader, ImportFormat format, Writer writer) {
+        LOGGER.info("Transaction Id: {}, Method: {}, Importing trainers from {}", MDC.get("transactionId"), MDC.get("MethodName"), format);
+        RowSource<TrainerDTO> rows = importPipeline.rows(reader, format, TrainerDTO.class,
+                RegistrationImportService::trainerFromCsv, NAME_COLUMNS);
+        Map<String, TrainingType> trainingTypes = new HashMap<>();
+        trainingTypeService.getAllTrainingTypes().forEach(trainingType -> trainingTypes.put(trainingType.getName(), trainingType));
+        TrainerRegistration registration = new TrainerRegistration(trainingTypes);
+        return importPipeline.run(rows, writer, chunk -> importChunk(chunk, registration));
+    }
+
+    private <T, P> List<ImportResult> importChunk(List<ImportRow<T>> chunk, Registration<T, P> registration) {
+        String[] errors = new String[chunk.size()];
+        List<Integer> valid = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            ImportRow<T> row = chunk.get(i);
+            try {
+                if (row.error() != null) {
+                    throw new BadRequestException(row.error());
+                }
+                registration.validate(row.value());
+                valid.add(i);
+            } catch (RuntimeException e) {
+                errors[i] = e.getMessage();
+            }
+        }
+        // Hashing starts first and overlaps with username allocation
+        String[] passwords = new String[chunk.size()];
+        List<Future<String>> hashes = new ArrayList<>(valid.size());
+        List<String> baseUsernames = new ArrayList<>(valid.size());
+        for (int i : valid) {
+            String password = Builders.generateRandomPassword();
+            passwords[i] = password;
+            hashes.add(importExecutor.submit(() -> passwordEncoder.encode(password)));
+            T value = chunk.get(i).value();
+            baseUsernames.add(registration.firstName(value).toLowerCase() + "." + registration.lastName(value).toLowerCase());
+        }
+        String[] usernames = new String[chunk.size()];
+        if (!valid.isEmpty()) {
+            try {
+                List<String> allocated = usernameAllocator.allocateAll(baseUsernames);
+                List<User> users = new ArrayList<>(valid.size());
+                List<P> profiles = new ArrayList<>(valid.size());
+                for (int j = 0; j < valid.size(); j++) {
+                    T value = chunk.get(valid.get(j)).value();
+                    User user = Builders.buildUser(registration.firstName(value), registration.lastName(value),
+                            allocated.get(j), await(hashes.get(j)), registration.role());
+                    users.add(user);
+                    profiles.add(registration.build(value, user));
+                }
+                registration.saveAll(users, profiles);
+                for (int j = 0; j < valid.size(); j++) {
+                    usernames[valid.get(j)] = allocated.get(j);
+                }
+            } catch (RuntimeException e) {
+                LOGGER.error("Transaction Id: {}, Failed to register rows {}-{}", MDC.get("transactionId"),
+                        chunk.get(0).row(), chunk.get(chunk.size() - 1).row(), e);
+                hashes.forEach(hash -> hash.cancel(false));
+                valid.forEach(i -> errors[i] = "Registration failed: " + e.getMessage());
+            }
+        }
+        List<ImportResult> results = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            int row = chunk.get(i).row();
+            results.add(usernames[i] != null ? ImportResult.created(row, usernames[i], passwords[i]) : ImportResult.failed(row, errors[i]));
+        }
+        return results;
+    }
+
+    private static String await(Future<String> hash) {
+        try {
+            return hash.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Import was interrupted", e);
+        }
+    }
+
+    private static TraineeDTO traineeFromCsv(Map<String, String> record) {
+        TraineeDTO traineeDTO = new TraineeDTO();
+        traineeDTO.setFirstName(record.get("firstName"));
+        traineeDTO.setLastName(record.get("lastName"));
+        traineeDTO.setAddress(record.get("address"));
+        String dateOfBirth = record.get("dateOfBirth");
+        if (dateOfBirth != null) {
+            try {
+                traineeDTO.setDateOfBirth(Date.from(LocalDate.parse(dateOfBirth).atStartOfDay(ZoneId.systemDefault()).toInstant()));
+            } catch (DateTimeParseException e) {
+                throw new BadRequestException("Invalid date format {YYYY-MM-DD}");
+            }
+        }
+        return traineeDTO;
+    }
+
+    private static TrainerDTO trainerFromCsv(Map<String, String> record) {
+        TrainerDTO trainerDTO = new TrainerDTO();
+        trainerDTO.setFirstName(record.get("firstName"));
+        trainerDTO.setLastName(record.get("lastName"));
+        trainerDTO.setSpecialization(record.get("specialization"));
+        return trainerDTO;
+    }
+
+    private interface Registration<T, P> {
+        String role();
+
+        String firstName(T dto);
+
+        String lastName(T dto);
+
+        void validate(T dto);
+
+        P build(T dto, User user);
+
+        void saveAll(List<User> users, List<P> profiles);
+    }
+
+    private class TraineeRegistration implements Registration<TraineeDTO, Trainee> {
+        @Override
+        public String role() {
+            return "ROLE_TRAINEE";
+        }
+
+        @Override
+        public String firstName(TraineeDTO dto) {
+            return dto.getFirstName();
+        }
+
+        @Override
+        public String lastName(TraineeDTO dto) {
+            return dto.getLastName();
+        }
+
+        @Override
+        public void validate(TraineeDTO dto) {
+            Validations.validateTraineeDetails(dto);
+            Validations.validateUserDetails(dto.getFirstName(), dto.getLastName());
+        }
+
+        @Override
+        public Trainee build(TraineeDTO dto, User user) {
+            Trainee trainee = new Trainee();
+            trainee.setUser(user);
+            trainee.setDateOfBirth(dto.getDateOfBirth());
+            trainee.setAddress((dto.getAddress() == null || dto.getAddress().isEmpty()) ? null : dto.getAddress());
+            trainee.setTrainers(new HashSet<>());
+            return trainee;
+        }
+
+        @Override
+        public void saveAll(List<User> users, List<Trainee> trainees) {
+            traineeService.saveTrainees(users, trainees);
+        }
+    }
+
+    private class TrainerRegistration implements Registration<TrainerDTO, Trainer> {
+        private final Map<String, TrainingType> trainingTypes;
+
+        TrainerRegistration(Map<String, TrainingType> trainingTypes) {
+            this.trainingTypes = trainingTypes;
+        }
+
+        @Override
+        public String role() {
+            return "ROLE_TRAINER";
+        }
+
+        @Override
+        public String firstName(TrainerDTO dto) {
+            return dto.getFirstName();
+        }
+
+        @Override
+        public String lastName(TrainerDTO dto) {
+            return dto.getLastName();
+        }
+
+        @Override
+        public void validate(TrainerDTO dto) {
+            Validations.validateTrainerDetails(dto);
+            Validations.validateUserDetails(dto.getFirstName(), dto.getLastName());
+            Validations.validateSpecialization(dto.getSpecialization());
+            if (!trainingTypes.containsKey(dto.getSpecialization())) {
+                throw new NotFoundException("Training type with name {" + dto.getSpecialization() + "} not found");
+            }
+        }
+
+        @Override
+        public Trainer build(TrainerDTO dto, User user) {
+            Trainer trainer = new Trainer();
+            trainer.setUser(user);
+            trainer.setSpecialization(trainingTypes.get(dto.getSpecialization()));
+            trainer.setTrainees(new HashSet<>());
+            return trainer;
+        }
+
+        @Override
+        public void saveAll(List<User> users, List<Trainer> trainers) {
+            trainerService.saveTrainers(users, trainers);
+        }
+    }
+}
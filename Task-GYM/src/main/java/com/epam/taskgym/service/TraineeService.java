@@ -1,6 +1,5 @@
 package com.epam.taskgym.service;
 
-import com.epam.taskgym.client.MicroserviceClient;
 import com.epam.taskgym.entity.Training;
 import com.epam.taskgym.models.*;
 import com.epam.taskgym.entity.Trainee;
@@ -20,10 +19,7 @@ import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
-import java.util.Date;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 
 @Service
 @RequiredArgsConstructor
@@ -33,7 +29,8 @@ public class TraineeService {
     private final UserService userService;
     private final TrainingRepository trainingRepository;
     private final TrainerRepository trainerRepository;
-    private final MicroserviceClient microserviceClient;
+    private final WorkloadOutboxService workloadOutboxService;
+    private final ProfileCache profileCache;
     private static final Logger LOGGER = LoggerFactory.getLogger(TraineeService.class);
 
     public Trainee getTraineeByUsername(String username) {
@@ -47,21 +44,44 @@ public class TraineeService {
         return trainee.get();
     }
 
+    // Loads the trainee together with everything its profile shows in a single query
+    public Trainee getTraineeProfile(String username) {
+        Validations.validateUsername(username);
+        LOGGER.info("Transaction Id: {}, Method: {}, Finding trainee profile by username: {}", MDC.get("transactionId"), MDC.get("MethodName"), username);
+        return traineeRepository.findProfileByUserUsername(username).orElseThrow(() -> {
+            LOGGER.error("Transaction Id: {}, Method: {}, Trainee with username {} not found", MDC.get("transactionId"), MDC.get("MethodName"), username);
+            return new NotFoundException("Trainee with username {" + username + "} not found");
+        });
+    }
+
+    public TraineeDTO getTraineeProfileDTO(String username) {
+        Validations.validateUsername(username);
+        return profileCache.trainee(username, key -> Builders.convertTraineeToTraineeDTO(getTraineeProfile(key)));
+    }
+
     @Transactional
     public void saveTrainee(Trainee trainee) {
         traineeRepository.save(trainee);
     }
 
+    // Users first: trainee rows reference them; JDBC batching turns each saveAll into a few multi-row inserts
     @Transactional
+    public void saveTrainees(List<User> users, List<Trainee> trainees) {
+        userService.saveUsers(users);
+        traineeRepository.saveAll(trainees);
+    }
+
+    // Not transactional: the username and password hash are ready before the single save opens a transaction,
+    // which persists the user along with the trainee
     public RegisterResponse registerTrainee(TraineeDTO traineeDTO) {
         Validations.validateTraineeDetails(traineeDTO);
         LOGGER.info("Transaction Id: {}, Method: {}, Registering trainee: {} {}", MDC.get("transactionId"), MDC.get("MethodName"), traineeDTO.getFirstName(), traineeDTO.getLastName());
-        UserResponse user = userService.createUser(traineeDTO.getFirstName(), traineeDTO.getLastName(), "ROLE_TRAINEE");
+        UserResponse user = userService.newUser(traineeDTO.getFirstName(), traineeDTO.getLastName(), "ROLE_TRAINEE");
         Trainee trainee = new Trainee();
         trainee.setUser(user.getUser());
         addDate(traineeDTO.getDateOfBirth(), trainee);
         trainee.setAddress((traineeDTO.getAddress() == null || traineeDTO.getAddress().isEmpty()) ? null : traineeDTO.getAddress());
-        trainee.setTrainers(new ArrayList<>());
+        trainee.setTrainers(new HashSet<>());
         saveTrainee(trainee);
         LOGGER.info("Transaction Id: {}, Successfully registered trainee: {}", MDC.get("transactionId"), user.getUser().getUsername());
         return new RegisterResponse(user.getUser().getUsername(), user.getPassword());
@@ -70,8 +90,11 @@ public class TraineeService {
     @Transactional
     public Trainee updateTrainee(TraineeDTO traineeDTO, String username) {
         Validations.validateTraineeDetails(traineeDTO);
-        Trainee trainee = getTraineeByUsername(username);
+        Trainee trainee = getTraineeProfile(username);
         LOGGER.info("Transaction Id: {}, Method: {}, Updating trainee: {}", MDC.get("transactionId"), MDC.get("MethodName"), username);
+        // Trainer profiles list the trainee's name too
+        profileCache.evictTrainee(username);
+        profileCache.evictTrainers(usernamesOf(trainee.getTrainers()));
         User user = userService.updateUser(traineeDTO.getFirstName(), traineeDTO.getLastName(), trainee.getUser());
         addDate(traineeDTO.getDateOfBirth(), trainee);
         trainee.setAddress((traineeDTO.getAddress() == null || traineeDTO.getAddress().isEmpty()) ? null : traineeDTO.getAddress());
@@ -86,23 +109,15 @@ public class TraineeService {
         LOGGER.info("Transaction Id: {}, Method: {}, Deleting trainee: {}", MDC.get("transactionId"), MDC.get("MethodName"), username);
         try {
             List<Trainer> trainersAssignedToTrainee = trainingRepository.findAllTrainersByTraineeUsername(username);
+            profileCache.evictTrainee(username);
+            profileCache.evictTrainers(usernamesOf(trainee.getTrainers()));
+            profileCache.evictTrainers(usernamesOf(trainersAssignedToTrainee));
             trainersAssignedToTrainee.forEach(trainer -> {
                 trainer.getTrainees().remove(trainee);
                 trainerRepository.save(trainer);
             });
             List<Training> trainings = trainingRepository.findAllByTrainee_User_Username(username);
-            trainings.forEach(training -> {
-                TrainingRequest trainingRequest = TrainingRequest.builder()
-                        .username(training.getTrainer().getUser().getUsername())
-                        .firstName(training.getTrainer().getUser().getFirstName())
-                        .lastName(training.getTrainer().getUser().getLastName())
-                        .isActive(training.getTrainer().getUser().getIsActive())
-                        .date(training.getDate())
-                        .duration(training.getDuration())
-                        .action("delete")
-                        .build();
-                microserviceClient.actionTraining(trainingRequest, MDC.get("transactionId"), MDC.get("Authorization"));
-            });
+            trainings.forEach(training -> workloadOutboxService.enqueue(Builders.buildTrainingRequest(training, "delete")));
             trainingRepository.deleteAll(trainings);
             LOGGER.info("Transaction Id: {}, Trainings deleted for trainee: {}", MDC.get("transactionId"), username);
             User user = trainee.getUser();
@@ -118,36 +133,46 @@ public class TraineeService {
     @Transactional
     public TraineeDTO ActivateDeactivateTrainee(String username, boolean isActive) {
         LOGGER.info("Transaction Id: {}, Method: {}, Activating/Deactivating trainee: {}", MDC.get("transactionId"), MDC.get("MethodName"), username);
-        Trainee trainee = getTraineeByUsername(username);
+        Trainee trainee = getTraineeProfile(username);
         User user = trainee.getUser();
         user.setIsActive(isActive);
         userService.saveUser(user);
+        profileCache.evictTrainee(username);
         LOGGER.info("Transaction Id: {}, Successfully activated/deactivated trainee: {}", MDC.get("transactionId"), user.getUsername());
         return Builders.convertTraineeToTraineeDTO(trainee);
     }
 
+    // Only the requested trainers not yet assigned are looked up, in one query, and only their links are inserted
     @Transactional
     public List<TrainerListItem> updateTrainersList(String username, List<String> trainersUsernames) {
         LOGGER.info("Transaction Id: {}, Method: {}, Updating trainers list for trainee: {}", MDC.get("transactionId"), MDC.get("MethodName"), username);
         Validations.validateList(trainersUsernames);
-        Trainee trainee = getTraineeByUsername(username);
-        List<Trainer> trainers = trainee.getTrainers();
-        trainersUsernames.forEach(trainerUsername -> {
-            Trainer trainer = trainerRepository.findByUserUsername(trainerUsername).orElseThrow(() -> new NotFoundException("Trainer with username {" + trainerUsername + "} not found"));
-            if (!trainers.contains(trainer)) {
-                LOGGER.info("Transaction Id: {}, Adding trainer: {} to trainee: {}", MDC.get("transactionId"), trainerUsername, username);
-                trainers.add(trainer);
-                trainer.getTrainees().add(trainee);
-                LOGGER.info("Transaction Id: {}, Successfully added trainer: {} to trainee: {}", MDC.get("transactionId"), trainerUsername, username);
-                trainerRepository.save(trainer);
+        Trainee trainee = getTraineeProfile(username);
+        Set<Trainer> trainers = trainee.getTrainers();
+        Set<String> newUsernames = new LinkedHashSet<>(trainersUsernames);
+        usernamesOf(trainers).forEach(newUsernames::remove);
+        if (!newUsernames.isEmpty()) {
+            List<Trainer> newTrainers = trainerRepository.findWithSpecializationByUserUsernameIn(newUsernames);
+            if (newTrainers.size() < newUsernames.size()) {
+                usernamesOf(newTrainers).forEach(newUsernames::remove);
+                LOGGER.error("Transaction Id: {}, Method: {}, Trainers with usernames {} not found", MDC.get("transactionId"), MDC.get("MethodName"), newUsernames);
+                throw new NotFoundException("Trainers with usernames {" + String.join(", ", newUsernames) + "} not found");
             }
-        });
-        trainee.setTrainers(trainers);
-        saveTrainee(trainee);
+            LOGGER.info("Transaction Id: {}, Adding trainers: {} to trainee: {}", MDC.get("transactionId"), newUsernames, username);
+            // Trainee owns the link, so the trainers' own collections are left unloaded
+            trainers.addAll(newTrainers);
+            saveTrainee(trainee);
+            profileCache.evictTrainee(username);
+            profileCache.evictTrainers(newUsernames);
+        }
         LOGGER.info("Transaction Id: {}, Successfully updated trainers list for trainee: {}", MDC.get("transactionId"), username);
         return Builders.convertTrainersToTrainerListItem(trainers);
     }
 
+    private static List<String> usernamesOf(Collection<Trainer> trainers) {
+        return trainers.stream().map(trainer -> trainer.getUser().getUsername()).toList();
+    }
+
     private void addDate(Date dateOfBirth, Trainee trainee) {
         if (dateOfBirth != null) {
             trainee.setDateOfBirth(dateOfBirth);
@@ -4,21 +4,22 @@ import com.epam.taskgym.models.RegisterResponse;
 import com.epam.taskgym.models.TrainerDTO;
 import com.epam.taskgym.models.TrainerListItem;
 import com.epam.taskgym.entity.Trainer;
+import com.epam.taskgym.entity.TrainingType;
 import com.epam.taskgym.entity.User;
 import com.epam.taskgym.helpers.Builders;
 import com.epam.taskgym.helpers.Validations;
 import com.epam.taskgym.models.UserResponse;
 import com.epam.taskgym.repository.TrainerRepository;
-import com.epam.taskgym.repository.TrainingRepository;
 import com.epam.taskgym.exception.NotFoundException;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.MDC;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 
@@ -30,8 +31,10 @@ public class TrainerService {
     private final TrainerRepository trainerRepository;
     private final UserService userService;
     private final TrainingTypeService trainingTypeService;
-    private final TrainingRepository trainingRepository;
+    private final ProfileCache profileCache;
     private static final Logger LOGGER = LoggerFactory.getLogger(TrainerService.class);
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
 
     public Trainer getTrainerByUsername(String username) {
         Validations.validateUsername(username);
@@ -44,32 +47,57 @@ public class TrainerService {
         return trainer.get();
     }
 
-    @Transactional
+    // Not transactional: the username and password hash are ready before the single save opens a transaction,
+    // which persists the user along with the trainer
     public RegisterResponse registerTrainer(TrainerDTO trainerDTO) {
         Validations.validateTrainerDetails(trainerDTO);
         LOGGER.info("Transaction Id: {}, Method: {}, Registering trainer: {} {}", MDC.get("transactionId"), MDC.get("MethodName"), trainerDTO.getFirstName(), trainerDTO.getLastName());
-        UserResponse user = userService.createUser(trainerDTO.getFirstName(), trainerDTO.getLastName(), "ROLE_TRAINER");
+        Validations.validateSpecialization(trainerDTO.getSpecialization());
+        TrainingType specialization = trainingTypeService.getTrainingTypeByName(trainerDTO.getSpecialization());
+        UserResponse user = userService.newUser(trainerDTO.getFirstName(), trainerDTO.getLastName(), "ROLE_TRAINER");
         Trainer trainer = new Trainer();
         trainer.setUser(user.getUser());
-        Validations.validateSpecialization(trainerDTO.getSpecialization());
-        trainer.setSpecialization(trainingTypeService.getTrainingTypeByName(trainerDTO.getSpecialization()));
-        trainer.setTrainees(new ArrayList<>());
+        trainer.setSpecialization(specialization);
+        trainer.setTrainees(new HashSet<>());
         saveTrainer(trainer);
         LOGGER.info("Transaction Id: {}, Successfully registered trainer: {}", MDC.get("transactionId"), user.getUser().getUsername());
         return new RegisterResponse(user.getUser().getUsername(), user.getPassword());
     }
 
+    // Loads the trainer together with everything its profile shows in a single query
+    public Trainer getTrainerProfile(String username) {
+        Validations.validateUsername(username);
+        LOGGER.info("Transaction Id: {}, Method: {}, Finding trainer profile by username: {}", MDC.get("transactionId"), MDC.get("MethodName"), username);
+        return trainerRepository.findProfileByUserUsername(username).orElseThrow(() -> {
+            LOGGER.error("Transaction Id: {}, Method: {}, Trainer with username {} not found", MDC.get("transactionId"), MDC.get("MethodName"), username);
+            return new NotFoundException("Trainer with username {" + username + "} not found");
+        });
+    }
+
+    public TrainerDTO getTrainerProfileDTO(String username) {
+        Validations.validateUsername(username);
+        return profileCache.trainer(username, key -> Builders.convertTrainerToTraineeDTO(getTrainerProfile(key)));
+    }
+
     @Transactional
     public void saveTrainer(Trainer trainer) {
         trainerRepository.save(trainer);
     }
 
+    @Transactional
+    public void saveTrainers(List<User> users, List<Trainer> trainers) {
+        userService.saveUsers(users);
+        trainerRepository.saveAll(trainers);
+    }
+
     @Transactional
     public Trainer updateTrainer(TrainerDTO trainerDTO, String username) {
         Validations.validateTrainerDetails(trainerDTO);
         LOGGER.info("Transaction Id: {}, Method: {}, Updating trainer: {}", MDC.get("transactionId"), MDC.get("MethodName"), username);
-        Trainer trainer = getTrainerByUsername(username);
-        System.out.println(trainer);
+        Trainer trainer = getTrainerProfile(username);
+        // Trainee profiles list the trainer's name and specialization too
+        profileCache.evictTrainer(username);
+        profileCache.evictTrainees(trainer.getTrainees().stream().map(trainee -> trainee.getUser().getUsername()).toList());
         User user = userService.updateUser(trainerDTO.getFirstName(), trainerDTO.getLastName(), trainer.getUser());
         Validations.validateSpecialization(trainerDTO.getSpecialization());
         trainer.setSpecialization(trainingTypeService.getTrainingTypeByName(trainerDTO.getSpecialization()));
@@ -81,20 +109,20 @@ public class TrainerService {
     @Transactional
     public TrainerDTO ActivateDeactivateTrainer(String username, boolean isActive) {
         LOGGER.info("Transaction Id: {}, Method: {}, Activating/Deactivating trainer: {}", MDC.get("transactionId"), MDC.get("MethodName"), username);
-        Trainer trainer = getTrainerByUsername(username);
+        Trainer trainer = getTrainerProfile(username);
         User user = trainer.getUser();
         user.setIsActive(isActive);
         userService.saveUser(user);
+        profileCache.evictTrainer(username);
         LOGGER.info("Transaction Id: {}, Successfully activated/deactivated trainer: {}", MDC.get("transactionId"), user.getUsername());
         return Builders.convertTrainerToTraineeDTO(trainer);
     }
 
-    public List<TrainerListItem> getUnassignedTrainers(String traineeUsername) {
+    // Keyset page ordered by username: pass the last username of the previous page as "after"
+    public List<TrainerListItem> getUnassignedTrainers(String traineeUsername, String after, int size) {
         LOGGER.info("Transaction Id: {}, Method: {}, Finding unassigned trainers for trainee: {}", MDC.get("transactionId"), MDC.get("MethodName"), traineeUsername);
         Validations.validateUsername(traineeUsername);
-        List<Trainer> allTrainers = trainerRepository.findAll();
-        List<Trainer> trainersAssignedToTrainee = trainingRepository.findAllTrainersByTraineeUsername(traineeUsername);
-        allTrainers.removeAll(trainersAssignedToTrainee);
-        return Builders.convertTrainersToTrainerListItem(allTrainers);
+        Validations.validatePageSize(size, MAX_PAGE_SIZE);
+        return trainerRepository.findActiveTrainersNotAssignedTo(traineeUsername, after, PageRequest.of(0, size));
     }
 }
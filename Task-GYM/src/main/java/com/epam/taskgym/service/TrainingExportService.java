@@ -0,0 +1,119 @@
+package com.epam.taskgym.service;
+
+import com.epam.taskgym.configuration.ExportProperties;
+import com.epam.taskgym.helpers.Validations;
+import com.epam.taskgym.models.ExportFormat;
+import com.epam.taskgym.models.TrainingExportRow;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.text.SimpleDateFormat;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+public class TrainingExportService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TrainingExportService.class);
+    private static final String CSV_HEADER = "id,date,name,trainingType,duration,traineeUsername,trainerUsername";
+    private static final String SELECT_ROWS = "SELECT new com.epam.taskgym.models.TrainingExportRow(" +
+            "t.id, t.date, t.name, tt.name, t.duration, trnUser.username, trUser.username) " +
+            "FROM Training t " +
+            "JOIN t.trainingType tt " +
+            "JOIN t.trainee trn " +
+            "JOIN trn.user trnUser " +
+            "JOIN t.trainer tr " +
+            "JOIN tr.user trUser ";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+    private final ExportProperties exportProperties;
+    private final ObjectMapper objectMapper;
+
+    @Transactional
+    public long exportTraineeTrainings(String username, ExportFormat format, Writer writer) {
+        Validations.validateUsername(username);
+        LOGGER.info("Transaction Id: {}, Method: {}, Exporting trainings of trainee: {}", MDC.get("transactionId"), MDC.get("MethodName"), username);
+        return export(query("WHERE trnUser.username = :username ORDER BY t.id").setParameter("username", username), format, writer);
+    }
+
+    @Transactional
+    public long exportTrainerTrainings(String username, ExportFormat format, Writer writer) {
+        Validations.validateUsername(username);
+        LOGGER.info("Transaction Id: {}, Method: {}, Exporting trainings of trainer: {}", MDC.get("transactionId"), MDC.get("MethodName"), username);
+        return export(query("WHERE trUser.username = :username ORDER BY t.id").setParameter("username", username), format, writer);
+    }
+
+    @Transactional
+    public long exportAllTrainings(ExportFormat format, Writer writer) {
+        LOGGER.info("Transaction Id: {}, Method: {}, Exporting all trainings", MDC.get("transactionId"), MDC.get("MethodName"));
+        return export(query("ORDER BY t.id"), format, writer);
+    }
+
+    // Rows are DTOs rather than entities, so nothing piles up in the persistence context while streaming
+    private TypedQuery<TrainingExportRow> query(String condition) {
+        return entityManager.createQuery(SELECT_ROWS + condition, TrainingExportRow.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, exportProperties.getFetchSize())
+                .setHint(HibernateHints.HINT_READ_ONLY, true);
+    }
+
+    private long export(TypedQuery<TrainingExportRow> query, ExportFormat format, Writer writer) {
+        long count = 0;
+        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
+        try (Stream<TrainingExportRow> rows = query.getResultStream()) {
+            if (format == ExportFormat.CSV) {
+                writer.write(CSV_HEADER);
+                writer.write('\n');
+            }
+            Iterator<TrainingExportRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                TrainingExportRow row = iterator.next();
+                writer.write(format == ExportFormat.CSV ? toCsv(row, dateFormat) : toJson(row, dateFormat));
+                writer.write('\n');
+                count++;
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        LOGGER.info("Transaction Id: {}, Exported {} trainings", MDC.get("transactionId"), count);
+        return count;
+    }
+
+    private String toJson(TrainingExportRow row, SimpleDateFormat dateFormat) throws IOException {
+        return objectMapper.writeValueAsString(new ExportedTraining(row.getId(), dateFormat.format(row.getDate()), row.getName(),
+                row.getTrainingType(), row.getDuration(), row.getTraineeUsername(), row.getTrainerUsername()));
+    }
+
+    private static String toCsv(TrainingExportRow row, SimpleDateFormat dateFormat) {
+        return row.getId() + "," + dateFormat.format(row.getDate()) + "," + csv(row.getName()) + "," + csv(row.getTrainingType()) + ","
+                + row.getDuration() + "," + csv(row.getTraineeUsername()) + "," + csv(row.getTrainerUsername());
+    }
+
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+    private record ExportedTraining(Long id, String date, String name, String trainingType, Integer duration,
+                                    String traineeUsername, String trainerUsername) {
+    }
+}
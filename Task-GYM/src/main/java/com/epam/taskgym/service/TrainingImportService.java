@@ -0,0 +1,96 @@
+package com.epam.taskgym.service;
+
+import com.epam.taskgym.exception.BadRequestException;
+import com.epam.taskgym.helpers.Validations;
+import com.epam.taskgym.models.ImportFormat;
+import com.epam.taskgym.models.ImportResult;
+import com.epam.taskgym.models.TrainingDTO;
+import com.epam.taskgym.service.ImportPipeline.ImportRow;
+import com.epam.taskgym.service.ImportPipeline.RowSource;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.stereotype.Service;
+
+import java.io.Reader;
+import java.io.Writer;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+// Bulk training import: every chunk is created in one transaction by TrainingService.createTrainings
+@Service
+@RequiredArgsConstructor
+public class TrainingImportService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TrainingImportService.class);
+    private static final List<String> COLUMNS = List.of("traineeUsername", "trainerUsername", "date", "duration", "name");
+
+    private final TrainingService trainingService;
+    private final ImportPipeline importPipeline;
+
+    public long importTrainings(Reader reader, ImportFormat format, Writer writer) {
+        LOGGER.info("Transaction Id: {}, Method: {}, Importing trainings from {}", MDC.get("transactionId"), MDC.get("MethodName"), format);
+        RowSource<TrainingDTO> rows = importPipeline.rows(reader, format, TrainingDTO.class, TrainingImportService::trainingFromCsv, COLUMNS);
+        return importPipeline.run(rows, writer, this::importChunk);
+    }
+
+    private List<ImportResult> importChunk(List<ImportRow<TrainingDTO>> chunk) {
+        String[] errors = new String[chunk.size()];
+        List<Integer> valid = new ArrayList<>(chunk.size());
+        List<TrainingDTO> trainingDTOs = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            ImportRow<TrainingDTO> row = chunk.get(i);
+            try {
+                if (row.error() != null) {
+                    throw new BadRequestException(row.error());
+                }
+                Validations.validateTrainingDetails(row.value());
+                valid.add(i);
+                trainingDTOs.add(row.value());
+            } catch (RuntimeException e) {
+                errors[i] = e.getMessage();
+            }
+        }
+        if (!trainingDTOs.isEmpty()) {
+            try {
+                List<String> created = trainingService.createTrainings(trainingDTOs);
+                for (int j = 0; j < valid.size(); j++) {
+                    errors[valid.get(j)] = created.get(j);
+                }
+            } catch (RuntimeException e) {
+                LOGGER.error("Transaction Id: {}, Failed to create trainings of rows {}-{}", MDC.get("transactionId"),
+                        chunk.get(0).row(), chunk.get(chunk.size() - 1).row(), e);
+                valid.forEach(i -> errors[i] = "Import failed: " + e.getMessage());
+            }
+        }
+        List<ImportResult> results = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            int row = chunk.get(i).row();
+            results.add(errors[i] == null ? ImportResult.imported(row) : ImportResult.failed(row, errors[i]));
+        }
+        return results;
+    }
+
+    private static TrainingDTO trainingFromCsv(Map<String, String> record) {
+        TrainingDTO trainingDTO = new TrainingDTO();
+        trainingDTO.setTraineeUsername(record.get("traineeUsername"));
+        trainingDTO.setTrainerUsername(record.get("trainerUsername"));
+        trainingDTO.setName(record.get("name"));
+        try {
+            String date = record.get("date");
+            trainingDTO.setDate(date == null ? null : Date.from(LocalDate.parse(date).atStartOfDay(ZoneId.systemDefault()).toInstant()));
+        } catch (DateTimeParseException e) {
+            throw new BadRequestException("Invalid date format {YYYY-MM-DD}");
+        }
+        String duration = record.get("duration");
+        if (duration != null) {
+            trainingDTO.setDuration(Validations.validateDuration(duration));
+        }
+        return trainingDTO;
+    }
+}
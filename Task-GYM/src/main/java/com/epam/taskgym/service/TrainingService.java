@@ -1,24 +1,34 @@
 package com.epam.taskgym.service;
 
-import com.epam.taskgym.client.MicroserviceClient;
 import com.epam.taskgym.models.TrainingDTO;
 import com.epam.taskgym.models.TrainingFilteredDTO;
-import com.epam.taskgym.models.TrainingRequest;
+import com.epam.taskgym.models.TrainingPage;
 import com.epam.taskgym.models.TrainingResponse;
 import com.epam.taskgym.entity.Trainee;
 import com.epam.taskgym.entity.Trainer;
 import com.epam.taskgym.entity.Training;
+import com.epam.taskgym.entity.User;
 import com.epam.taskgym.helpers.Builders;
+import com.epam.taskgym.helpers.TrainingCursor;
 import com.epam.taskgym.helpers.Validations;
+import com.epam.taskgym.models.TrainingRequest;
+import com.epam.taskgym.repository.TraineeRepository;
+import com.epam.taskgym.repository.TrainerRepository;
 import com.epam.taskgym.repository.TrainingRepository;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.MDC;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.List;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -27,8 +37,13 @@ public class TrainingService {
     private final TraineeService traineeService;
     private final TrainerService trainerService;
     private final TrainingRepository trainingRepository;
-    private final MicroserviceClient microserviceClient;
+    private final TraineeRepository traineeRepository;
+    private final TrainerRepository trainerRepository;
+    private final WorkloadOutboxService workloadOutboxService;
+    private final ProfileCache profileCache;
     private static final Logger LOGGER = LoggerFactory.getLogger(TrainingService.class);
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
 
     @Transactional
     public TrainingDTO createTraining(TrainingDTO trainingDTO) {
@@ -39,51 +54,126 @@ public class TrainingService {
         manyToManyTrainerAndTrainee(trainee, trainer);
         Training training = Builders.buildTraining(trainee, trainer, trainingDTO.getDate(), trainer.getSpecialization(), trainingDTO.getDuration(), trainingDTO.getName());
         trainingRepository.save(training);
-        TrainingRequest trainingRequest = TrainingRequest.builder()
-                .username(trainer.getUser().getUsername())
-                .firstName(trainer.getUser().getFirstName())
-                .lastName(trainer.getUser().getLastName())
-                .isActive(trainer.getUser().getIsActive())
-                .date(training.getDate())
-                .duration(training.getDuration())
-                .action("ADD")
-                .build();
-        LOGGER.info("Authorization: {}", MDC.get("Authorization"));
-        microserviceClient.actionTraining(trainingRequest, MDC.get("transactionId"), MDC.get("Authorization"));
+        workloadOutboxService.enqueue(Builders.buildTrainingRequest(training, "ADD"));
         TrainingDTO trainingDTOResponse = new TrainingDTO(trainee.getUser().getUsername(), trainer.getUser().getUsername(), training.getDate(), training.getDuration(), training.getName());
         LOGGER.info("Transaction Id: {}, Successfully created training: {}", MDC.get("transactionId"), trainingDTOResponse);
         return trainingDTOResponse;
     }
 
+    // Bulk counterpart of createTraining: two lookups for the whole list, batched inserts, each trainee-trainer pair
+    // linked once, and one workload update per trainer-month. Returns an error per input, null where it was created.
+    @Transactional
+    public List<String> createTrainings(List<TrainingDTO> trainingDTOs) {
+        LOGGER.info("Transaction Id: {}, Method: {}, Creating {} trainings", MDC.get("transactionId"), MDC.get("MethodName"), trainingDTOs.size());
+        Set<String> traineeUsernames = new HashSet<>();
+        Set<String> trainerUsernames = new HashSet<>();
+        trainingDTOs.forEach(trainingDTO -> {
+            traineeUsernames.add(trainingDTO.getTraineeUsername());
+            trainerUsernames.add(trainingDTO.getTrainerUsername());
+        });
+        Map<String, Trainee> trainees = traineeRepository.findAllByUserUsernameIn(traineeUsernames).stream()
+                .collect(Collectors.toMap(trainee -> trainee.getUser().getUsername(), Function.identity()));
+        Map<String, Trainer> trainers = trainerRepository.findAllByUserUsernameIn(trainerUsernames).stream()
+                .collect(Collectors.toMap(trainer -> trainer.getUser().getUsername(), Function.identity()));
+        List<String> errors = new ArrayList<>(trainingDTOs.size());
+        List<Training> trainings = new ArrayList<>(trainingDTOs.size());
+        Map<WorkloadMonth, Integer> workload = new LinkedHashMap<>();
+        for (TrainingDTO trainingDTO : trainingDTOs) {
+            Trainee trainee = trainees.get(trainingDTO.getTraineeUsername());
+            Trainer trainer = trainers.get(trainingDTO.getTrainerUsername());
+            if (trainee == null || trainer == null) {
+                String missing = trainee == null ? "Trainee with username {" + trainingDTO.getTraineeUsername() + "} not found"
+                        : "Trainer with username {" + trainingDTO.getTrainerUsername() + "} not found";
+                LOGGER.error("Transaction Id: {}, Method: {}, {}", MDC.get("transactionId"), MDC.get("MethodName"), missing);
+                errors.add(missing);
+                continue;
+            }
+            if (trainee.getTrainers().add(trainer)) {
+                trainer.getTrainees().add(trainee);
+                profileCache.evictTrainee(trainee.getUser().getUsername());
+                profileCache.evictTrainer(trainer.getUser().getUsername());
+            }
+            Training training = Builders.buildTraining(trainee, trainer, trainingDTO.getDate(), trainer.getSpecialization(), trainingDTO.getDuration(), trainingDTO.getName());
+            trainings.add(training);
+            workload.merge(new WorkloadMonth(trainer, YearMonth.from(toLocalDate(trainingDTO.getDate()))), trainingDTO.getDuration(), Integer::sum);
+            errors.add(null);
+        }
+        trainingRepository.saveAll(trainings);
+        workload.forEach((month, hours) -> workloadOutboxService.enqueue(monthlyTrainingRequest(month, hours)));
+        LOGGER.info("Transaction Id: {}, Successfully created {} trainings, queued {} workload updates", MDC.get("transactionId"), trainings.size(), workload.size());
+        return errors;
+    }
+
     @Transactional
     public void manyToManyTrainerAndTrainee(Trainee trainee, Trainer trainer) {
         LOGGER.info("Transaction Id: {}, Method: {}, Creating many to many relationship between trainee: {} and trainer: {}", MDC.get("transactionId"), MDC.get("MethodName"), trainee.getUser().getUsername(), trainer.getUser().getUsername());
-        List<Trainer> trainers = trainee.getTrainers();
-        List<Trainee> trainees = trainer.getTrainees();
-        if (!trainers.contains(trainer)) {
-            trainers.add(trainer);
-            trainerService.saveTrainer(trainer);
-            LOGGER.info("Transaction Id: {}, Saving trainer: {}", MDC.get("transactionId"), trainer.getUser().getUsername());
-        }
-        if (!trainees.contains(trainee)) {
+        // Trainee owns the link; the trainer side is kept in step for anything that reads it in this transaction
+        if (trainee.getTrainers().add(trainer)) {
+            trainer.getTrainees().add(trainee);
             traineeService.saveTrainee(trainee);
-            LOGGER.info("Transaction Id: {}, Saving trainee: {}", MDC.get("transactionId"), trainee.getUser().getUsername());
-            trainees.add(trainee);
+            profileCache.evictTrainee(trainee.getUser().getUsername());
+            profileCache.evictTrainer(trainer.getUser().getUsername());
+            LOGGER.info("Transaction Id: {}, Linked trainer: {} to trainee: {}", MDC.get("transactionId"), trainer.getUser().getUsername(), trainee.getUser().getUsername());
         }
     }
 
-    public List<TrainingResponse> getTraineeTrainingsFiltered(TrainingFilteredDTO trainingFilteredDTO) {
+    public TrainingPage getTraineeTrainingsFiltered(TrainingFilteredDTO trainingFilteredDTO) {
         Validations.validateUsername(trainingFilteredDTO.getUsername());
         LOGGER.info("Transaction Id: {}, Method: {}, Getting trainee trainings filtered by: {}", MDC.get("transactionId"), MDC.get("MethodName"), trainingFilteredDTO);
-        List<Training> trainings = trainingRepository.getTraineeFilteredTrainings(trainingFilteredDTO.getUsername(), trainingFilteredDTO.getDateFrom(), trainingFilteredDTO.getDateTo(), trainingFilteredDTO.getTrainingTypeName(), trainingFilteredDTO.getTrainerOrTraineeName());
-        return Builders.convertTrainingsToTrainingResponse(trainings, true);
-
+        int size = pageSizeOf(trainingFilteredDTO);
+        TrainingCursor cursor = TrainingCursor.decode(trainingFilteredDTO.getCursor());
+        List<TrainingResponse> trainings = trainingRepository.getTraineeFilteredTrainings(trainingFilteredDTO.getUsername(),
+                trainingFilteredDTO.getDateFrom(), trainingFilteredDTO.getDateTo(), trainingFilteredDTO.getTrainerOrTraineeName(),
+                trainingFilteredDTO.getTrainingTypeName(), cursor == null ? null : cursor.date(), cursor == null ? null : cursor.id(),
+                PageRequest.of(0, size + 1));
+        return toPage(trainings, size);
     }
 
-    public List<TrainingResponse> getTrainerTrainingsFiltered(TrainingFilteredDTO trainingFilteredDTO) {
+    public TrainingPage getTrainerTrainingsFiltered(TrainingFilteredDTO trainingFilteredDTO) {
         Validations.validateUsername(trainingFilteredDTO.getUsername());
         LOGGER.info("Transaction Id: {}, Method: {}, Getting trainer trainings filtered by: {}", MDC.get("transactionId"), MDC.get("MethodName"), trainingFilteredDTO);
-        List<Training> trainings = trainingRepository.getTrainerFilteredTrainings(trainingFilteredDTO.getUsername(), trainingFilteredDTO.getDateFrom(), trainingFilteredDTO.getDateTo(), trainingFilteredDTO.getTrainerOrTraineeName());
-        return Builders.convertTrainingsToTrainingResponse(trainings, false);
+        int size = pageSizeOf(trainingFilteredDTO);
+        TrainingCursor cursor = TrainingCursor.decode(trainingFilteredDTO.getCursor());
+        List<TrainingResponse> trainings = trainingRepository.getTrainerFilteredTrainings(trainingFilteredDTO.getUsername(),
+                trainingFilteredDTO.getDateFrom(), trainingFilteredDTO.getDateTo(), trainingFilteredDTO.getTrainerOrTraineeName(),
+                cursor == null ? null : cursor.date(), cursor == null ? null : cursor.id(),
+                PageRequest.of(0, size + 1));
+        return toPage(trainings, size);
+    }
+
+    // The workload service keys hours by trainer, year and month, so any day of the month stands for all of it
+    private static TrainingRequest monthlyTrainingRequest(WorkloadMonth month, int hours) {
+        User trainerUser = month.trainer().getUser();
+        return TrainingRequest.builder()
+                .username(trainerUser.getUsername())
+                .firstName(trainerUser.getFirstName())
+                .lastName(trainerUser.getLastName())
+                .isActive(trainerUser.getIsActive())
+                .date(Date.from(month.yearMonth().atDay(1).atStartOfDay(ZoneId.systemDefault()).toInstant()))
+                .duration(hours)
+                .action("ADD")
+                .build();
+    }
+
+    private static LocalDate toLocalDate(Date date) {
+        return date.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+    }
+
+    private static int pageSizeOf(TrainingFilteredDTO trainingFilteredDTO) {
+        int size = trainingFilteredDTO.getSize() == null ? DEFAULT_PAGE_SIZE : trainingFilteredDTO.getSize();
+        Validations.validatePageSize(size, MAX_PAGE_SIZE);
+        return size;
+    }
+
+    // One extra row is fetched to tell whether another page follows
+    private static TrainingPage toPage(List<TrainingResponse> trainings, int size) {
+        if (trainings.size() <= size) {
+            return new TrainingPage(trainings, null);
+        }
+        List<TrainingResponse> page = trainings.subList(0, size);
+        return new TrainingPage(page, TrainingCursor.of(page.get(size - 1)).encode());
+    }
+
+    private record WorkloadMonth(Trainer trainer, YearMonth yearMonth) {
     }
 }
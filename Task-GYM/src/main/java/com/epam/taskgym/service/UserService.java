@@ -15,6 +15,7 @@ import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.List;
 import java.util.Optional;
 
 @Service
@@ -22,6 +23,8 @@ import java.util.Optional;
 public class UserService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ProfileCache profileCache;
+    private final UsernameAllocator usernameAllocator;
     private final Logger LOGGER = LoggerFactory.getLogger(UserService.class);
 
     private Optional<User> findByUsername(String username) {
@@ -30,14 +33,14 @@ public class UserService {
         return userRepository.findByUsername(username);
     }
 
-    @Transactional
-    public UserResponse createUser(String firstName, String lastName, String role) {
+    // Not saved: the profile that owns the user persists both in one transaction. Runs outside any transaction so
+    // the username allocation does not hold a second connection and hashing holds none
+    public UserResponse newUser(String firstName, String lastName, String role) {
         LOGGER.info("Transaction Id: {}, Method: {}, Creating user: {} {}", MDC.get("transactionId"), MDC.get("MethodName"), firstName, lastName);
         Validations.validateUserDetails(firstName, lastName);
         String username = generateUniqueUsername(firstName.toLowerCase(), lastName.toLowerCase());
         String password = Builders.generateRandomPassword();
         User user = Builders.buildUser(firstName, lastName, username, passwordEncoder.encode(password), role);
-        saveUser(user);
         LOGGER.info("Successfully created user: {}", user.getUsername());
         return new UserResponse(user, password);
     }
@@ -48,6 +51,8 @@ public class UserService {
         user.setFirstName((firstName == null || firstName.isEmpty()) ? user.getFirstName() : firstName);
         user.setLastName((lastName == null || lastName.isEmpty()) ? user.getLastName() : lastName);
         saveUser(user);
+        profileCache.evictTrainee(user.getUsername());
+        profileCache.evictTrainer(user.getUsername());
         LOGGER.info("Transaction Id: {}, Successfully updated user: {}", MDC.get("transactionId"), user.getUsername());
         return user;
     }
@@ -59,6 +64,13 @@ public class UserService {
         return savedUser;
     }
 
+    @Transactional
+    public List<User> saveUsers(List<User> users) {
+        List<User> savedUsers = userRepository.saveAll(users);
+        LOGGER.info("Transaction Id: {}, Method: {}, Successfully saved {} users", MDC.get("transactionId"), MDC.get("MethodName"), savedUsers.size());
+        return savedUsers;
+    }
+
     @Transactional
     public void deleteUser(User user) {
         userRepository.delete(user);
@@ -77,14 +89,7 @@ public class UserService {
 
     private String generateUniqueUsername(String firstName, String lastName) {
         LOGGER.info("Transaction Id: {}, Generating unique username for: {} {}", MDC.get("transactionId"), firstName, lastName);
-        String baseUsername = firstName + "." + lastName;
-        String username = baseUsername;
-        int suffix = 1;
-        while (findByUsername(username).isPresent()) {
-            username = baseUsername + suffix;
-            suffix++;
-            LOGGER.info("Transaction Id: {}, Username already exists, trying: {}", MDC.get("transactionId"), username);
-        }
+        String username = usernameAllocator.allocate(firstName + "." + lastName);
         LOGGER.info("Transaction Id: {}, Generated unique username: {}", MDC.get("transactionId"), username);
         return username;
     }
@@ -0,0 +1,109 @@
+package com.epam.taskgym.service;
+
+import com.epam.taskgym.repository.UserRepository;
+import com.epam.taskgym.repository.UsernameSequenceRepository;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+@Service
+@RequiredArgsConstructor
+public class UsernameAllocator {
+    private static final Logger LOGGER = LoggerFactory.getLogger(UsernameAllocator.class);
+
+    private final UsernameSequenceRepository usernameSequenceRepository;
+    private final UserRepository userRepository;
+
+    // Callers allocate before they open their own transaction, so this holds the only connection and the counter
+    // row lock is released before the password is hashed
+    @Transactional
+    public String allocate(String baseUsername) {
+        LOGGER.info("Transaction Id: {}, Allocating username for: {}", MDC.get("transactionId"), baseUsername);
+        if (usernameSequenceRepository.increment(baseUsername) == 0) {
+            usernameSequenceRepository.insertOrIncrement(baseUsername, firstFreeSuffix(baseUsername));
+        }
+        int suffix = usernameSequenceRepository.findLastSuffix(baseUsername);
+        // Another base can spell the same name, e.g. "john.doe" + 1 and a last name of "doe1"
+        while (!claim(baseUsername, suffix) || userRepository.existsByUsername(withSuffix(baseUsername, suffix))) {
+            usernameSequenceRepository.increment(baseUsername);
+            suffix = usernameSequenceRepository.findLastSuffix(baseUsername);
+        }
+        String username = withSuffix(baseUsername, suffix);
+        LOGGER.info("Transaction Id: {}, Allocated username: {}", MDC.get("transactionId"), username);
+        return username;
+    }
+
+    // Allocates one username per entry, in order, reserving each base name's suffixes with a single counter update.
+    // Bases are locked in sorted order so concurrent imports cannot deadlock on the counter rows.
+    @Transactional
+    public List<String> allocateAll(List<String> baseUsernames) {
+        LOGGER.info("Transaction Id: {}, Allocating {} usernames", MDC.get("transactionId"), baseUsernames.size());
+        Map<String, Integer> counts = new TreeMap<>();
+        baseUsernames.forEach(baseUsername -> counts.merge(baseUsername, 1, Integer::sum));
+        Map<String, Deque<Integer>> reserved = new HashMap<>();
+        counts.forEach((baseUsername, count) -> {
+            if (usernameSequenceRepository.incrementBy(baseUsername, count) == 0) {
+                usernameSequenceRepository.insertOrIncrementBy(baseUsername, firstFreeSuffix(baseUsername) + count - 1, count);
+            }
+            int lastSuffix = usernameSequenceRepository.findLastSuffix(baseUsername);
+            Deque<Integer> suffixes = new ArrayDeque<>(count);
+            for (int suffix = lastSuffix - count + 1; suffix <= lastSuffix; suffix++) {
+                suffixes.add(suffix);
+            }
+            reserved.put(baseUsername, suffixes);
+        });
+        // Same checks as allocate, but one query for the whole batch. Bases in the batch can also spell each other's
+        // names ("john.doe" + 1 and "john.doe1"); the claim settles those
+        Set<String> candidates = new HashSet<>();
+        reserved.forEach((baseUsername, suffixes) -> suffixes.forEach(suffix -> candidates.add(withSuffix(baseUsername, suffix))));
+        Set<String> taken = new HashSet<>(candidates.isEmpty() ? List.of() : userRepository.findUsernamesIn(candidates));
+        List<String> allocated = new ArrayList<>(baseUsernames.size());
+        for (String baseUsername : baseUsernames) {
+            int suffix = reserved.get(baseUsername).poll();
+            while (!claim(baseUsername, suffix) || taken.contains(withSuffix(baseUsername, suffix))) {
+                usernameSequenceRepository.increment(baseUsername);
+                suffix = usernameSequenceRepository.findLastSuffix(baseUsername);
+                if (userRepository.existsByUsername(withSuffix(baseUsername, suffix))) {
+                    taken.add(withSuffix(baseUsername, suffix));
+                }
+            }
+            allocated.add(withSuffix(baseUsername, suffix));
+        }
+        LOGGER.info("Transaction Id: {}, Allocated {} usernames", MDC.get("transactionId"), allocated.size());
+        return allocated;
+    }
+
+    // Both allocation paths take a suffixed name through its own counter row, so of two bases spelling the same
+    // name only one gets it. A bare name was claimed by the insert that created its counter; users saved without
+    // the allocator have no row, which is what the callers' existence checks are for
+    private boolean claim(String baseUsername, int suffix) {
+        return suffix == 0 || usernameSequenceRepository.claim(withSuffix(baseUsername, suffix)) > 0;
+    }
+
+    // Seeds a new counter from usernames created before the counter existed
+    private int firstFreeSuffix(String baseUsername) {
+        int highest = -1;
+        for (String username : userRepository.findUsernamesLike(escape(baseUsername) + "%")) {
+            String rest = username.substring(baseUsername.length());
+            if (rest.isEmpty()) {
+                highest = Math.max(highest, 0);
+            } else if (rest.length() < 10 && rest.chars().allMatch(Character::isDigit)) {
+                highest = Math.max(highest, Integer.parseInt(rest));
+            }
+        }
+        return highest + 1;
+    }
+
+    private static String withSuffix(String baseUsername, int suffix) {
+        return suffix == 0 ? baseUsername : baseUsername + suffix;
+    }
+
+    private static String escape(String value) {
+        return value.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+}
@@ -0,0 +1,220 @@
+package com.epam.taskgym.service;
+
+import com.epam.taskgym.client.MicroserviceClient;
+import com.epam.taskgym.configuration.WorkloadOutboxProperties;
+import com.epam.taskgym.entity.OutboxStatus;
+import com.epam.taskgym.entity.WorkloadOutbox;
+import com.epam.taskgym.exception.MicroserviceUnavailableException;
+import com.epam.taskgym.models.TrainingRequest;
+import com.epam.taskgym.models.WorkloadBatchResult;
+import com.epam.taskgym.repository.WorkloadOutboxRepository;
+import com.epam.taskgym.security.JwtIssuer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class WorkloadOutboxService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(WorkloadOutboxService.class);
+    private static final String DISPATCHER_USERNAME = "workload-dispatcher";
+
+    private final WorkloadOutboxRepository workloadOutboxRepository;
+    private final MicroserviceClient microserviceClient;
+    private final JwtIssuer jwtIssuer;
+    private final WorkloadOutboxProperties properties;
+    private final Clock clock = Clock.systemUTC();
+    private final Counter delivered;
+    private final Counter retried;
+    private final Counter parked;
+    private final AtomicLong backlog = new AtomicLong();
+    private final AtomicLong lagSeconds = new AtomicLong();
+    private final AtomicLong parkedEntries = new AtomicLong();
+
+    public WorkloadOutboxService(WorkloadOutboxRepository workloadOutboxRepository, MicroserviceClient microserviceClient,
+                                 JwtIssuer jwtIssuer, WorkloadOutboxProperties properties, MeterRegistry meterRegistry) {
+        this.workloadOutboxRepository = workloadOutboxRepository;
+        this.microserviceClient = microserviceClient;
+        this.jwtIssuer = jwtIssuer;
+        this.properties = properties;
+        this.delivered = meterRegistry.counter("workload.outbox.delivered");
+        this.retried = meterRegistry.counter("workload.outbox.retried");
+        this.parked = meterRegistry.counter("workload.outbox.parked");
+        Gauge.builder("workload.outbox.backlog", backlog, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("workload.outbox.lag", lagSeconds, AtomicLong::get).baseUnit("seconds").register(meterRegistry);
+        // Alert on this staying above zero: every trainer with a parked entry is held back until an operator acts
+        Gauge.builder("workload.outbox.parked.current", parkedEntries, AtomicLong::get).register(meterRegistry);
+    }
+
+    // Joins the caller's transaction, so the update is only queued if the training change commits
+    @Transactional
+    public void enqueue(TrainingRequest trainingRequest) {
+        Instant now = clock.instant();
+        WorkloadOutbox entry = new WorkloadOutbox();
+        entry.setTrainerUsername(trainingRequest.getUsername());
+        entry.setTrainerFirstName(trainingRequest.getFirstName());
+        entry.setTrainerLastName(trainingRequest.getLastName());
+        entry.setTrainerIsActive(trainingRequest.getIsActive());
+        entry.setTrainingDate(trainingRequest.getDate());
+        entry.setDuration(trainingRequest.getDuration());
+        entry.setAction(trainingRequest.getAction());
+        entry.setTransactionId(MDC.get("transactionId"));
+        entry.setStatus(OutboxStatus.PENDING);
+        entry.setCreatedAt(now);
+        entry.setNextAttemptAt(now);
+        workloadOutboxRepository.save(entry);
+        LOGGER.info("Transaction Id: {}, Queued {} workload update for trainer: {}", MDC.get("transactionId"), trainingRequest.getAction(), trainingRequest.getUsername());
+    }
+
+    // Sends every due entry in one batch call; the workload service nets them per trainer-month
+    @Scheduled(fixedDelayString = "${workload.outbox.poll-interval:PT1S}")
+    public void dispatch() {
+        List<WorkloadOutbox> due = workloadOutboxRepository.findDue(clock.instant(), PageRequest.of(0, properties.getBatchSize()));
+        if (!due.isEmpty()) {
+            deliver(due, "Bearer " + jwtIssuer.issue(0L, DISPATCHER_USERNAME, List.of("ROLE_SERVICE")));
+        }
+        refreshBacklog();
+    }
+
+    // Puts a trainer's parked entries back in line, oldest first, with a fresh set of attempts
+    @Transactional
+    public int retryParked(String trainerUsername) {
+        List<WorkloadOutbox> entries = workloadOutboxRepository.findByTrainerUsernameAndStatusOrderById(trainerUsername, OutboxStatus.FAILED);
+        Instant now = clock.instant();
+        for (WorkloadOutbox entry : entries) {
+            entry.setStatus(OutboxStatus.PENDING);
+            entry.setAttempts(0);
+            entry.setNextAttemptAt(now);
+        }
+        workloadOutboxRepository.saveAll(entries);
+        LOGGER.info("Transaction Id: {}, Requeued {} parked workload updates for trainer: {}", MDC.get("transactionId"), entries.size(), trainerUsername);
+        return entries.size();
+    }
+
+    // Drops a trainer's parked entries, releasing the updates queued behind them
+    @Transactional
+    public int discardParked(String trainerUsername) {
+        List<WorkloadOutbox> entries = workloadOutboxRepository.findByTrainerUsernameAndStatusOrderById(trainerUsername, OutboxStatus.FAILED);
+        workloadOutboxRepository.deleteAll(entries);
+        LOGGER.warn("Transaction Id: {}, Discarded {} parked workload updates for trainer: {}", MDC.get("transactionId"), entries.size(), trainerUsername);
+        return entries.size();
+    }
+
+    private void deliver(List<WorkloadOutbox> entries, String authorization) {
+        String batchId = "outbox-batch-" + entries.get(0).getId();
+        List<TrainingRequest> batch = entries.stream().map(WorkloadOutboxService::toTrainingRequest).toList();
+        List<WorkloadBatchResult> results;
+        try {
+            results = microserviceClient.actionTrainingBatch(batch, batchId, authorization);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Transaction Id: {}, Workload batch of {} updates failed", batchId, entries.size());
+            entries.forEach(entry -> withTransactionId(entry, () -> markFailed(entry, e)));
+            return;
+        }
+        Map<Integer, WorkloadBatchResult> byIndex = results.stream()
+                .collect(Collectors.toMap(WorkloadBatchResult::getIndex, Function.identity(), (first, second) -> first));
+        for (int i = 0; i < entries.size(); i++) {
+            WorkloadOutbox entry = entries.get(i);
+            WorkloadBatchResult result = byIndex.get(i);
+            withTransactionId(entry, () -> handleResult(entry, result));
+        }
+    }
+
+    private void handleResult(WorkloadOutbox entry, WorkloadBatchResult result) {
+        String status = result == null ? WorkloadBatchResult.FAILED : result.getStatus();
+        if (WorkloadBatchResult.OK.equals(status)) {
+            workloadOutboxRepository.delete(entry);
+            delivered.increment();
+        } else if (WorkloadBatchResult.REJECTED.equals(status) || WorkloadBatchResult.NOT_FOUND.equals(status)) {
+            // Retrying will not change the answer, so park the entry straight away
+            park(entry, status + ": " + result.getMessage());
+        } else {
+            markFailed(entry, new MicroserviceUnavailableException(result == null ? "No result for workload update" : result.getMessage()));
+        }
+    }
+
+    private void withTransactionId(WorkloadOutbox entry, Runnable action) {
+        MDC.put("transactionId", transactionIdOf(entry));
+        try {
+            action.run();
+        } finally {
+            MDC.remove("transactionId");
+        }
+    }
+
+    private void markFailed(WorkloadOutbox entry, RuntimeException e) {
+        int attempts = entry.getAttempts() + 1;
+        entry.setAttempts(attempts);
+        entry.setLastError(truncate(e.getMessage()));
+        if (attempts >= properties.getMaxAttempts()) {
+            LOGGER.error("Transaction Id: {}, Giving up on workload update for trainer: {} after {} attempts", MDC.get("transactionId"), entry.getTrainerUsername(), attempts, e);
+            park(entry, e.getMessage());
+            return;
+        }
+        entry.setNextAttemptAt(clock.instant().plus(backoff(attempts)));
+        retried.increment();
+        LOGGER.warn("Transaction Id: {}, Workload update for trainer: {} failed, attempt {}, retrying at {}", MDC.get("transactionId"), entry.getTrainerUsername(), attempts, entry.getNextAttemptAt());
+        workloadOutboxRepository.save(entry);
+    }
+
+    private void park(WorkloadOutbox entry, String error) {
+        entry.setStatus(OutboxStatus.FAILED);
+        entry.setLastError(truncate(error));
+        parked.increment();
+        workloadOutboxRepository.save(entry);
+        LOGGER.error("Transaction Id: {}, Parked workload update for trainer: {}: {}", MDC.get("transactionId"), entry.getTrainerUsername(), error);
+    }
+
+    private Duration backoff(int attempts) {
+        Duration delay = properties.getInitialBackoff().multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(properties.getMaxBackoff()) > 0 ? properties.getMaxBackoff() : delay;
+    }
+
+    private void refreshBacklog() {
+        backlog.set(workloadOutboxRepository.countByStatus(OutboxStatus.PENDING));
+        parkedEntries.set(workloadOutboxRepository.countByStatus(OutboxStatus.FAILED));
+        lagSeconds.set(workloadOutboxRepository.findOldestPendingCreatedAt()
+                .map(oldest -> Duration.between(oldest, clock.instant()).toSeconds())
+                .orElse(0L));
+    }
+
+    // One stable id per entry, so the workload service sees the same id on every retry
+    private static String transactionIdOf(WorkloadOutbox entry) {
+        return (entry.getTransactionId() == null ? "outbox" : entry.getTransactionId()) + "-" + entry.getId();
+    }
+
+    private static TrainingRequest toTrainingRequest(WorkloadOutbox entry) {
+        return TrainingRequest.builder()
+                .username(entry.getTrainerUsername())
+                .firstName(entry.getTrainerFirstName())
+                .lastName(entry.getTrainerLastName())
+                .isActive(entry.getTrainerIsActive())
+                .date(entry.getTrainingDate())
+                .duration(entry.getDuration())
+                .action(entry.getAction())
+                .transactionId(transactionIdOf(entry))
+                .build();
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+}
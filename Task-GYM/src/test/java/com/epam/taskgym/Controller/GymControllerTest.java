@@ -19,6 +19,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -107,19 +108,14 @@ public class GymControllerTest {
     @Test
     void getTraineeProfile_ShouldReturnOk() {
         String username = "trainee";
-        Trainee trainee = new Trainee();
         TraineeDTO expectedDTO = new TraineeDTO();
 
-        when(traineeService.getTraineeByUsername(username)).thenReturn(trainee);
-
-        try (MockedStatic<Builders> mockedBuilders = mockStatic(Builders.class)) {
-            mockedBuilders.when(() -> Builders.convertTraineeToTraineeDTO(trainee)).thenReturn(expectedDTO);
+        when(traineeService.getTraineeProfileDTO(username)).thenReturn(expectedDTO);
 
-            ResponseEntity<TraineeDTO> responseEntity = gymController.getTraineeProfile(username);
+        ResponseEntity<TraineeDTO> responseEntity = gymController.getTraineeProfile(username);
 
-            assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
-            assertSame(expectedDTO, responseEntity.getBody());
-        }
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertSame(expectedDTO, responseEntity.getBody());
     }
 
     @Test
@@ -133,7 +129,7 @@ public class GymControllerTest {
         user.setLastName("Doe");
         trainee.setUser(user);
 
-        trainee.setTrainers(new ArrayList<>());
+        trainee.setTrainers(new HashSet<>());
 
         TraineeDTO expectedDTO = new TraineeDTO();
 
@@ -164,19 +160,14 @@ public class GymControllerTest {
     @Test
     void getTrainerProfile_ShouldReturnOk() {
         String username = "trainer";
-        Trainer trainer = new Trainer();
         TrainerDTO expectedDTO = new TrainerDTO();
 
-        when(trainerService.getTrainerByUsername(username)).thenReturn(trainer);
-
-        try (MockedStatic<Builders> mockedBuilders = mockStatic(Builders.class)) {
-            mockedBuilders.when(() -> Builders.convertTrainerToTraineeDTO(trainer)).thenReturn(expectedDTO);
+        when(trainerService.getTrainerProfileDTO(username)).thenReturn(expectedDTO);
 
-            ResponseEntity<TrainerDTO> responseEntity = gymController.getTrainerProfile(username);
+        ResponseEntity<TrainerDTO> responseEntity = gymController.getTrainerProfile(username);
 
-            assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
-            assertSame(expectedDTO, responseEntity.getBody());
-        }
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertSame(expectedDTO, responseEntity.getBody());
     }
 
     @Test
@@ -203,9 +194,9 @@ public class GymControllerTest {
         String username = "traineeUsername";
         List<TrainerListItem> expectedList = new ArrayList<>();
 
-        when(trainerService.getUnassignedTrainers(anyString())).thenReturn(expectedList);
+        when(trainerService.getUnassignedTrainers(anyString(), isNull(), anyInt())).thenReturn(expectedList);
 
-        ResponseEntity<List<TrainerListItem>> responseEntity = gymController.getNotAssignedTrainers(username);
+        ResponseEntity<List<TrainerListItem>> responseEntity = gymController.getNotAssignedTrainers(username, null, TrainerService.DEFAULT_PAGE_SIZE);
 
         assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
         assertEquals(expectedList, responseEntity.getBody());
@@ -231,12 +222,13 @@ public class GymControllerTest {
         TrainingFilteredDTO trainingFilteredDTO = new TrainingFilteredDTO();
         List<TrainingResponse> expectedTrainingsList = new ArrayList<>();
 
-        when(trainingService.getTraineeTrainingsFiltered(any(TrainingFilteredDTO.class))).thenReturn(expectedTrainingsList);
+        when(trainingService.getTraineeTrainingsFiltered(any(TrainingFilteredDTO.class))).thenReturn(new TrainingPage(expectedTrainingsList, "next"));
 
-        ResponseEntity<List<TrainingResponse>> responseEntity = gymController.getTraineeTrainings(username, trainingFilteredDTO);
+        ResponseEntity<List<TrainingResponse>> responseEntity = gymController.getTraineeTrainings(username, trainingFilteredDTO, null, null);
 
         assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
         assertEquals(expectedTrainingsList, responseEntity.getBody());
+        assertEquals("next", responseEntity.getHeaders().getFirst(GymController.NEXT_CURSOR_HEADER));
     }
 
     @Test
@@ -245,12 +237,13 @@ public class GymControllerTest {
         TrainingFilteredDTO trainingFilteredDTO = new TrainingFilteredDTO();
         List<TrainingResponse> expectedTrainingsList = new ArrayList<>();
 
-        when(trainingService.getTrainerTrainingsFiltered(any(TrainingFilteredDTO.class))).thenReturn(expectedTrainingsList);
+        when(trainingService.getTrainerTrainingsFiltered(any(TrainingFilteredDTO.class))).thenReturn(new TrainingPage(expectedTrainingsList, "next"));
 
-        ResponseEntity<List<TrainingResponse>> responseEntity = gymController.getTrainerTrainings(username, trainingFilteredDTO);
+        ResponseEntity<List<TrainingResponse>> responseEntity = gymController.getTrainerTrainings(username, trainingFilteredDTO, null, null);
 
         assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
         assertEquals(expectedTrainingsList, responseEntity.getBody());
+        assertEquals("next", responseEntity.getHeaders().getFirst(GymController.NEXT_CURSOR_HEADER));
     }
 
     @Test
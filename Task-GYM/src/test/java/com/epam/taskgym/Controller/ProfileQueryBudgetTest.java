@@ -0,0 +1,121 @@
+package com.epam.taskgym.Controller;
+
+import com.epam.taskgym.controller.GymController;
+import com.epam.taskgym.entity.*;
+import com.epam.taskgym.models.TraineeDTO;
+import com.epam.taskgym.models.TrainerListItem;
+import com.epam.taskgym.models.TrainerDTO;
+import com.epam.taskgym.service.WorkloadOutboxService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.transaction.Transactional;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Fails when a profile read regresses into one select per linked trainer or trainee
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Transactional
+class ProfileQueryBudgetTest {
+    private static final long PROFILE_QUERY_BUDGET = 1;
+    private static final int LINKS = 5;
+
+    @Autowired
+    private GymController gymController;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @MockBean
+    private WorkloadOutboxService workloadOutboxService;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        TrainingType yoga = new TrainingType();
+        yoga.setName("Yoga");
+        entityManager.persist(yoga);
+        Trainee trainee = new Trainee();
+        trainee.setUser(user("budget.trainee"));
+        trainee.setTrainers(new HashSet<>());
+        entityManager.persist(trainee);
+        for (int i = 0; i < LINKS; i++) {
+            Trainer trainer = new Trainer();
+            trainer.setUser(user("budget.trainer" + i));
+            trainer.setSpecialization(yoga);
+            trainer.setTrainees(new HashSet<>());
+            entityManager.persist(trainer);
+            trainer.getTrainees().add(trainee);
+            trainee.getTrainers().add(trainer);
+        }
+        Trainee other = new Trainee();
+        other.setUser(user("budget.other"));
+        other.setTrainers(new HashSet<>());
+        entityManager.persist(other);
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void givenTraineeWithTrainers_whenGetTraineeProfile_thenStaysWithinQueryBudget() {
+        TraineeDTO profile = gymController.getTraineeProfile("budget.trainee").getBody();
+
+        assertEquals(LINKS, profile.getTrainers().size());
+        assertTrue(statistics.getPrepareStatementCount() <= PROFILE_QUERY_BUDGET,
+                "Trainee profile used " + statistics.getPrepareStatementCount() + " queries");
+    }
+
+    @Test
+    void givenTrainerWithTrainees_whenGetTrainerProfile_thenStaysWithinQueryBudget() {
+        TrainerDTO profile = gymController.getTrainerProfile("budget.trainer0").getBody();
+
+        assertEquals(1, profile.getTrainees().size());
+        assertTrue(statistics.getPrepareStatementCount() <= PROFILE_QUERY_BUDGET,
+                "Trainer profile used " + statistics.getPrepareStatementCount() + " queries");
+    }
+
+    @Test
+    void givenTraineeWithoutTrainers_whenUpdateTrainersList_thenOneLookupAndOneBatchedInsert() {
+        List<String> usernames = IntStream.range(0, LINKS).mapToObj(i -> "budget.trainer" + i).toList();
+
+        List<TrainerListItem> trainers = gymController.updateTraineeTrainers("budget.other", usernames).getBody();
+        entityManager.flush();
+
+        assertEquals(LINKS, trainers.size());
+        // Trainee profile, new trainers, one batch of link inserts
+        assertEquals(3, statistics.getPrepareStatementCount());
+    }
+
+    private User user(String username) {
+        User user = new User();
+        user.setFirstName("First");
+        user.setLastName("Last");
+        user.setUsername(username);
+        user.setPassword("password");
+        user.setIsActive(true);
+        user.setRole("ROLE_USER");
+        entityManager.persist(user);
+        return user;
+    }
+}
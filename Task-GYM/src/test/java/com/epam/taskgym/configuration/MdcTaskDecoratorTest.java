@@ -0,0 +1,62 @@
+package com.epam.taskgym.configuration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MdcTaskDecoratorTest {
+
+    private final MdcTaskDecorator decorator = new MdcTaskDecorator();
+
+    @AfterEach
+    void tearDown() {
+        MDC.clear();
+    }
+
+    @Test
+    void givenTransactionIdInMdc_whenTaskRunsOnAnotherThread_thenTransactionIdIsVisible() throws Exception {
+        AtomicReference<String> seen = new AtomicReference<>();
+        MDC.put("transactionId", "tx-1");
+        Runnable task = decorator.decorate(() -> seen.set(MDC.get("transactionId")));
+        MDC.clear();
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(task).get();
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals("tx-1", seen.get());
+    }
+
+    @Test
+    void givenReusedThread_whenTaskFinishes_thenThreadMdcIsRestored() {
+        MDC.put("transactionId", "tx-1");
+        Runnable task = decorator.decorate(() -> MDC.put("Action", "Add"));
+        MDC.put("transactionId", "worker");
+
+        task.run();
+
+        assertEquals("worker", MDC.get("transactionId"));
+        assertNull(MDC.get("Action"));
+    }
+
+    @Test
+    void givenEmptyMdc_whenTaskRuns_thenStaleValuesAreNotVisible() {
+        AtomicReference<String> seen = new AtomicReference<>("unset");
+        Runnable task = decorator.decorate(() -> seen.set(MDC.get("transactionId")));
+        MDC.put("transactionId", "stale");
+
+        task.run();
+
+        assertNull(seen.get());
+        assertEquals("stale", MDC.get("transactionId"));
+    }
+}
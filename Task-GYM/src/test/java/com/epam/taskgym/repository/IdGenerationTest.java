@@ -0,0 +1,59 @@
+package com.epam.taskgym.repository;
+
+import com.epam.taskgym.configuration.PersistenceConfig;
+import com.epam.taskgym.configuration.PersistenceProperties;
+import com.epam.taskgym.entity.TrainingType;
+import com.epam.taskgym.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({PersistenceConfig.class, PersistenceProperties.class})
+@TestPropertySource(properties = "persistence.id.allocation-size=7")
+class IdGenerationTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private TrainingTypeRepository trainingTypeRepository;
+
+    @Test
+    void givenConfiguredAllocationSize_whenGeneratorsBuilt_thenEveryEntityUsesPooledBlocksOfThatSize() {
+        for (Class<?> entity : List.of(User.class, TrainingType.class)) {
+            SequenceStyleGenerator generator = (SequenceStyleGenerator) entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                    .getMappingMetamodel().getEntityDescriptor(entity).getGenerator();
+            assertEquals(7, generator.getOptimizer().getIncrementSize());
+        }
+    }
+
+    @Test
+    void givenManyInserts_whenSaved_thenIdsAreConsecutiveAcrossBlocks() {
+        List<TrainingType> trainingTypes = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            TrainingType trainingType = new TrainingType();
+            trainingType.setName("Type " + i);
+            trainingTypes.add(trainingType);
+        }
+
+        List<TrainingType> saved = trainingTypeRepository.saveAll(trainingTypes);
+
+        for (int i = 1; i < saved.size(); i++) {
+            assertEquals(saved.get(i - 1).getId() + 1, saved.get(i).getId());
+        }
+    }
+}
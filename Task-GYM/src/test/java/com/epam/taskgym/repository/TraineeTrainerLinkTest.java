@@ -0,0 +1,108 @@
+package com.epam.taskgym.repository;
+
+import com.epam.taskgym.entity.*;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.HashSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Fails when changing one link goes back to rewriting the trainee's whole trainer collection
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class TraineeTrainerLinkTest {
+    private static final int LINKS = 200;
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private TraineeRepository traineeRepository;
+
+    private TrainingType yoga;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        yoga = new TrainingType();
+        yoga.setName("Yoga");
+        entityManager.persist(yoga);
+        Trainee trainee = new Trainee();
+        trainee.setUser(user("link.trainee"));
+        trainee.setTrainers(new HashSet<>());
+        entityManager.persist(trainee);
+        for (int i = 0; i < LINKS; i++) {
+            trainee.getTrainers().add(trainer("link.trainer" + i));
+        }
+        trainer("link.new");
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManager.getEntityManager().getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void givenTraineeWithManyTrainers_whenAddOneTrainer_thenOneInsert() {
+        Trainee trainee = traineeRepository.findByUserUsername("link.trainee").orElseThrow();
+        Trainer trainer = entityManager.getEntityManager().createQuery(
+                "SELECT t FROM Trainer t WHERE t.user.username = 'link.new'", Trainer.class).getSingleResult();
+        Hibernate.initialize(trainee.getTrainers());
+        statistics.clear();
+
+        trainee.getTrainers().add(trainer);
+        entityManager.flush();
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(LINKS + 1, linkCount());
+    }
+
+    @Test
+    void givenTraineeWithManyTrainers_whenRemoveOneTrainer_thenOneDelete() {
+        Trainee trainee = traineeRepository.findByUserUsername("link.trainee").orElseThrow();
+        Hibernate.initialize(trainee.getTrainers());
+        Trainer trainer = trainee.getTrainers().iterator().next();
+        statistics.clear();
+
+        trainee.getTrainers().remove(trainer);
+        entityManager.flush();
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(LINKS - 1, linkCount());
+    }
+
+    private long linkCount() {
+        return ((Number) entityManager.getEntityManager()
+                .createNativeQuery("SELECT COUNT(*) FROM trainee_trainer").getSingleResult()).longValue();
+    }
+
+    private Trainer trainer(String username) {
+        Trainer trainer = new Trainer();
+        trainer.setUser(user(username));
+        trainer.setSpecialization(yoga);
+        trainer.setTrainees(new HashSet<>());
+        return entityManager.persist(trainer);
+    }
+
+    private User user(String username) {
+        User user = new User();
+        user.setFirstName("First");
+        user.setLastName("Last");
+        user.setUsername(username);
+        user.setPassword("password");
+        user.setIsActive(true);
+        return entityManager.persist(user);
+    }
+}
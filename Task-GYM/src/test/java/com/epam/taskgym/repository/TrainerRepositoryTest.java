@@ -0,0 +1,118 @@
+package com.epam.taskgym.repository;
+
+import com.epam.taskgym.entity.*;
+import com.epam.taskgym.models.TrainerListItem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.hibernate.Hibernate;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.HashSet;
+import java.util.Date;
+import java.util.List;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class TrainerRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private TrainerRepository trainerRepository;
+
+    private TrainingType yoga;
+    private Trainee trainee;
+
+    @BeforeEach
+    void setUp() {
+        yoga = new TrainingType();
+        yoga.setName("Yoga");
+        entityManager.persist(yoga);
+        trainee = new Trainee();
+        trainee.setUser(entityManager.persist(user("trainee.one", true)));
+        trainee.setTrainers(new HashSet<>());
+        entityManager.persist(trainee);
+    }
+
+    @Test
+    void givenAssignedInactiveAndFreeTrainers_whenFindActiveTrainersNotAssignedTo_thenOnlyFreeActiveReturned() {
+        Trainer linked = trainer("trainer.a", true);
+        Trainer trained = trainer("trainer.b", true);
+        trainer("trainer.c", false);
+        trainer("trainer.d", true);
+        trainee.getTrainers().add(linked);
+        Training training = new Training();
+        training.setTrainee(trainee);
+        training.setTrainer(trained);
+        training.setName("Morning");
+        training.setDate(new Date());
+        training.setTrainingType(yoga);
+        training.setDuration(60);
+        entityManager.persist(training);
+        entityManager.flush();
+
+        List<TrainerListItem> result = trainerRepository.findActiveTrainersNotAssignedTo("trainee.one", null, PageRequest.of(0, 10));
+
+        assertEquals(List.of("trainer.d"), result.stream().map(TrainerListItem::getUsername).toList());
+        assertEquals("Yoga", result.get(0).getSpecialization());
+    }
+
+    @Test
+    void givenCursor_whenFindActiveTrainersNotAssignedTo_thenNextPageStartsAfterCursor() {
+        trainer("trainer.a", true);
+        trainer("trainer.b", true);
+        trainer("trainer.c", true);
+        entityManager.flush();
+
+        List<TrainerListItem> first = trainerRepository.findActiveTrainersNotAssignedTo("trainee.one", null, PageRequest.of(0, 2));
+        List<TrainerListItem> second = trainerRepository.findActiveTrainersNotAssignedTo("trainee.one", first.get(1).getUsername(), PageRequest.of(0, 2));
+
+        assertEquals(List.of("trainer.a", "trainer.b"), first.stream().map(TrainerListItem::getUsername).toList());
+        assertEquals(List.of("trainer.c"), second.stream().map(TrainerListItem::getUsername).toList());
+    }
+
+    @Test
+    void givenUsernames_whenFindAllByUserUsernameIn_thenTraineesLoadedInSameQuery() {
+        Trainer linked = trainer("trainer.a", true);
+        trainer("trainer.b", true);
+        trainee.getTrainers().add(linked);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Trainer> result = trainerRepository.findAllByUserUsernameIn(Set.of("trainer.a", "trainer.b", "nobody"));
+
+        assertEquals(2, result.size());
+        result.forEach(trainer -> assertTrue(Hibernate.isInitialized(trainer.getTrainees())));
+        Trainer loaded = result.stream().filter(trainer -> trainer.getUser().getUsername().equals("trainer.a")).findFirst().orElseThrow();
+        assertEquals(List.of("trainee.one"), loaded.getTrainees().stream().map(t -> t.getUser().getUsername()).toList());
+    }
+
+    private Trainer trainer(String username, boolean active) {
+        Trainer trainer = new Trainer();
+        trainer.setUser(entityManager.persist(user(username, active)));
+        trainer.setSpecialization(yoga);
+        trainer.setTrainees(new HashSet<>());
+        return entityManager.persist(trainer);
+    }
+
+    private static User user(String username, boolean active) {
+        User user = new User();
+        user.setFirstName("First");
+        user.setLastName("Last");
+        user.setUsername(username);
+        user.setPassword("password");
+        user.setIsActive(active);
+        return user;
+    }
+}
@@ -0,0 +1,87 @@
+package com.epam.taskgym.repository;
+
+import com.epam.taskgym.entity.*;
+import com.epam.taskgym.models.TrainingResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.HashSet;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class TrainingRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private TrainingRepository trainingRepository;
+
+    @Test
+    void givenCursor_whenGetTraineeFilteredTrainings_thenPagesWalkBackwardsByDateAndId() {
+        TrainingType yoga = new TrainingType();
+        yoga.setName("Yoga");
+        entityManager.persist(yoga);
+        Trainee trainee = new Trainee();
+        trainee.setUser(entityManager.persist(user("trainee.one")));
+        trainee.setTrainers(new HashSet<>());
+        entityManager.persist(trainee);
+        Trainer trainer = new Trainer();
+        trainer.setUser(entityManager.persist(user("trainer.one")));
+        trainer.setSpecialization(yoga);
+        trainer.setTrainees(new HashSet<>());
+        entityManager.persist(trainer);
+        Training oldest = training(trainee, trainer, yoga, "oldest", date(2024, 1, 1));
+        Training sameDayFirst = training(trainee, trainer, yoga, "same-day-1", date(2024, 2, 1));
+        Training sameDaySecond = training(trainee, trainer, yoga, "same-day-2", date(2024, 2, 1));
+        entityManager.flush();
+        entityManager.clear();
+
+        List<TrainingResponse> first = trainingRepository.getTraineeFilteredTrainings("trainee.one", null, null, null, null,
+                null, null, PageRequest.of(0, 2));
+        TrainingResponse last = first.get(1);
+        List<TrainingResponse> second = trainingRepository.getTraineeFilteredTrainings("trainee.one", null, null, null, null,
+                last.getTrainingDate(), last.getId(), PageRequest.of(0, 2));
+
+        assertEquals(List.of(sameDaySecond.getId(), sameDayFirst.getId()), first.stream().map(TrainingResponse::getId).toList());
+        assertEquals(List.of(oldest.getId()), second.stream().map(TrainingResponse::getId).toList());
+        assertEquals("Yoga", second.get(0).getTrainingType().getName());
+        assertEquals("First", second.get(0).getTraineeOrTrainerName());
+    }
+
+    private Training training(Trainee trainee, Trainer trainer, TrainingType type, String name, Date date) {
+        Training training = new Training();
+        training.setTrainee(trainee);
+        training.setTrainer(trainer);
+        training.setTrainingType(type);
+        training.setName(name);
+        training.setDate(date);
+        training.setDuration(60);
+        return entityManager.persist(training);
+    }
+
+    private static Date date(int year, int month, int day) {
+        return Date.from(LocalDate.of(year, month, day).atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+
+    private static User user(String username) {
+        User user = new User();
+        user.setFirstName("First");
+        user.setLastName("Last");
+        user.setUsername(username);
+        user.setPassword("password");
+        user.setIsActive(true);
+        return user;
+    }
+}
@@ -0,0 +1,54 @@
+package com.epam.taskgym.repository;
+
+import com.epam.taskgym.entity.OutboxStatus;
+import com.epam.taskgym.entity.WorkloadOutbox;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class WorkloadOutboxRepositoryTest {
+
+    @Autowired
+    private WorkloadOutboxRepository workloadOutboxRepository;
+
+    @Test
+    void givenParkedAndBackedOffEntries_whenFindDue_thenTheirTrainersAreHeldBack() {
+        // The column keeps microseconds, so a nanosecond now would round up past itself
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        workloadOutboxRepository.save(entry("trainer.parked", OutboxStatus.FAILED, now));
+        workloadOutboxRepository.save(entry("trainer.parked", OutboxStatus.PENDING, now));
+        workloadOutboxRepository.save(entry("trainer.backed.off", OutboxStatus.PENDING, now.plus(Duration.ofMinutes(1))));
+        workloadOutboxRepository.save(entry("trainer.backed.off", OutboxStatus.PENDING, now));
+        WorkloadOutbox due = workloadOutboxRepository.save(entry("trainer.due", OutboxStatus.PENDING, now));
+
+        List<WorkloadOutbox> found = workloadOutboxRepository.findDue(now, PageRequest.of(0, 10));
+
+        assertEquals(List.of(due.getId()), found.stream().map(WorkloadOutbox::getId).toList());
+    }
+
+    private static WorkloadOutbox entry(String trainer, OutboxStatus status, Instant nextAttemptAt) {
+        WorkloadOutbox entry = new WorkloadOutbox();
+        entry.setTrainerUsername(trainer);
+        entry.setTrainingDate(new Date());
+        entry.setDuration(60);
+        entry.setAction("ADD");
+        entry.setStatus(status);
+        entry.setCreatedAt(nextAttemptAt);
+        entry.setNextAttemptAt(nextAttemptAt);
+        return entry;
+    }
+}
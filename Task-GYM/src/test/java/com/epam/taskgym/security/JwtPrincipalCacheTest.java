@@ -0,0 +1,79 @@
+package com.epam.taskgym.security;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class JwtPrincipalCacheTest {
+
+    @Mock
+    private JwtDecoder jwtDecoder;
+    @Mock
+    private JwtToPrincipalConverter jwtToPrincipalConverter;
+    @Mock
+    private DecodedJWT decodedJWT;
+
+    private final AtomicLong nanos = new AtomicLong();
+    private JwtPrincipalCache jwtPrincipalCache;
+    private UserPrincipal principal;
+
+    @BeforeEach
+    void setUp() {
+        JwtProperties properties = new JwtProperties();
+        properties.setCacheMaxSize(100);
+        properties.setCacheTtl(Duration.ofMinutes(10));
+        Ticker ticker = nanos::get;
+        jwtPrincipalCache = new JwtPrincipalCache(jwtDecoder, jwtToPrincipalConverter, properties, ticker);
+        principal = UserPrincipal.builder().userId(1L).username("john.doe").authorities(List.of()).build();
+        given(jwtDecoder.decode("token")).willReturn(decodedJWT);
+        given(jwtToPrincipalConverter.convert(decodedJWT)).willReturn(principal);
+    }
+
+    @Test
+    void givenCachedToken_whenResolveAgain_thenTokenNotVerifiedTwice() {
+        given(decodedJWT.getExpiresAtAsInstant()).willReturn(Instant.now().plus(Duration.ofDays(1)));
+
+        assertSame(principal, jwtPrincipalCache.resolve("token"));
+        assertSame(principal, jwtPrincipalCache.resolve("token"));
+
+        verify(jwtDecoder, times(1)).decode("token");
+        verify(jwtToPrincipalConverter, times(1)).convert(decodedJWT);
+    }
+
+    @Test
+    void givenTokenExpiringBeforeTtl_whenExpClaimPassed_thenEntryEvicted() {
+        given(decodedJWT.getExpiresAtAsInstant()).willReturn(Instant.now().plus(Duration.ofSeconds(30)));
+
+        jwtPrincipalCache.resolve("token");
+        nanos.addAndGet(Duration.ofSeconds(31).toNanos());
+
+        assertEquals(0, jwtPrincipalCache.size());
+    }
+
+    @Test
+    void givenLongLivedToken_whenTtlPassed_thenEntryEvicted() {
+        given(decodedJWT.getExpiresAtAsInstant()).willReturn(Instant.now().plus(Duration.ofDays(1)));
+
+        jwtPrincipalCache.resolve("token");
+        nanos.addAndGet(Duration.ofMinutes(5).toNanos());
+        assertEquals(1, jwtPrincipalCache.size());
+        nanos.addAndGet(Duration.ofMinutes(6).toNanos());
+
+        assertEquals(0, jwtPrincipalCache.size());
+    }
+}
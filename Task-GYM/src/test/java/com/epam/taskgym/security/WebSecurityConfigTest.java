@@ -0,0 +1,36 @@
+package com.epam.taskgym.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WebSecurityConfigTest {
+
+    @Test
+    void givenOwnUsername_whenExport_thenGranted() {
+        assertTrue(decide("john.doe", "ROLE_TRAINEE", "john.doe"));
+    }
+
+    @Test
+    void givenOtherUsername_whenExport_thenDenied() {
+        assertFalse(decide("jane.roe", "ROLE_TRAINER", "john.doe"));
+    }
+
+    @Test
+    void givenAdmin_whenExportOtherUsername_thenGranted() {
+        assertTrue(decide("reporting", "ROLE_ADMIN", "john.doe"));
+    }
+
+    private static boolean decide(String caller, String role, String username) {
+        UserPrincipal principal = UserPrincipal.builder().userId(1L).username(caller)
+                .authorities(List.of(new SimpleGrantedAuthority(role))).build();
+        RequestAuthorizationContext context = new RequestAuthorizationContext(new MockHttpServletRequest(), Map.of("username", username));
+        return WebSecurityConfig.ownerOrAdmin().check(() -> new UserPrincipalAuthenticationToken(principal), context).isGranted();
+    }
+}
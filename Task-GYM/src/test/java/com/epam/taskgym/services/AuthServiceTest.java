@@ -0,0 +1,126 @@
+package com.epam.taskgym.services;
+
+import com.epam.taskgym.configuration.LoginExecutorConfig;
+import com.epam.taskgym.configuration.LoginExecutorProperties;
+import com.epam.taskgym.configuration.MdcTaskDecorator;
+import com.epam.taskgym.exception.LoginUnavailableException;
+import com.epam.taskgym.models.LoginResponse;
+import com.epam.taskgym.security.JwtIssuer;
+import com.epam.taskgym.security.UserPrincipal;
+import com.epam.taskgym.service.AuthService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AuthServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AuthenticationManager authenticationManager = mock(AuthenticationManager.class);
+    private final JwtIssuer jwtIssuer = mock(JwtIssuer.class);
+    private ThreadPoolTaskExecutor executor;
+    private AuthService authService;
+
+    @BeforeEach
+    void setUp() {
+        LoginExecutorProperties properties = new LoginExecutorProperties();
+        properties.setTimeout(Duration.ofSeconds(2));
+        properties.setThreads(1);
+        properties.setQueueCapacity(1);
+        executor = new LoginExecutorConfig().loginExecutor(properties, new MdcTaskDecorator());
+        executor.initialize();
+        authService = new AuthService(jwtIssuer, authenticationManager, executor, properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.getThreadPoolExecutor().shutdownNow();
+        MDC.clear();
+    }
+
+    @Test
+    void givenValidCredentials_whenAttemptLogin_thenTokenIssued() {
+        UserPrincipal principal = UserPrincipal.builder()
+                .userId(1L).username("john.doe").password("secret")
+                .authorities(List.of(new SimpleGrantedAuthority("ROLE_TRAINEE")))
+                .build();
+        when(authenticationManager.authenticate(any()))
+                .thenReturn(new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+        when(jwtIssuer.issue(1L, "john.doe", List.of("ROLE_TRAINEE"))).thenReturn("token");
+
+        LoginResponse response = authService.attemptLogin("john.doe", "secret");
+
+        assertEquals("token", response.getAccessToken());
+        assertEquals(1, meterRegistry.get("auth.login.verification").timer().count());
+    }
+
+    @Test
+    void givenTransactionIdInMdc_whenAttemptLogin_thenVerificationLogsUnderIt() throws Exception {
+        AtomicReference<String> seen = new AtomicReference<>();
+        when(authenticationManager.authenticate(any())).thenAnswer(invocation -> {
+            seen.set(MDC.get("transactionId"));
+            throw new BadCredentialsException("Bad credentials");
+        });
+        MDC.put("transactionId", "tx-1");
+
+        assertThrows(BadCredentialsException.class, () -> authService.attemptLogin("john.doe", "wrong"));
+
+        assertEquals("tx-1", seen.get());
+        MDC.clear();
+        executor.submit(() -> seen.set(MDC.get("transactionId"))).get();
+        assertNull(seen.get());
+    }
+
+    @Test
+    void givenBadCredentials_whenAttemptLogin_thenOriginalExceptionPropagated() {
+        when(authenticationManager.authenticate(any())).thenThrow(new BadCredentialsException("Bad credentials"));
+
+        assertThrows(BadCredentialsException.class, () -> authService.attemptLogin("john.doe", "wrong"));
+    }
+
+    @Test
+    void givenSaturatedExecutor_whenAttemptLogin_thenRejectedFast() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        executor.submit(() -> { release.await(); return null; });
+        executor.submit(() -> { release.await(); return null; });
+
+        try {
+            long start = System.nanoTime();
+            assertThrows(LoginUnavailableException.class, () -> authService.attemptLogin("john.doe", "secret"));
+            assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() < 1000);
+            assertEquals(1.0, meterRegistry.get("auth.login.rejected").tag("reason", "saturated").counter().count());
+            verifyNoInteractions(authenticationManager);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void givenSlowVerification_whenTimeoutElapses_thenServiceUnavailable() {
+        LoginExecutorProperties properties = new LoginExecutorProperties();
+        properties.setTimeout(Duration.ofMillis(50));
+        authService = new AuthService(jwtIssuer, authenticationManager, executor, properties, meterRegistry);
+        when(authenticationManager.authenticate(any())).thenAnswer(invocation -> {
+            Thread.sleep(5_000);
+            return null;
+        });
+
+        assertThrows(LoginUnavailableException.class, () -> authService.attemptLogin("john.doe", "secret"));
+        assertEquals(1.0, meterRegistry.get("auth.login.rejected").tag("reason", "timeout").counter().count());
+    }
+}
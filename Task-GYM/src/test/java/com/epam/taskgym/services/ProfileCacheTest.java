@@ -0,0 +1,117 @@
+package com.epam.taskgym.services;
+
+import com.epam.taskgym.configuration.ProfileCacheProperties;
+import com.epam.taskgym.exception.NotFoundException;
+import com.epam.taskgym.models.TraineeDTO;
+import com.epam.taskgym.models.TrainerDTO;
+import com.epam.taskgym.service.ProfileCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProfileCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger loads = new AtomicInteger();
+    private ProfileCache profileCache;
+
+    @BeforeEach
+    void setUp() {
+        profileCache = new ProfileCache(new ProfileCacheProperties(), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void givenCachedProfile_whenReadAgain_thenLoaderCalledOnce() {
+        TraineeDTO first = profileCache.trainee("john.doe", this::loadTrainee);
+        TraineeDTO second = profileCache.trainee("john.doe", this::loadTrainee);
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", ProfileCache.TRAINEE_CACHE_NAME).tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void givenEvictedProfile_whenRead_thenReloaded() {
+        profileCache.trainer("jane.roe", this::loadTrainer);
+        profileCache.evictTrainers(List.of("jane.roe"));
+        profileCache.trainer("jane.roe", this::loadTrainer);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void givenActiveTransaction_whenEvict_thenEvictedAgainAfterCompletion() {
+        TransactionSynchronizationManager.initSynchronization();
+        profileCache.evictTrainee("john.doe");
+        // A concurrent read repopulates the entry before the writer commits
+        profileCache.trainee("john.doe", this::loadTrainee);
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        profileCache.trainee("john.doe", this::loadTrainee);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void givenProfileStillLoading_whenEvict_thenDoesNotWaitAndLoadIsDiscarded() throws Exception {
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch connectionFree = new CountDownLatch(1);
+        CompletableFuture<TraineeDTO> reader = CompletableFuture.supplyAsync(() -> profileCache.trainee("john.doe", username -> {
+            loadStarted.countDown();
+            try {
+                connectionFree.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return loadTrainee(username);
+        }));
+        loadStarted.await();
+
+        // The writer holds the connection the load is waiting for
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> profileCache.evictTrainee("john.doe"));
+        connectionFree.countDown();
+        reader.get();
+        profileCache.trainee("john.doe", this::loadTrainee);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void givenLoadFails_whenRead_thenExceptionPropagatedAndNotCached() {
+        assertThrows(NotFoundException.class, () -> profileCache.trainee("john.doe", username -> {
+            throw new NotFoundException("Trainee with username {" + username + "} not found");
+        }));
+        profileCache.trainee("john.doe", this::loadTrainee);
+
+        assertEquals(1, loads.get());
+    }
+
+    private TraineeDTO loadTrainee(String username) {
+        loads.incrementAndGet();
+        return new TraineeDTO();
+    }
+
+    private TrainerDTO loadTrainer(String username) {
+        loads.incrementAndGet();
+        return new TrainerDTO();
+    }
+}
@@ -0,0 +1,164 @@
+package com.epam.taskgym.services;
+
+import com.epam.taskgym.configuration.ImportProperties;
+import com.epam.taskgym.entity.Trainee;
+import com.epam.taskgym.entity.Trainer;
+import com.epam.taskgym.entity.TrainingType;
+import com.epam.taskgym.entity.User;
+import com.epam.taskgym.exception.BadRequestException;
+import com.epam.taskgym.models.ImportFormat;
+import com.epam.taskgym.service.*;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class RegistrationImportServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final TraineeService traineeService = mock(TraineeService.class);
+    private final TrainerService trainerService = mock(TrainerService.class);
+    private final TrainingTypeService trainingTypeService = mock(TrainingTypeService.class);
+    private final UsernameAllocator usernameAllocator = mock(UsernameAllocator.class);
+    private final PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+    private ExecutorService executor;
+    private RegistrationImportService registrationImportService;
+
+    @BeforeEach
+    void setUp() {
+        ImportProperties properties = new ImportProperties();
+        properties.setChunkSize(2);
+        executor = Executors.newFixedThreadPool(2);
+        when(passwordEncoder.encode(anyString())).thenAnswer(invocation -> "{hashed}" + invocation.getArgument(0));
+        when(usernameAllocator.allocateAll(anyList())).thenAnswer(invocation -> new ArrayList<>(invocation.<List<String>>getArgument(0)));
+        registrationImportService = new RegistrationImportService(traineeService, trainerService, trainingTypeService,
+                usernameAllocator, passwordEncoder, executor, new ImportPipeline(properties, objectMapper));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void givenCsvWithInvalidRow_whenImportTrainees_thenOtherRowsSavedInChunks() throws Exception {
+        String csv = """
+                firstName,lastName,dateOfBirth,address
+                John,Doe,1990-05-01,"12 Main St, Springfield"
+                ,Roe,,
+                Max,Muster,not-a-date,
+                Ana,Lee,,
+                """;
+        StringWriter writer = new StringWriter();
+
+        long created = registrationImportService.importTrainees(new StringReader(csv), ImportFormat.CSV, writer);
+
+        List<JsonNode> results = results(writer);
+        assertEquals(2, created);
+        assertEquals(4, results.size());
+        assertEquals("john.doe", results.get(0).get("username").asText());
+        assertEquals(10, results.get(0).get("password").asText().length());
+        assertTrue(results.get(1).has("error"));
+        assertEquals(3, results.get(2).get("row").asInt());
+        assertEquals("Invalid date format {YYYY-MM-DD}", results.get(2).get("error").asText());
+        assertEquals("ana.lee", results.get(3).get("username").asText());
+
+        ArgumentCaptor<List<User>> users = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<List<Trainee>> trainees = ArgumentCaptor.forClass(List.class);
+        verify(traineeService, times(2)).saveTrainees(users.capture(), trainees.capture());
+        User john = users.getAllValues().get(0).get(0);
+        assertEquals("{hashed}" + results.get(0).get("password").asText(), john.getPassword());
+        assertEquals("ROLE_TRAINEE", john.getRole());
+        assertEquals("12 Main St, Springfield", trainees.getAllValues().get(0).get(0).getAddress());
+        assertSame(john, trainees.getAllValues().get(0).get(0).getUser());
+    }
+
+    @Test
+    void givenJsonWithUnknownSpecialization_whenImportTrainers_thenRowFailsAndOthersSaved() throws Exception {
+        TrainingType yoga = new TrainingType();
+        yoga.setName("Yoga");
+        when(trainingTypeService.getAllTrainingTypes()).thenReturn(List.of(yoga));
+        String json = """
+                [{"firstName":"John","lastName":"Doe","specialization":"Yoga"},
+                 {"firstName":"Jane","lastName":"Roe","specialization":"Boxing"},
+                 {"firstName":"Max","lastName":"Muster","specialization":["Yoga"]}]
+                """;
+        StringWriter writer = new StringWriter();
+
+        long created = registrationImportService.importTrainers(new StringReader(json), ImportFormat.JSON, writer);
+
+        List<JsonNode> results = results(writer);
+        assertEquals(1, created);
+        assertEquals("john.doe", results.get(0).get("username").asText());
+        assertEquals("Training type with name {Boxing} not found", results.get(1).get("error").asText());
+        assertTrue(results.get(2).get("error").asText().startsWith("Invalid row"));
+        ArgumentCaptor<List<Trainer>> trainers = ArgumentCaptor.forClass(List.class);
+        verify(trainerService).saveTrainers(anyList(), trainers.capture());
+        assertSame(yoga, trainers.getValue().get(0).getSpecialization());
+    }
+
+    @Test
+    void givenSaveFails_whenImportTrainees_thenOnlyThatChunkReportsErrors() throws Exception {
+        doThrow(new DataIntegrityViolationException("duplicate username"))
+                .doNothing()
+                .when(traineeService).saveTrainees(anyList(), anyList());
+        String json = """
+                [{"firstName":"A","lastName":"One"},{"firstName":"B","lastName":"Two"},{"firstName":"C","lastName":"Three"}]
+                """;
+        StringWriter writer = new StringWriter();
+
+        long created = registrationImportService.importTrainees(new StringReader(json), ImportFormat.JSON, writer);
+
+        List<JsonNode> results = results(writer);
+        assertEquals(1, created);
+        assertEquals("Registration failed: duplicate username", results.get(0).get("error").asText());
+        assertEquals("Registration failed: duplicate username", results.get(1).get("error").asText());
+        assertEquals("c.three", results.get(2).get("username").asText());
+    }
+
+    @Test
+    void givenTruncatedJson_whenImportTrainees_thenImportedRowsKeptAndErrorReported() throws Exception {
+        String json = "[{\"firstName\":\"A\",\"lastName\":\"One\"},{\"firstName\":";
+        StringWriter writer = new StringWriter();
+
+        long created = registrationImportService.importTrainees(new StringReader(json), ImportFormat.JSON, writer);
+
+        List<JsonNode> results = results(writer);
+        assertEquals(1, created);
+        assertEquals(2, results.get(1).get("row").asInt());
+        assertTrue(results.get(1).get("error").asText().startsWith("Unreadable input"));
+    }
+
+    @Test
+    void givenCsvWithoutNameColumns_whenImportTrainees_thenBadRequestBeforeAnyOutput() {
+        StringWriter writer = new StringWriter();
+
+        assertThrows(BadRequestException.class, () ->
+                registrationImportService.importTrainees(new StringReader("name,address\nJohn,Main St\n"), ImportFormat.CSV, writer));
+        assertEquals("", writer.toString());
+        verifyNoInteractions(usernameAllocator);
+    }
+
+    private List<JsonNode> results(StringWriter writer) throws Exception {
+        List<JsonNode> results = new ArrayList<>();
+        for (String line : writer.toString().split("\n")) {
+            results.add(objectMapper.readTree(line));
+        }
+        return results;
+    }
+}
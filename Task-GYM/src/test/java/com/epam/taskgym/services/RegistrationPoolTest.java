@@ -0,0 +1,67 @@
+package com.epam.taskgym.services;
+
+import com.epam.taskgym.models.RegisterResponse;
+import com.epam.taskgym.models.TraineeDTO;
+import com.epam.taskgym.repository.TraineeRepository;
+import com.epam.taskgym.service.TraineeService;
+import com.epam.taskgym.service.WorkloadOutboxService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// A registration that needed a second connection while holding one would starve this pool and time out
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.datasource.hikari.maximum-pool-size=2",
+        "spring.datasource.hikari.connection-timeout=2000"
+})
+class RegistrationPoolTest {
+    private static final int REGISTRATIONS = 16;
+    private static final int THREADS = 8;
+
+    @Autowired
+    private TraineeService traineeService;
+    @Autowired
+    private TraineeRepository traineeRepository;
+    @MockBean
+    private WorkloadOutboxService workloadOutboxService;
+
+    @Test
+    void givenMoreConcurrentRegistrationsThanConnections_whenRegisterTrainee_thenAllSucceedWithUniqueUsernames() throws Exception {
+        long before = traineeRepository.count();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<RegisterResponse>> registrations = new ArrayList<>();
+        for (int i = 0; i < REGISTRATIONS; i++) {
+            registrations.add(executor.submit(() -> {
+                start.await();
+                TraineeDTO traineeDTO = new TraineeDTO();
+                traineeDTO.setFirstName("Pool");
+                traineeDTO.setLastName("Member");
+                return traineeService.registerTrainee(traineeDTO);
+            }));
+        }
+        start.countDown();
+        Set<String> usernames = new HashSet<>();
+        for (Future<RegisterResponse> registration : registrations) {
+            usernames.add(registration.get(60, TimeUnit.SECONDS).getUsername());
+        }
+        executor.shutdown();
+
+        assertEquals(REGISTRATIONS, usernames.size());
+        assertEquals(before + REGISTRATIONS, traineeRepository.count());
+    }
+}
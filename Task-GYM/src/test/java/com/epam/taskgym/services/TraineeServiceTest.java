@@ -15,6 +15,7 @@ import com.epam.taskgym.repository.TrainerRepository;
 import com.epam.taskgym.repository.TrainingRepository;
 import com.epam.taskgym.service.TraineeService;
 import com.epam.taskgym.service.UserService;
+import com.epam.taskgym.service.ProfileCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -42,6 +43,8 @@ class TraineeServiceTest {
     TrainingRepository trainingRepository;
     @Mock
     TrainerRepository trainerRepository;
+    @Mock
+    ProfileCache profileCache;
 
     User user;
     Trainee trainee;
@@ -56,7 +59,7 @@ class TraineeServiceTest {
 
         trainee = new Trainee();
         trainee.setUser(user);
-        trainee.setTrainers(new ArrayList<>());
+        trainee.setTrainers(new HashSet<>());
     }
 
     @Test
@@ -95,7 +98,7 @@ class TraineeServiceTest {
 
         UserResponse userResponse = new UserResponse(user, "password");
 
-        given(userService.createUser(traineeDTO.getFirstName(), traineeDTO.getLastName(), "ROLE_TRAINEE"))
+        given(userService.newUser(traineeDTO.getFirstName(), traineeDTO.getLastName(), "ROLE_TRAINEE"))
         .willReturn(userResponse);
 
         Trainee trainee = new Trainee();
@@ -107,7 +110,7 @@ class TraineeServiceTest {
 
         assertEquals(user.getUsername(), registerResponse.getUsername());
         verify(traineeRepository).save(any(Trainee.class));
-        verify(userService).createUser(traineeDTO.getFirstName(), traineeDTO.getLastName(), "ROLE_TRAINEE");
+        verify(userService).newUser(traineeDTO.getFirstName(), traineeDTO.getLastName(), "ROLE_TRAINEE");
     }
 
     @Test
@@ -115,7 +118,7 @@ class TraineeServiceTest {
         TraineeDTO traineeDTO = new TraineeDTO();
         traineeDTO.setFirstName("UpdatedJohn");
         traineeDTO.setLastName("UpdatedDoe");
-        given(traineeRepository.findByUserUsername(user.getUsername())).willReturn(Optional.of(trainee));
+        given(traineeRepository.findProfileByUserUsername(user.getUsername())).willReturn(Optional.of(trainee));
         given(userService.updateUser(traineeDTO.getFirstName(), traineeDTO.getLastName(), trainee.getUser())).willReturn(user);
         user.setFirstName("UpdatedJohn");
         user.setLastName("UpdatedDoe");
@@ -131,7 +134,7 @@ class TraineeServiceTest {
         TraineeDTO traineeDTO = new TraineeDTO();
         traineeDTO.setFirstName("UpdatedJohn");
         traineeDTO.setLastName("UpdatedDoe");
-        given(traineeRepository.findByUserUsername("unknown.username")).willReturn(Optional.empty());
+        given(traineeRepository.findProfileByUserUsername("unknown.username")).willReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> traineeService.updateTrainee(traineeDTO, "unknown.username"));
     }
@@ -167,7 +170,7 @@ class TraineeServiceTest {
         // Given
         String username = "john.doe";
         boolean isActive = false;
-        given(traineeRepository.findByUserUsername(username)).willReturn(Optional.of(trainee));
+        given(traineeRepository.findProfileByUserUsername(username)).willReturn(Optional.of(trainee));
         given(userService.saveUser(user)).willReturn(user);
 
         // When
@@ -175,7 +178,7 @@ class TraineeServiceTest {
 
         // Then
         assertFalse(result.getIsActive());
-        verify(traineeRepository).findByUserUsername(username);
+        verify(traineeRepository).findProfileByUserUsername(username);
         verify(userService).saveUser(user);
     }
 
@@ -184,7 +187,7 @@ class TraineeServiceTest {
         // Given
         String username = "unknown.username";
         boolean isActive = true;
-        given(traineeRepository.findByUserUsername(username)).willReturn(Optional.empty());
+        given(traineeRepository.findProfileByUserUsername(username)).willReturn(Optional.empty());
 
         // When & Then
         assertThrows(NotFoundException.class, () -> traineeService.ActivateDeactivateTrainee(username, isActive));
@@ -199,13 +202,13 @@ class TraineeServiceTest {
         TrainingType trainingType = new TrainingType();
         trainingType.setName("Training");
         Trainer trainer = new Trainer();
-        trainer.setTrainees(new ArrayList<>());
+        trainer.setTrainees(new HashSet<>());
         trainer.setSpecialization(trainingType);
         User trainerUser = new User();
         trainerUser.setUsername(trainerUsername);
         trainer.setUser(trainerUser);
-        given(traineeRepository.findByUserUsername(username)).willReturn(Optional.of(trainee));
-        given(trainerRepository.findByUserUsername(trainerUsername)).willReturn(Optional.of(trainer));
+        given(traineeRepository.findProfileByUserUsername(username)).willReturn(Optional.of(trainee));
+        given(trainerRepository.findWithSpecializationByUserUsernameIn(Set.of(trainerUsername))).willReturn(List.of(trainer));
 
         // When
         List<TrainerListItem> result = traineeService.updateTrainersList(username, trainersUsernames);
@@ -213,8 +216,62 @@ class TraineeServiceTest {
 
         // Then
         assertEquals(expected.size(), result.size());
-        verify(traineeRepository).findByUserUsername(username);
-        verify(trainerRepository).findByUserUsername(trainerUsername);
+        assertEquals(Set.of(trainer), trainee.getTrainers());
+        verify(traineeRepository).findProfileByUserUsername(username);
+        verify(traineeRepository).save(trainee);
+        verify(profileCache).evictTrainee(username);
+        verify(profileCache).evictTrainers(Set.of(trainerUsername));
+    }
+
+    @Test
+    public void givenSomeTrainersAlreadyAssigned_whenUpdateTrainersList_thenOnlyNewTrainersLookedUp() {
+        // Given
+        Trainer assigned = trainer("assigned.trainer");
+        Trainer added = trainer("added.trainer");
+        trainee.getTrainers().add(assigned);
+        given(traineeRepository.findProfileByUserUsername("john.doe")).willReturn(Optional.of(trainee));
+        given(trainerRepository.findWithSpecializationByUserUsernameIn(Set.of("added.trainer"))).willReturn(List.of(added));
+
+        // When
+        List<TrainerListItem> result = traineeService.updateTrainersList("john.doe",
+                List.of("assigned.trainer", "added.trainer", "added.trainer"));
+
+        // Then
+        assertEquals(List.of("added.trainer", "assigned.trainer"), result.stream().map(TrainerListItem::getUsername).toList());
+        verify(profileCache).evictTrainers(Set.of("added.trainer"));
+        verify(trainerRepository, never()).findByUserUsername(any());
+    }
+
+    @Test
+    public void givenAllTrainersAlreadyAssigned_whenUpdateTrainersList_thenNothingWritten() {
+        // Given
+        trainee.getTrainers().add(trainer("assigned.trainer"));
+        given(traineeRepository.findProfileByUserUsername("john.doe")).willReturn(Optional.of(trainee));
+
+        // When
+        List<TrainerListItem> result = traineeService.updateTrainersList("john.doe", List.of("assigned.trainer"));
+
+        // Then
+        assertEquals(1, result.size());
+        verifyNoInteractions(trainerRepository, profileCache);
+        verify(traineeRepository, never()).save(any());
+    }
+
+    @Test
+    public void givenUnknownTrainers_whenUpdateTrainersList_thenAllReportedInOneError() {
+        // Given
+        given(traineeRepository.findProfileByUserUsername("john.doe")).willReturn(Optional.of(trainee));
+        given(trainerRepository.findWithSpecializationByUserUsernameIn(Set.of("known.trainer", "ghost.one", "ghost.two")))
+                .willReturn(List.of(trainer("known.trainer")));
+
+        // When
+        NotFoundException exception = assertThrows(NotFoundException.class, () -> traineeService.updateTrainersList("john.doe",
+                List.of("ghost.one", "known.trainer", "ghost.two")));
+
+        // Then
+        assertEquals("Trainers with usernames {ghost.one, ghost.two} not found", exception.getMessage());
+        assertTrue(trainee.getTrainers().isEmpty());
+        verify(traineeRepository, never()).save(any());
     }
 
     @Test
@@ -222,9 +279,20 @@ class TraineeServiceTest {
         // Given
         String username = "unknown.username";
         List<String> trainerUsernames = Collections.singletonList("trainer.username");
-        given(traineeRepository.findByUserUsername(username)).willReturn(Optional.empty());
+        given(traineeRepository.findProfileByUserUsername(username)).willReturn(Optional.empty());
 
         // When & Then
         assertThrows(NotFoundException.class, () -> traineeService.updateTrainersList(username, trainerUsernames));
     }
+
+    private static Trainer trainer(String username) {
+        TrainingType trainingType = new TrainingType();
+        trainingType.setName("Training");
+        User trainerUser = new User();
+        trainerUser.setUsername(username);
+        Trainer trainer = new Trainer();
+        trainer.setUser(trainerUser);
+        trainer.setSpecialization(trainingType);
+        return trainer;
+    }
 }
@@ -11,15 +11,18 @@ import com.epam.taskgym.repository.TrainingRepository;
 import com.epam.taskgym.service.TrainerService;
 import com.epam.taskgym.service.TrainingTypeService;
 import com.epam.taskgym.service.UserService;
+import com.epam.taskgym.exception.BadRequestException;
 import com.epam.taskgym.exception.NotFoundException;
+import com.epam.taskgym.service.ProfileCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 
-import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -27,6 +30,7 @@ import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
@@ -42,6 +46,8 @@ class TrainerServiceTest {
     private TrainingTypeService trainingTypeService;
     @Mock
     private TrainingRepository trainingRepository;
+    @Mock
+    private ProfileCache profileCache;
 
     private Trainer trainer;
     private User user;
@@ -61,7 +67,7 @@ class TrainerServiceTest {
         trainer = new Trainer();
         trainer.setUser(user);
         trainer.setSpecialization(trainingType);
-        trainer.setTrainees(new ArrayList<>());
+        trainer.setTrainees(new HashSet<>());
     }
 
     @Test
@@ -88,7 +94,7 @@ class TrainerServiceTest {
         trainerDTO.setLastName("Doe");
         trainerDTO.setSpecialization("TrainingType1");
 
-        given(userService.createUser(trainerDTO.getFirstName(), trainerDTO.getLastName(), "ROLE_TRAINER"))
+        given(userService.newUser(trainerDTO.getFirstName(), trainerDTO.getLastName(), "ROLE_TRAINER"))
                 .willReturn(new UserResponse(user, user.getPassword()));
         given(trainingTypeService.getTrainingTypeByName(trainerDTO.getSpecialization())).willReturn(trainingType);
 
@@ -111,7 +117,7 @@ class TrainerServiceTest {
         trainerDTO.setLastName("UpdatedDoe");
         trainerDTO.setSpecialization("UpdatedSpecialization");
 
-        given(trainerRepository.findByUserUsername(user.getUsername())).willReturn(Optional.of(trainer));
+        given(trainerRepository.findProfileByUserUsername(user.getUsername())).willReturn(Optional.of(trainer));
         given(userService.updateUser(trainerDTO.getFirstName(), trainerDTO.getLastName(), trainer.getUser())).willReturn(user);
         given(trainingTypeService.getTrainingTypeByName(trainerDTO.getSpecialization())).willReturn(trainingType);
         user.setFirstName(trainerDTO.getFirstName());
@@ -130,7 +136,7 @@ class TrainerServiceTest {
         // Given
         String username = "john.doe";
         boolean isActive = false;
-        given(trainerRepository.findByUserUsername(username)).willReturn(Optional.of(trainer));
+        given(trainerRepository.findProfileByUserUsername(username)).willReturn(Optional.of(trainer));
         given(userService.saveUser(user)).willReturn(user);
 
         // When
@@ -138,7 +144,7 @@ class TrainerServiceTest {
 
         // Then
         assertFalse(result.isActive());
-        verify(trainerRepository).findByUserUsername(username);
+        verify(trainerRepository).findProfileByUserUsername(username);
         verify(userService).saveUser(user);
     }
 
@@ -147,7 +153,7 @@ class TrainerServiceTest {
         // Given
         String username = "unknown.username";
         boolean isActive = true;
-        given(trainerRepository.findByUserUsername(username)).willReturn(Optional.empty());
+        given(trainerRepository.findProfileByUserUsername(username)).willReturn(Optional.empty());
 
         // When & Then
         assertThrows(NotFoundException.class, () -> trainerService.ActivateDeactivateTrainer(username, isActive));
@@ -157,37 +163,20 @@ class TrainerServiceTest {
     public void givenTraineeUsername_whenGetUnassignedTrainers_thenReturnTrainersNotAssignedForTrainee() {
         // Given
         String traineeUsername = "john.doe";
-        User trainerUser = new User();
-        trainerUser.setFirstName("John");
-        trainerUser.setLastName("Doe");
-
-        TrainingType trainingType = new TrainingType();
-        trainingType.setName("SampleTraining");
-
-        Trainer trainer1 = new Trainer();
-        trainer1.setUser(trainerUser);
-        trainer1.setSpecialization(trainingType);
-
-        Trainer trainer2 = new Trainer();
-        trainer2.setUser(trainerUser);
-        trainer2.setSpecialization(trainingType);
-
-        Trainer trainer3 = new Trainer();
-        trainer3.setUser(trainerUser);
-        trainer3.setSpecialization(trainingType);
-
-        List<Trainer> allTrainers = Arrays.asList(trainer1, trainer2, trainer3);
-        List<Trainer> assignedTrainers = Arrays.asList(trainer1, trainer2);
-
-        given(trainerRepository.findAll()).willAnswer(invocation -> new ArrayList<>(allTrainers));
-        given(trainingRepository.findAllTrainersByTraineeUsername(traineeUsername)).willReturn(assignedTrainers);
+        List<TrainerListItem> page = List.of(new TrainerListItem("jane.roe", "Jane", "Roe", "SampleTraining"));
+        given(trainerRepository.findActiveTrainersNotAssignedTo(traineeUsername, "a.trainer", PageRequest.of(0, 10))).willReturn(page);
 
         // When
-        List<TrainerListItem> result = trainerService.getUnassignedTrainers(traineeUsername);
+        List<TrainerListItem> result = trainerService.getUnassignedTrainers(traineeUsername, "a.trainer", 10);
 
         // Then
-        assertEquals(1, result.size());
-        verify(trainerRepository).findAll();
-        verify(trainingRepository).findAllTrainersByTraineeUsername(traineeUsername);
+        assertEquals(page, result);
+        verify(trainerRepository, never()).findAll();
+    }
+
+    @Test
+    public void givenOversizedPage_whenGetUnassignedTrainers_thenThrowBadRequest() {
+        assertThrows(BadRequestException.class,
+                () -> trainerService.getUnassignedTrainers("john.doe", null, TrainerService.MAX_PAGE_SIZE + 1));
     }
 }
@@ -0,0 +1,116 @@
+package com.epam.taskgym.services;
+
+import com.epam.taskgym.configuration.ExportProperties;
+import com.epam.taskgym.entity.*;
+import com.epam.taskgym.models.ExportFormat;
+import com.epam.taskgym.service.TrainingExportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.StringWriter;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.HashSet;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({TrainingExportService.class, ExportProperties.class, JacksonAutoConfiguration.class})
+@TestPropertySource(properties = "export.fetch-size=1")
+class TrainingExportServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private TrainingExportService trainingExportService;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Long firstId;
+
+    @BeforeEach
+    void setUp() {
+        TrainingType yoga = new TrainingType();
+        yoga.setName("Yoga");
+        entityManager.persist(yoga);
+        Trainee trainee = new Trainee();
+        trainee.setUser(entityManager.persist(user("trainee.one")));
+        trainee.setTrainers(new HashSet<>());
+        entityManager.persist(trainee);
+        Trainer trainer = new Trainer();
+        trainer.setUser(entityManager.persist(user("trainer.one")));
+        trainer.setSpecialization(yoga);
+        trainer.setTrainees(new HashSet<>());
+        entityManager.persist(trainer);
+        firstId = training(trainee, trainer, yoga, "Morning, outdoors").getId();
+        training(trainee, trainer, yoga, "Evening");
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void givenTrainings_whenExportTraineeTrainingsAsCsv_thenHeaderAndEscapedRowsWritten() {
+        StringWriter writer = new StringWriter();
+
+        long count = trainingExportService.exportTraineeTrainings("trainee.one", ExportFormat.CSV, writer);
+
+        String[] lines = writer.toString().split("\n");
+        assertEquals(2, count);
+        assertEquals(3, lines.length);
+        assertEquals("id,date,name,trainingType,duration,traineeUsername,trainerUsername", lines[0]);
+        assertEquals(firstId + ",2024-03-01,\"Morning, outdoors\",Yoga,60,trainee.one,trainer.one", lines[1]);
+    }
+
+    @Test
+    void givenTrainings_whenExportAllTrainingsAsNdjson_thenOneJsonObjectPerLine() throws Exception {
+        StringWriter writer = new StringWriter();
+
+        long count = trainingExportService.exportAllTrainings(ExportFormat.NDJSON, writer);
+
+        String[] lines = writer.toString().split("\n");
+        assertEquals(2, count);
+        assertEquals("Evening", objectMapper.readTree(lines[1]).get("name").asText());
+        assertEquals("trainer.one", objectMapper.readTree(lines[0]).get("trainerUsername").asText());
+    }
+
+    @Test
+    void givenUnknownTrainer_whenExportTrainerTrainings_thenNothingWritten() {
+        StringWriter writer = new StringWriter();
+
+        assertEquals(0, trainingExportService.exportTrainerTrainings("nobody", ExportFormat.NDJSON, writer));
+        assertEquals("", writer.toString());
+    }
+
+    private Training training(Trainee trainee, Trainer trainer, TrainingType type, String name) {
+        Training training = new Training();
+        training.setTrainee(trainee);
+        training.setTrainer(trainer);
+        training.setTrainingType(type);
+        training.setName(name);
+        training.setDate(Date.from(LocalDate.of(2024, 3, 1).atStartOfDay(ZoneId.systemDefault()).toInstant()));
+        training.setDuration(60);
+        return entityManager.persist(training);
+    }
+
+    private static User user(String username) {
+        User user = new User();
+        user.setFirstName("First");
+        user.setLastName("Last");
+        user.setUsername(username);
+        user.setPassword("password");
+        user.setIsActive(true);
+        return user;
+    }
+}
@@ -0,0 +1,91 @@
+package com.epam.taskgym.services;
+
+import com.epam.taskgym.configuration.ImportProperties;
+import com.epam.taskgym.models.ImportFormat;
+import com.epam.taskgym.models.TrainingDTO;
+import com.epam.taskgym.service.ImportPipeline;
+import com.epam.taskgym.service.TrainingImportService;
+import com.epam.taskgym.service.TrainingService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class TrainingImportServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final TrainingService trainingService = mock(TrainingService.class);
+    private TrainingImportService trainingImportService;
+
+    @BeforeEach
+    void setUp() {
+        ImportProperties properties = new ImportProperties();
+        properties.setChunkSize(3);
+        trainingImportService = new TrainingImportService(trainingService, new ImportPipeline(properties, objectMapper));
+    }
+
+    @Test
+    void givenCsvWithInvalidRows_whenImportTrainings_thenValidRowsCreatedPerChunk() throws Exception {
+        when(trainingService.createTrainings(anyList()))
+                .thenReturn(Arrays.asList(null, "Trainer with username {ghost} not found"))
+                .thenReturn(Arrays.asList((String) null));
+        String csv = """
+                traineeUsername,trainerUsername,date,duration,name
+                john.doe,jane.roe,2024-03-02,60,Morning run
+                john.doe,ghost,2024-03-03,45,Stretching
+                john.doe,jane.roe,2024-03-04,ten,Broken
+                john.doe,jane.roe,2024-03-05,30,"Yoga, advanced"
+                """;
+        StringWriter writer = new StringWriter();
+
+        long imported = trainingImportService.importTrainings(new StringReader(csv), ImportFormat.CSV, writer);
+
+        List<JsonNode> results = results(writer);
+        assertEquals(2, imported);
+        assertFalse(results.get(0).has("error"));
+        assertEquals("Trainer with username {ghost} not found", results.get(1).get("error").asText());
+        assertEquals("Duration must be a number", results.get(2).get("error").asText());
+        assertFalse(results.get(3).has("error"));
+        ArgumentCaptor<List<TrainingDTO>> chunks = ArgumentCaptor.forClass(List.class);
+        verify(trainingService, times(2)).createTrainings(chunks.capture());
+        assertEquals(2, chunks.getAllValues().get(0).size());
+        assertEquals("Yoga, advanced", chunks.getAllValues().get(1).get(0).getName());
+    }
+
+    @Test
+    void givenCreateFails_whenImportTrainings_thenChunkRowsReportError() throws Exception {
+        when(trainingService.createTrainings(anyList())).thenThrow(new QueryTimeoutException("lock wait timeout"));
+        String json = """
+                [{"traineeUsername":"john.doe","trainerUsername":"jane.roe","date":"2024-03-02","duration":60,"name":"Run"},
+                 {"traineeUsername":"john.doe","trainerUsername":"jane.roe","duration":60,"name":"No date"}]
+                """;
+        StringWriter writer = new StringWriter();
+
+        long imported = trainingImportService.importTrainings(new StringReader(json), ImportFormat.JSON, writer);
+
+        List<JsonNode> results = results(writer);
+        assertEquals(0, imported);
+        assertEquals("Import failed: lock wait timeout", results.get(0).get("error").asText());
+        assertTrue(results.get(1).get("error").asText().contains("required"));
+    }
+
+    private List<JsonNode> results(StringWriter writer) throws Exception {
+        List<JsonNode> results = new ArrayList<>();
+        for (String line : writer.toString().split("\n")) {
+            results.add(objectMapper.readTree(line));
+        }
+        return results;
+    }
+}
@@ -1,21 +1,32 @@
 package com.epam.taskgym.services;
 
-import com.epam.taskgym.client.MicroserviceClient;
 import com.epam.taskgym.models.TrainingDTO;
+import com.epam.taskgym.exception.BadRequestException;
+import com.epam.taskgym.helpers.TrainingCursor;
 import com.epam.taskgym.models.TrainingFilteredDTO;
+import com.epam.taskgym.models.TrainingPage;
 import com.epam.taskgym.models.TrainingResponse;
 import com.epam.taskgym.entity.*;
+import com.epam.taskgym.models.TrainingRequest;
+import com.epam.taskgym.repository.TraineeRepository;
+import com.epam.taskgym.repository.TrainerRepository;
 import com.epam.taskgym.repository.TrainingRepository;
 import com.epam.taskgym.service.TraineeService;
 import com.epam.taskgym.service.TrainerService;
 import com.epam.taskgym.service.TrainingService;
+import com.epam.taskgym.service.WorkloadOutboxService;
+import com.epam.taskgym.service.ProfileCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -35,7 +46,13 @@ class TrainingServiceTest {
     @Mock
     private TrainerService trainerService;
     @Mock
-    private MicroserviceClient microserviceClient;
+    private WorkloadOutboxService workloadOutboxService;
+    @Mock
+    private ProfileCache profileCache;
+    @Mock
+    private TraineeRepository traineeRepository;
+    @Mock
+    private TrainerRepository trainerRepository;
 
     Trainee trainee;
     Trainer trainer;
@@ -49,8 +66,8 @@ class TrainingServiceTest {
         trainer = new Trainer();
         trainee.setUser(new User());
         trainer.setUser(new User());
-        trainee.setTrainers(new ArrayList<>());
-        trainer.setTrainees(new ArrayList<>());
+        trainee.setTrainers(new HashSet<>());
+        trainer.setTrainees(new HashSet<>());
         trainer.setSpecialization(new TrainingType());
         trainingType = new TrainingType();
         date = new Date();
@@ -82,6 +99,7 @@ class TrainingServiceTest {
         verify(traineeService, times(1)).getTraineeByUsername(any());
         verify(trainerService, times(1)).getTrainerByUsername(any());
         verify(trainingRepository, times(1)).save(any(Training.class));
+        verify(workloadOutboxService, times(1)).enqueue(any());
     }
 
     @Test
@@ -90,10 +108,88 @@ class TrainingServiceTest {
         TrainingFilteredDTO trainingFilteredDTO = new TrainingFilteredDTO();
         trainingFilteredDTO.setUsername(username);
 
-        when(trainingRepository.getTraineeFilteredTrainings(username, null,null,null,null)).thenReturn(new ArrayList<>());
+        when(trainingRepository.getTraineeFilteredTrainings(username, null, null, null, null, null, null,
+                PageRequest.of(0, TrainingService.DEFAULT_PAGE_SIZE + 1))).thenReturn(new ArrayList<>());
+
+        TrainingPage result = trainingService.getTraineeTrainingsFiltered(trainingFilteredDTO);
+
+        assertEquals(0, result.getTrainings().size());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void givenMoreRowsThanPageSize_whenGetTrainerTrainings_thenNextCursorPointsAtLastRow() {
+        TrainingFilteredDTO trainingFilteredDTO = new TrainingFilteredDTO();
+        trainingFilteredDTO.setUsername("trainer");
+        trainingFilteredDTO.setSize(2);
+        Date date = new Date(1_700_000_000_000L);
+        List<TrainingResponse> rows = List.of(
+                new TrainingResponse(3L, "c", date, 1L, "Yoga", 60, "John"),
+                new TrainingResponse(2L, "b", date, 1L, "Yoga", 60, "John"),
+                new TrainingResponse(1L, "a", date, 1L, "Yoga", 60, "John"));
+        when(trainingRepository.getTrainerFilteredTrainings("trainer", null, null, null, null, null, PageRequest.of(0, 3))).thenReturn(rows);
+
+        TrainingPage result = trainingService.getTrainerTrainingsFiltered(trainingFilteredDTO);
+
+        assertEquals(2, result.getTrainings().size());
+        TrainingCursor cursor = TrainingCursor.decode(result.getNextCursor());
+        assertEquals(date, cursor.date());
+        assertEquals(2L, cursor.id());
+    }
+
+    @Test
+    void givenMalformedCursor_whenGetTraineeTrainings_thenThrowBadRequest() {
+        TrainingFilteredDTO trainingFilteredDTO = new TrainingFilteredDTO();
+        trainingFilteredDTO.setUsername("username");
+        trainingFilteredDTO.setCursor("not-a-cursor");
+
+        assertThrows(BadRequestException.class, () -> trainingService.getTraineeTrainingsFiltered(trainingFilteredDTO));
+    }
+
+    @Test
+    void givenRepeatedPairsAndMonths_whenCreateTrainings_thenLinkedOnceAndWorkloadAggregated() {
+        trainee.getUser().setUsername("trainee");
+        trainer.getUser().setUsername("trainer");
+        when(traineeRepository.findAllByUserUsernameIn(Set.of("trainee"))).thenReturn(List.of(trainee));
+        when(trainerRepository.findAllByUserUsernameIn(Set.of("trainer", "ghost"))).thenReturn(List.of(trainer));
+
+        List<String> errors = trainingService.createTrainings(List.of(
+                new TrainingDTO("trainee", "trainer", day(2024, 3, 2), 30, "Monday"),
+                new TrainingDTO("trainee", "trainer", day(2024, 3, 20), 45, "Wednesday"),
+                new TrainingDTO("trainee", "ghost", day(2024, 3, 21), 60, "Thursday"),
+                new TrainingDTO("trainee", "trainer", day(2024, 4, 1), 15, "Friday")));
+
+        assertEquals(Arrays.asList(null, null, "Trainer with username {ghost} not found", null), errors);
+        assertEquals(Set.of(trainer), trainee.getTrainers());
+        assertEquals(Set.of(trainee), trainer.getTrainees());
+        ArgumentCaptor<List<Training>> trainings = ArgumentCaptor.forClass(List.class);
+        verify(trainingRepository).saveAll(trainings.capture());
+        assertEquals(3, trainings.getValue().size());
+        ArgumentCaptor<TrainingRequest> requests = ArgumentCaptor.forClass(TrainingRequest.class);
+        verify(workloadOutboxService, times(2)).enqueue(requests.capture());
+        assertEquals(75, requests.getAllValues().get(0).getDuration());
+        assertEquals(day(2024, 3, 1), requests.getAllValues().get(0).getDate());
+        assertEquals(15, requests.getAllValues().get(1).getDuration());
+        verify(trainingRepository, never()).save(any());
+    }
 
-        List<TrainingResponse> result = trainingService.getTraineeTrainingsFiltered(trainingFilteredDTO);
+    @Test
+    void givenPairAlreadyLinked_whenCreateTrainings_thenCollectionsUnchanged() {
+        trainee.getUser().setUsername("trainee");
+        trainer.getUser().setUsername("trainer");
+        trainee.getTrainers().add(trainer);
+        trainer.getTrainees().add(trainee);
+        when(traineeRepository.findAllByUserUsernameIn(Set.of("trainee"))).thenReturn(List.of(trainee));
+        when(trainerRepository.findAllByUserUsernameIn(Set.of("trainer"))).thenReturn(List.of(trainer));
+
+        trainingService.createTrainings(List.of(new TrainingDTO("trainee", "trainer", day(2024, 3, 2), 30, "Monday")));
+
+        assertEquals(1, trainee.getTrainers().size());
+        assertEquals(1, trainer.getTrainees().size());
+        verifyNoInteractions(profileCache);
+    }
 
-        assertEquals(0, result.size());
+    private static Date day(int year, int month, int dayOfMonth) {
+        return Date.from(LocalDate.of(year, month, dayOfMonth).atStartOfDay(ZoneId.systemDefault()).toInstant());
     }
 }
@@ -6,7 +6,9 @@ import com.epam.taskgym.exception.NotFoundException;
 import com.epam.taskgym.models.RegisterResponse;
 import com.epam.taskgym.models.UserResponse;
 import com.epam.taskgym.repository.UserRepository;
+import com.epam.taskgym.service.ProfileCache;
 import com.epam.taskgym.service.UserService;
+import com.epam.taskgym.service.UsernameAllocator;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -28,30 +30,31 @@ public class UserServiceTest {
 
     @Mock
     private PasswordEncoder passwordEncoder;
+    @Mock
+    private ProfileCache profileCache;
+    @Mock
+    private UsernameAllocator usernameAllocator;
 
     @InjectMocks
     private UserService userService;
 
     @Test
-    public void givenValidUser_whenCreateUser_thenCreatedUserReturned() {
-        User user = new User();
-        user.setId(1L);
-        user.setFirstName("John");
-        user.setLastName("Doe");
-        user.setUsername("john.doe");
-        user.setIsActive(true);
-        given(userRepository.save(any(User.class))).willReturn(user);
+    public void givenValidUser_whenNewUser_thenUnsavedUserReturned() {
         given(passwordEncoder.encode(anyString())).willReturn("encodedPassword");
+        given(usernameAllocator.allocate("john.doe")).willReturn("john.doe");
 
-        UserResponse userResponse = userService.createUser("John", "Doe", "role");
+        UserResponse userResponse = userService.newUser("John", "Doe", "role");
 
-        assertEquals(user.getUsername(), userResponse.getUser().getUsername());
-        verify(userRepository).save(any(User.class));
+        assertEquals("john.doe", userResponse.getUser().getUsername());
+        assertEquals("encodedPassword", userResponse.getUser().getPassword());
+        verify(usernameAllocator).allocate("john.doe");
+        // The profile persists it
+        verify(userRepository, never()).save(any(User.class));
     }
 
     @Test
-    public void givenInvalidUser_whenCreateUser_thenExceptionThrown() {
-        Exception exception = assertThrows(MissingAttributes.class, () -> userService.createUser(null, "Doe", "role"));
+    public void givenInvalidUser_whenNewUser_thenExceptionThrown() {
+        Exception exception = assertThrows(MissingAttributes.class, () -> userService.newUser(null, "Doe", "role"));
 
         assertEquals("First name and last name are required.", exception.getMessage());
     }
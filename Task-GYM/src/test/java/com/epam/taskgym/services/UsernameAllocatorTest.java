@@ -0,0 +1,167 @@
+package com.epam.taskgym.services;
+
+import com.epam.taskgym.entity.User;
+import com.epam.taskgym.repository.UserRepository;
+import com.epam.taskgym.repository.UsernameSequenceRepository;
+import com.epam.taskgym.service.UsernameAllocator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(UsernameAllocator.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = "spring.jpa.show-sql=false")
+class UsernameAllocatorTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(UsernameAllocatorTest.class);
+
+    @Autowired
+    private UsernameAllocator usernameAllocator;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private UsernameSequenceRepository usernameSequenceRepository;
+
+    @AfterEach
+    void tearDown() {
+        usernameSequenceRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void givenUsersCreatedBeforeCounter_whenAllocate_thenContinuesAfterHighestSuffix() {
+        userRepository.save(user("john.doe"));
+        userRepository.save(user("john.doe4"));
+        userRepository.save(user("john.doeson"));
+
+        assertEquals("john.doe5", usernameAllocator.allocate("john.doe"));
+        assertEquals("john.doe6", usernameAllocator.allocate("john.doe"));
+        assertEquals("jane.roe", usernameAllocator.allocate("jane.roe"));
+    }
+
+    @Test
+    void givenSuffixTakenByAnotherBase_whenAllocate_thenSkipsIt() {
+        usernameAllocator.allocate("john.doe");
+        userRepository.save(user("john.doe1"));
+
+        assertEquals("john.doe2", usernameAllocator.allocate("john.doe"));
+    }
+
+    @Test
+    void givenRepeatedAndExistingBases_whenAllocateAll_thenUsernamesInInputOrder() {
+        userRepository.save(user("john.doe"));
+        usernameAllocator.allocate("jane.roe");
+
+        List<String> usernames = usernameAllocator.allocateAll(List.of("john.doe", "jane.roe", "john.doe", "max.muster"));
+
+        assertEquals(List.of("john.doe1", "jane.roe1", "john.doe2", "max.muster"), usernames);
+        assertEquals("john.doe3", usernameAllocator.allocate("john.doe"));
+    }
+
+    @Test
+    void givenSuffixTakenByAnotherBase_whenAllocateAll_thenReplacesOnlyThatUsername() {
+        usernameAllocator.allocate("john.doe");
+        userRepository.save(user("john.doe2"));
+
+        List<String> usernames = usernameAllocator.allocateAll(List.of("john.doe", "john.doe", "john.doe"));
+
+        assertEquals(List.of("john.doe1", "john.doe4", "john.doe3"), usernames);
+    }
+
+    @Test
+    void givenBasesSpellingEachOther_whenAllocateAll_thenUsernamesUnique() {
+        List<String> usernames = usernameAllocator.allocateAll(List.of("bulk.member1", "bulk.member1", "bulk.member11"));
+
+        assertEquals(List.of("bulk.member1", "bulk.member12", "bulk.member11"), usernames);
+    }
+
+    @Test
+    void givenSuffixedNameHandedOut_whenItIsAlsoABase_thenBareNameNotReissued() {
+        usernameAllocator.allocate("john.doe");
+        assertEquals("john.doe1", usernameAllocator.allocate("john.doe"));
+
+        assertEquals("john.doe11", usernameAllocator.allocate("john.doe1"));
+        assertEquals(List.of("john.doe2", "john.doe12"), usernameAllocator.allocateAll(List.of("john.doe", "john.doe1")));
+    }
+
+    // Neither path sees the other's names in the users table, which is only written after allocation
+    @Test
+    void givenConcurrentBasesSpellingEachOther_whenAllocate_thenEveryUsernameUnique() throws Exception {
+        int perBase = 40;
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<List<String>>> futures = new ArrayList<>();
+        for (String baseUsername : List.of("john.doe", "john.doe1", "john.doe", "john.doe1")) {
+            futures.add(executor.submit(() -> {
+                List<String> usernames = new ArrayList<>();
+                for (int j = 0; j < perBase; j++) {
+                    usernames.add(usernameAllocator.allocate(baseUsername));
+                }
+                return usernames;
+            }));
+        }
+        Set<String> allocated = ConcurrentHashMap.newKeySet();
+        for (Future<List<String>> future : futures) {
+            allocated.addAll(future.get(60, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+
+        assertEquals(4 * perBase, allocated.size());
+    }
+
+    // Doubles as the registration throughput benchmark for one popular base name
+    @Test
+    void givenConcurrentRegistrationsOfOneName_whenAllocate_thenEveryUsernameUnique() throws Exception {
+        int threads = 4;
+        int perThread = 50;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<List<String>>> futures = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int i = 0; i < threads; i++) {
+            futures.add(executor.submit(() -> {
+                List<String> usernames = new ArrayList<>();
+                for (int j = 0; j < perThread; j++) {
+                    usernames.add(usernameAllocator.allocate("john.smith"));
+                }
+                return usernames;
+            }));
+        }
+        Set<String> allocated = ConcurrentHashMap.newKeySet();
+        for (Future<List<String>> future : futures) {
+            allocated.addAll(future.get(60, TimeUnit.SECONDS));
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        executor.shutdown();
+
+        assertEquals(threads * perThread, allocated.size());
+        LOGGER.info("Allocated {} usernames for one base name in {} s ({} per second)",
+                allocated.size(), String.format("%.2f", seconds), String.format("%.0f", allocated.size() / seconds));
+    }
+
+    private static User user(String username) {
+        User user = new User();
+        user.setFirstName("First");
+        user.setLastName("Last");
+        user.setUsername(username);
+        user.setPassword("password");
+        user.setIsActive(true);
+        return user;
+    }
+}
@@ -0,0 +1,182 @@
+package com.epam.taskgym.services;
+
+import com.epam.taskgym.client.MicroserviceClient;
+import com.epam.taskgym.configuration.WorkloadOutboxProperties;
+import com.epam.taskgym.entity.OutboxStatus;
+import com.epam.taskgym.entity.WorkloadOutbox;
+import com.epam.taskgym.exception.MicroserviceUnavailableException;
+import com.epam.taskgym.models.TrainingRequest;
+import com.epam.taskgym.models.WorkloadBatchResult;
+import com.epam.taskgym.repository.WorkloadOutboxRepository;
+import com.epam.taskgym.security.JwtIssuer;
+import com.epam.taskgym.service.WorkloadOutboxService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WorkloadOutboxServiceTest {
+
+    @Mock
+    private WorkloadOutboxRepository workloadOutboxRepository;
+    @Mock
+    private MicroserviceClient microserviceClient;
+    @Mock
+    private JwtIssuer jwtIssuer;
+
+    private SimpleMeterRegistry meterRegistry;
+    private WorkloadOutboxService workloadOutboxService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        workloadOutboxService = new WorkloadOutboxService(workloadOutboxRepository, microserviceClient, jwtIssuer,
+                new WorkloadOutboxProperties(), meterRegistry);
+    }
+
+    @Test
+    void givenTrainingRequest_whenEnqueue_thenPendingEntrySaved() {
+        TrainingRequest trainingRequest = TrainingRequest.builder()
+                .username("trainer").date(new Date()).duration(60).action("ADD").build();
+
+        workloadOutboxService.enqueue(trainingRequest);
+
+        ArgumentCaptor<WorkloadOutbox> captor = ArgumentCaptor.forClass(WorkloadOutbox.class);
+        verify(workloadOutboxRepository).save(captor.capture());
+        assertEquals(OutboxStatus.PENDING, captor.getValue().getStatus());
+        assertEquals("trainer", captor.getValue().getTrainerUsername());
+        verifyNoInteractions(microserviceClient);
+    }
+
+    @Test
+    void givenDueEntries_whenDispatch_thenSentAsOneBatchAndDeliveredEntriesDeleted() {
+        WorkloadOutbox first = entry(1L, "trainer.a");
+        WorkloadOutbox second = entry(2L, "trainer.b");
+        given(workloadOutboxRepository.findDue(any(), any())).willReturn(List.of(first, second));
+        given(jwtIssuer.issue(anyLong(), anyString(), anyList())).willReturn("token");
+        given(workloadOutboxRepository.findOldestPendingCreatedAt()).willReturn(Optional.empty());
+        given(microserviceClient.actionTrainingBatch(anyList(), anyString(), eq("Bearer token"))).willReturn(List.of(
+                new WorkloadBatchResult(0, "tx-1", WorkloadBatchResult.OK, null),
+                new WorkloadBatchResult(1, "tx-2", WorkloadBatchResult.OK, null)));
+
+        workloadOutboxService.dispatch();
+
+        ArgumentCaptor<List<TrainingRequest>> captor = ArgumentCaptor.forClass(List.class);
+        verify(microserviceClient, times(1)).actionTrainingBatch(captor.capture(), anyString(), eq("Bearer token"));
+        assertEquals(List.of("tx-1", "tx-2"), captor.getValue().stream().map(TrainingRequest::getTransactionId).toList());
+        verify(microserviceClient, never()).actionTraining(any(), anyString(), anyString());
+        verify(workloadOutboxRepository).delete(first);
+        verify(workloadOutboxRepository).delete(second);
+    }
+
+    @Test
+    void givenMixedResults_whenDispatch_thenFailedBackedOffAndRejectedParked() {
+        WorkloadOutbox failed = entry(1L, "trainer.a");
+        WorkloadOutbox rejected = entry(2L, "trainer.b");
+        WorkloadOutbox delivered = entry(3L, "trainer.c");
+        given(workloadOutboxRepository.findDue(any(), any())).willReturn(List.of(failed, rejected, delivered));
+        given(jwtIssuer.issue(anyLong(), anyString(), anyList())).willReturn("token");
+        given(workloadOutboxRepository.findOldestPendingCreatedAt()).willReturn(Optional.empty());
+        given(microserviceClient.actionTrainingBatch(anyList(), anyString(), anyString())).willReturn(List.of(
+                new WorkloadBatchResult(0, "tx-1", WorkloadBatchResult.FAILED, "Lock wait timeout"),
+                new WorkloadBatchResult(1, "tx-2", WorkloadBatchResult.NOT_FOUND, "Training work not found"),
+                new WorkloadBatchResult(2, "tx-3", WorkloadBatchResult.OK, null)));
+
+        workloadOutboxService.dispatch();
+
+        assertEquals(1, failed.getAttempts());
+        assertEquals(OutboxStatus.PENDING, failed.getStatus());
+        assertTrue(failed.getNextAttemptAt().isAfter(Instant.EPOCH));
+        assertEquals(OutboxStatus.FAILED, rejected.getStatus());
+        verify(workloadOutboxRepository).save(failed);
+        verify(workloadOutboxRepository).save(rejected);
+        verify(workloadOutboxRepository).delete(delivered);
+    }
+
+    @Test
+    void givenUnavailableMicroservice_whenDispatch_thenEveryEntryBackedOff() {
+        WorkloadOutbox first = entry(1L, "trainer.a");
+        WorkloadOutbox second = entry(2L, "trainer.b");
+        given(workloadOutboxRepository.findDue(any(), any())).willReturn(List.of(first, second));
+        given(jwtIssuer.issue(anyLong(), anyString(), anyList())).willReturn("token");
+        given(workloadOutboxRepository.findOldestPendingCreatedAt()).willReturn(Optional.empty());
+        willThrow(new MicroserviceUnavailableException("Microservice is not available"))
+                .given(microserviceClient).actionTrainingBatch(anyList(), anyString(), anyString());
+
+        workloadOutboxService.dispatch();
+
+        assertEquals(1, first.getAttempts());
+        assertEquals(1, second.getAttempts());
+        verify(workloadOutboxRepository).save(first);
+        verify(workloadOutboxRepository).save(second);
+        verify(workloadOutboxRepository, never()).delete(any());
+    }
+
+    @Test
+    void givenParkedEntries_whenDispatch_thenParkedGaugeReportsThem() {
+        given(workloadOutboxRepository.findDue(any(), any())).willReturn(List.of());
+        given(workloadOutboxRepository.countByStatus(OutboxStatus.PENDING)).willReturn(0L);
+        given(workloadOutboxRepository.countByStatus(OutboxStatus.FAILED)).willReturn(2L);
+        given(workloadOutboxRepository.findOldestPendingCreatedAt()).willReturn(Optional.empty());
+
+        workloadOutboxService.dispatch();
+
+        assertEquals(2, meterRegistry.get("workload.outbox.parked.current").gauge().value());
+    }
+
+    @Test
+    void givenParkedEntries_whenRetryParked_thenPendingAgainWithFreshAttempts() {
+        WorkloadOutbox parked = entry(1L, "trainer.a");
+        parked.setStatus(OutboxStatus.FAILED);
+        parked.setAttempts(20);
+        given(workloadOutboxRepository.findByTrainerUsernameAndStatusOrderById("trainer.a", OutboxStatus.FAILED))
+                .willReturn(List.of(parked));
+
+        assertEquals(1, workloadOutboxService.retryParked("trainer.a"));
+
+        assertEquals(OutboxStatus.PENDING, parked.getStatus());
+        assertEquals(0, parked.getAttempts());
+        verify(workloadOutboxRepository).saveAll(List.of(parked));
+    }
+
+    @Test
+    void givenParkedEntries_whenDiscardParked_thenDeleted() {
+        WorkloadOutbox parked = entry(1L, "trainer.a");
+        parked.setStatus(OutboxStatus.FAILED);
+        given(workloadOutboxRepository.findByTrainerUsernameAndStatusOrderById("trainer.a", OutboxStatus.FAILED))
+                .willReturn(List.of(parked));
+
+        assertEquals(1, workloadOutboxService.discardParked("trainer.a"));
+
+        verify(workloadOutboxRepository).deleteAll(List.of(parked));
+    }
+
+    private static WorkloadOutbox entry(Long id, String trainer) {
+        WorkloadOutbox entry = new WorkloadOutbox();
+        entry.setId(id);
+        entry.setTrainerUsername(trainer);
+        entry.setTrainingDate(new Date());
+        entry.setDuration(60);
+        entry.setAction("ADD");
+        entry.setTransactionId("tx");
+        entry.setStatus(OutboxStatus.PENDING);
+        entry.setCreatedAt(Instant.EPOCH);
+        entry.setNextAttemptAt(Instant.EPOCH);
+        return entry;
+    }
+}
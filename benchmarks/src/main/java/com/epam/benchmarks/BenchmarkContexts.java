@@ -0,0 +1,30 @@
+package com.epam.benchmarks;
+
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+final class BenchmarkContexts {
+
+    private BenchmarkContexts() {
+    }
+
+    // Starts only the persistence slice a benchmark needs, on a private in-memory H2 in MySQL mode
+    static ConfigurableApplicationContext start(Class<?> configuration, String database, String... properties) {
+        return new SpringApplicationBuilder(configuration)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:" + database + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.jpa.open-in-view=false",
+                        "eureka.client.enabled=false",
+                        "spring.cloud.discovery.enabled=false")
+                .properties(properties)
+                .run();
+    }
+}
@@ -0,0 +1,64 @@
+package com.epam.benchmarks;
+
+import com.epam.taskgym.entity.*;
+import com.epam.taskgym.helpers.Builders;
+import com.epam.taskgym.models.TrainingResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class BuildersBenchmark {
+    // One history page, a heavy page and a full year of daily sessions for a busy trainer
+    @Param({"50", "500", "5000"})
+    public int trainings;
+
+    private List<Training> history;
+
+    @Setup
+    public void setUp() {
+        TrainingType trainingType = new TrainingType();
+        trainingType.setId(1L);
+        trainingType.setName("Cardio");
+        Trainer trainer = new Trainer();
+        trainer.setUser(user(1L, "Jane", "Roe"));
+        trainer.setSpecialization(trainingType);
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        history = new ArrayList<>(trainings);
+        for (int i = 0; i < trainings; i++) {
+            Trainee trainee = new Trainee();
+            trainee.setUser(user(i + 2L, "Trainee" + i, "Doe"));
+            Training training = Builders.buildTraining(trainee, trainer,
+                    Date.from(start.plusDays(i % 365).atStartOfDay(ZoneId.systemDefault()).toInstant()),
+                    trainingType, 30 + i % 90, "Session " + i);
+            training.setId((long) i);
+            history.add(training);
+        }
+    }
+
+    @Benchmark
+    public List<TrainingResponse> convertForTrainee() {
+        return Builders.convertTrainingsToTrainingResponse(history, true);
+    }
+
+    @Benchmark
+    public List<TrainingResponse> convertForTrainer() {
+        return Builders.convertTrainingsToTrainingResponse(history, false);
+    }
+
+    private static User user(Long id, String firstName, String lastName) {
+        User user = Builders.buildUser(firstName, lastName, firstName.toLowerCase() + "." + lastName.toLowerCase(), "password", "TRAINEE");
+        user.setId(id);
+        return user;
+    }
+}
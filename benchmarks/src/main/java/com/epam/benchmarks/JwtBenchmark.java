@@ -0,0 +1,55 @@
+package com.epam.benchmarks;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.epam.taskgym.security.JwtDecoder;
+import com.epam.taskgym.security.JwtIssuer;
+import com.epam.taskgym.security.JwtProperties;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class JwtBenchmark {
+    private static final String SECRET = "thiskeyisjustfortestingpurposesdontuseitanywhereelsety";
+
+    private JwtIssuer jwtIssuer;
+    private JwtDecoder jwtDecoder;
+    private com.epam.microservice.security.JwtDecoder microserviceJwtDecoder;
+    private String token;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecretKey(SECRET);
+        jwtIssuer = new JwtIssuer(properties);
+        jwtDecoder = new JwtDecoder(properties);
+        microserviceJwtDecoder = new com.epam.microservice.security.JwtDecoder();
+        Field secretKey = com.epam.microservice.security.JwtDecoder.class.getDeclaredField("secretKey");
+        secretKey.setAccessible(true);
+        secretKey.set(microserviceJwtDecoder, SECRET);
+        token = jwtIssuer.issue(42L, "john.doe", List.of("ROLE_TRAINEE"));
+    }
+
+    @Benchmark
+    public String issue() {
+        return jwtIssuer.issue(42L, "john.doe", List.of("ROLE_TRAINEE"));
+    }
+
+    @Benchmark
+    public DecodedJWT decode() {
+        return jwtDecoder.decode(token);
+    }
+
+    // Runs on every request the microservice receives from Task-GYM
+    @Benchmark
+    public DecodedJWT decodeMicroservice() {
+        return microserviceJwtDecoder.decode(token);
+    }
+}
@@ -0,0 +1,125 @@
+package com.epam.benchmarks;
+
+import com.epam.taskgym.configuration.PersistenceConfig;
+import com.epam.taskgym.configuration.PersistenceProperties;
+import com.epam.taskgym.entity.*;
+import com.epam.taskgym.helpers.Builders;
+import com.epam.taskgym.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Inserts 100k trainings through JPA, flushing and clearing every 1000 like a bulk import would.
+// batchSize=0 is the old configuration; batchSize=50 turns on JDBC batching with ordered inserts.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class TrainingBulkInsertBenchmark {
+    private static final int TRAININGS = 100_000;
+    private static final int FLUSH_EVERY = 1_000;
+    private static final int TRAINERS = 100;
+    private static final int TRAINEES = 1_000;
+
+    @Param({"0", "50"})
+    public int batchSize;
+
+    // 1 costs a sequence round trip per row; 50 is the default pooled block
+    @Param({"1", "50"})
+    public int allocationSize;
+
+    private ConfigurableApplicationContext context;
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+    private JdbcTemplate jdbcTemplate;
+    private final List<Trainer> trainers = new ArrayList<>();
+    private final List<Trainee> trainees = new ArrayList<>();
+    private TrainingType trainingType;
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan(basePackageClasses = User.class)
+    @EnableJpaRepositories(basePackageClasses = UserRepository.class)
+    @Import({PersistenceConfig.class, PersistenceProperties.class})
+    static class TaskGymPersistence {
+    }
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContexts.start(TaskGymPersistence.class, "bulk" + batchSize + "x" + allocationSize,
+                "persistence.id.allocation-size=" + allocationSize,
+                "spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize,
+                "spring.jpa.properties.hibernate.order_inserts=" + (batchSize > 0),
+                "spring.jpa.properties.hibernate.order_updates=" + (batchSize > 0));
+        entityManager = context.getBean(EntityManager.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        transactionTemplate.executeWithoutResult(status -> {
+            trainingType = new TrainingType();
+            trainingType.setName("Strength Training");
+            entityManager.persist(trainingType);
+            for (int i = 0; i < TRAINERS; i++) {
+                User user = Builders.buildUser("Coach", "Number" + i, "coach.number" + i, "password", "TRAINER");
+                entityManager.persist(user);
+                Trainer trainer = new Trainer();
+                trainer.setUser(user);
+                trainer.setSpecialization(trainingType);
+                entityManager.persist(trainer);
+                trainers.add(trainer);
+            }
+            for (int i = 0; i < TRAINEES; i++) {
+                User user = Builders.buildUser("Member", "Number" + i, "member.number" + i, "password", "TRAINEE");
+                entityManager.persist(user);
+                Trainee trainee = new Trainee();
+                trainee.setUser(user);
+                trainee.setAddress(i + " Main St");
+                entityManager.persist(trainee);
+                trainees.add(trainee);
+            }
+        });
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteTrainings() {
+        jdbcTemplate.update("DELETE FROM training");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int insertTrainings() {
+        LocalDate firstDay = LocalDate.of(2024, 1, 1);
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < TRAININGS; i++) {
+                Date date = Date.from(firstDay.plusDays(i % 365).atStartOfDay(ZoneId.systemDefault()).toInstant());
+                entityManager.persist(Builders.buildTraining(trainees.get(i % TRAINEES), trainers.get(i % TRAINERS),
+                        date, trainingType, 30 + i % 90, "Session " + i));
+                if ((i + 1) % FLUSH_EVERY == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+        });
+        return TRAININGS;
+    }
+}
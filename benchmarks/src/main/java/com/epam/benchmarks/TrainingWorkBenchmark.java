@@ -0,0 +1,152 @@
+package com.epam.benchmarks;
+
+import com.epam.microservice.configuration.WorkloadAggregationProperties;
+import com.epam.microservice.configuration.WorkloadIdempotencyProperties;
+import com.epam.microservice.configuration.WorkloadLeaseProperties;
+import com.epam.microservice.entity.TrainerWorkload;
+import com.epam.microservice.model.TrainingRequest;
+import com.epam.microservice.repository.TrainerWorkloadBatchRepository;
+import com.epam.microservice.repository.TrainerWorkloadRepository;
+import com.epam.microservice.repository.WorkloadSummaryStore;
+import com.epam.microservice.service.IdempotencyGuard;
+import com.epam.microservice.service.TrainerLocks;
+import com.epam.microservice.service.TrainingWorkService;
+import com.epam.microservice.service.WorkloadAggregator;
+import com.epam.microservice.service.WorkloadLease;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TrainingWorkBenchmark {
+    private static final int MONTHS = 24;
+    private static final LocalDate FIRST_MONTH = LocalDate.of(2023, 1, 1);
+
+    // Trainers with two years of monthly workload rows each
+    @Param({"1000", "10000"})
+    public int trainers;
+
+    // true: write-behind through WorkloadAggregator, flushed every second, acknowledged once the log is forced
+    @Param({"false", "true"})
+    public boolean aggregated;
+
+    private ConfigurableApplicationContext context;
+    private TrainingWorkService trainingWorkService;
+    private WorkloadAggregator workloadAggregator;
+    private Path walDirectory;
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan(basePackageClasses = TrainerWorkload.class)
+    @EnableJpaRepositories(basePackageClasses = TrainerWorkloadRepository.class)
+    @EnableScheduling
+    @Import({TrainingWorkService.class, TrainerWorkloadBatchRepository.class, WorkloadAggregator.class,
+            WorkloadAggregationProperties.class, WorkloadSummaryStore.class, TrainerLocks.class,
+            IdempotencyGuard.class, WorkloadIdempotencyProperties.class, WorkloadLease.class, WorkloadLeaseProperties.class})
+    static class MicroservicePersistence {
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        walDirectory = Files.createTempDirectory("workload-wal");
+        context = BenchmarkContexts.start(MicroservicePersistence.class, "workload" + trainers + aggregated,
+                "workload.aggregation.enabled=" + aggregated,
+                "workload.aggregation.wal-directory=" + walDirectory);
+        trainingWorkService = context.getBean(TrainingWorkService.class);
+        workloadAggregator = context.getBean(WorkloadAggregator.class);
+        TrainerWorkloadRepository repository = context.getBean(TrainerWorkloadRepository.class);
+        List<TrainerWorkload> batch = new ArrayList<>(MONTHS * 100);
+        for (int trainer = 0; trainer < trainers; trainer++) {
+            for (int offset = 0; offset < MONTHS; offset++) {
+                LocalDate month = FIRST_MONTH.plusMonths(offset);
+                TrainerWorkload workload = new TrainerWorkload();
+                workload.setUsername(username(trainer));
+                workload.setYear(month.getYear());
+                workload.setMonth(month.getMonthValue());
+                workload.setFirstName("Trainer" + trainer);
+                workload.setLastName("Roe");
+                workload.setStatus(true);
+                workload.setHours(600);
+                batch.add(workload);
+            }
+            if (batch.size() >= MONTHS * 100) {
+                repository.saveAll(batch);
+                batch.clear();
+            }
+        }
+        repository.saveAll(batch);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        context.close();
+        FileSystemUtils.deleteRecursively(walDirectory);
+    }
+
+    @Benchmark
+    public void add() {
+        accept(request("add"));
+    }
+
+    // Same shape as a training being deleted in Task-GYM; existing rows never reach zero hours
+    @Benchmark
+    public void delete() {
+        accept(request("delete"));
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void addContended() {
+        accept(request("add"));
+    }
+
+    // The same choice TrainingWorkController makes
+    private void accept(TrainingRequest trainingRequest) {
+        if (aggregated) {
+            workloadAggregator.acceptTrainerWork(trainingRequest);
+        } else {
+            trainingWorkService.acceptTrainerWork(trainingRequest);
+        }
+    }
+
+    private TrainingRequest request(String action) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int trainer = random.nextInt(trainers);
+        LocalDate date = FIRST_MONTH.plusMonths(random.nextInt(MONTHS)).plusDays(random.nextInt(28));
+        return TrainingRequest.builder()
+                .username(username(trainer))
+                .firstName("Trainer" + trainer)
+                .lastName("Roe")
+                .isActive(true)
+                .date(Date.from(date.atStartOfDay(ZoneId.systemDefault()).toInstant()))
+                .duration(1)
+                .action(action)
+                .build();
+    }
+
+    private static String username(int trainer) {
+        return "trainer" + trainer + ".roe";
+    }
+}
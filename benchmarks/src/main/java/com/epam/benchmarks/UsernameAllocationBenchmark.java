@@ -0,0 +1,95 @@
+package com.epam.benchmarks;
+
+import com.epam.taskgym.entity.User;
+import com.epam.taskgym.helpers.Builders;
+import com.epam.taskgym.repository.UserRepository;
+import com.epam.taskgym.service.UsernameAllocator;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// UserService.generateUniqueUsername only logs around UsernameAllocator.allocate, so the allocator is measured directly
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UsernameAllocationBenchmark {
+    private static final int SUFFIXES_PER_BASE = 10;
+
+    // Registered users; each base name already has ten taken usernames
+    @Param({"10000", "100000"})
+    public int existingUsers;
+
+    private final AtomicLong newBases = new AtomicLong();
+    private ConfigurableApplicationContext context;
+    private UsernameAllocator usernameAllocator;
+    private int baseNames;
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan(basePackageClasses = User.class)
+    @EnableJpaRepositories(basePackageClasses = UserRepository.class)
+    @Import(UsernameAllocator.class)
+    static class TaskGymPersistence {
+    }
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContexts.start(TaskGymPersistence.class, "gym" + existingUsers);
+        usernameAllocator = context.getBean(UsernameAllocator.class);
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        baseNames = existingUsers / SUFFIXES_PER_BASE;
+        List<User> batch = new ArrayList<>(1000);
+        for (int base = 0; base < baseNames; base++) {
+            for (int suffix = 0; suffix < SUFFIXES_PER_BASE; suffix++) {
+                String username = baseName(base) + (suffix == 0 ? "" : suffix);
+                batch.add(Builders.buildUser("First" + base, "Last" + base, username, "password", "TRAINEE"));
+            }
+            if (batch.size() >= 1000) {
+                userRepository.saveAll(batch);
+                batch.clear();
+            }
+        }
+        userRepository.saveAll(batch);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    // Common case: a name that is already taken, served from its counter row
+    @Benchmark
+    public String allocateExistingBase() {
+        return usernameAllocator.allocate(baseName(ThreadLocalRandom.current().nextInt(baseNames)));
+    }
+
+    // First registration of a name: seeds the counter row from the users table
+    @Benchmark
+    public String allocateNewBase() {
+        return usernameAllocator.allocate("new" + newBases.incrementAndGet() + ".user");
+    }
+
+    // Everyone registering the same name at once serialises on one counter row
+    @Benchmark
+    @Threads(4)
+    public String allocateSameBaseContended() {
+        return usernameAllocator.allocate(baseName(0));
+    }
+
+    private static String baseName(int base) {
+        return "first" + base + ".last" + base;
+    }
+}
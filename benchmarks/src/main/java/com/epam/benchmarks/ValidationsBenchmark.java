@@ -0,0 +1,30 @@
+package com.epam.benchmarks;
+
+import com.epam.taskgym.helpers.Validations;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class ValidationsBenchmark {
+    // validateDate is called for every date filter and every training registration
+    @Param({"15-03-2024", "31-12-1999"})
+    public String date;
+
+    @Benchmark
+    public Date validateDate() {
+        return Validations.validateDate(date);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Date validateDateContended() {
+        return Validations.validateDate(date);
+    }
+}
@@ -0,0 +1,143 @@
+package com.epam.benchmarks;
+
+import com.epam.microservice.model.TrainingMonth;
+import com.epam.microservice.model.TrainingWork;
+import com.epam.microservice.model.TrainingYears;
+import com.epam.microservice.model.WorkloadDelta;
+import com.epam.microservice.model.WorkloadKey;
+import com.epam.microservice.repository.WorkloadSummaryStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// 1M trainers do not fit an H2 database in a benchmark fork, so the baseline is the TrainingWork -> TrainingYears ->
+// TrainingMonth graph the summaries were built as, held in a HashMap. Each mode runs in its own fork so the
+// retained heap printed by setUp belongs to one representation only.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class WorkloadStoreBenchmark {
+    private static final int FIRST_YEAR = 2024;
+
+    @Param({"1000000"})
+    public int trainers;
+
+    @Param({"1"})
+    public int years;
+
+    @Param({"graph", "store"})
+    public String mode;
+
+    private Map<String, TrainingWork> graph;
+    private WorkloadSummaryStore store;
+
+    @Setup
+    public void setUp() {
+        long before = usedHeap();
+        if (mode.equals("graph")) {
+            graph = new HashMap<>();
+            for (int trainer = 0; trainer < trainers; trainer++) {
+                TrainingWork trainingWork = new TrainingWork();
+                trainingWork.setUsername(username(trainer));
+                trainingWork.setFirstName("Trainer" + trainer);
+                trainingWork.setLastName("Roe");
+                trainingWork.setStatus(true);
+                trainingWork.setYears(new ArrayList<>());
+                for (int year = 0; year < years; year++) {
+                    TrainingYears trainingYears = new TrainingYears();
+                    trainingYears.setYearNumber(String.valueOf(FIRST_YEAR + year));
+                    trainingYears.setMonths(new ArrayList<>());
+                    for (int month = 1; month <= 12; month++) {
+                        TrainingMonth trainingMonth = new TrainingMonth();
+                        trainingMonth.setMonthName(String.valueOf(month));
+                        trainingMonth.setHours(60 + trainer % 1000);
+                        trainingYears.getMonths().add(trainingMonth);
+                    }
+                    trainingWork.getYears().add(trainingYears);
+                }
+                graph.put(trainingWork.getUsername(), trainingWork);
+            }
+        } else {
+            store = new WorkloadSummaryStore();
+            for (int trainer = 0; trainer < trainers; trainer++) {
+                String username = username(trainer);
+                for (int year = 0; year < years; year++) {
+                    for (int month = 1; month <= 12; month++) {
+                        store.apply(new WorkloadDelta(new WorkloadKey(username, FIRST_YEAR + year, month),
+                                "Trainer" + trainer, "Roe", true, 60 + trainer % 1000));
+                    }
+                }
+            }
+        }
+        System.out.printf("%n%s: %d bytes retained per trainer%n", mode, (usedHeap() - before) / trainers);
+    }
+
+    // What the summary endpoint returns
+    @Benchmark
+    public TrainingWork summary() {
+        String username = username(ThreadLocalRandom.current().nextInt(trainers));
+        return graph != null ? graph.get(username) : store.findByUsername(username).orElseThrow();
+    }
+
+    @Benchmark
+    public int monthHours() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String username = username(random.nextInt(trainers));
+        int year = FIRST_YEAR + random.nextInt(years);
+        int month = random.nextInt(12) + 1;
+        if (store != null) {
+            return store.hours(username, year, month);
+        }
+        return graphMonth(username, year, month).getHours();
+    }
+
+    @Benchmark
+    public void add() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String username = username(random.nextInt(trainers));
+        int year = FIRST_YEAR + random.nextInt(years);
+        int month = random.nextInt(12) + 1;
+        if (store != null) {
+            store.apply(new WorkloadDelta(new WorkloadKey(username, year, month), "Trainer", "Roe", true, 1));
+            return;
+        }
+        TrainingMonth trainingMonth = graphMonth(username, year, month);
+        trainingMonth.setHours(trainingMonth.getHours() + 1);
+    }
+
+    private TrainingMonth graphMonth(String username, int year, int month) {
+        String yearNumber = String.valueOf(year);
+        String monthName = String.valueOf(month);
+        for (TrainingYears trainingYears : graph.get(username).getYears()) {
+            if (trainingYears.getYearNumber().equals(yearNumber)) {
+                List<TrainingMonth> months = trainingYears.getMonths();
+                for (TrainingMonth trainingMonth : months) {
+                    if (trainingMonth.getMonthName().equals(monthName)) {
+                        return trainingMonth;
+                    }
+                }
+            }
+        }
+        throw new IllegalStateException(username + " has no " + monthName + "/" + yearNumber);
+    }
+
+    private static String username(int trainer) {
+        return "trainer" + trainer + ".roe";
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
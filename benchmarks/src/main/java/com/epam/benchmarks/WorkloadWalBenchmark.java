@@ -0,0 +1,67 @@
+package com.epam.benchmarks;
+
+import com.epam.microservice.model.WorkloadDelta;
+import com.epam.microservice.model.WorkloadKey;
+import com.epam.microservice.wal.WalSyncPolicy;
+import com.epam.microservice.wal.WorkloadWal;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WorkloadWalBenchmark {
+    private static final int TRAINERS = 1000;
+
+    @Param({"ALWAYS", "NEVER"})
+    public WalSyncPolicy sync;
+
+    private Path directory;
+    private WorkloadWal wal;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("workload-wal");
+        wal = WorkloadWal.open(directory, 64 << 20, sync);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        wal.close();
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    // Sealed segments pile up without an aggregator flushing them, so they are dropped as they fill
+    @TearDown(Level.Iteration)
+    public void compact() throws IOException {
+        wal.compact(wal.position());
+    }
+
+    // What WorkloadAggregator does before acknowledging an update
+    @Benchmark
+    public void append() throws IOException {
+        wal.sync(wal.append(delta(), "tx"));
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void appendContended() throws IOException {
+        wal.sync(wal.append(delta(), "tx"));
+    }
+
+    private static WorkloadDelta delta() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int trainer = random.nextInt(TRAINERS);
+        return new WorkloadDelta(new WorkloadKey("trainer" + trainer + ".roe", 2024, random.nextInt(12) + 1),
+                "Trainer" + trainer, "Roe", true, 60);
+    }
+}
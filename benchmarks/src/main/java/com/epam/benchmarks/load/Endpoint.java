@@ -0,0 +1,30 @@
+package com.epam.benchmarks.load;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+// The 17 GymController endpoints, numbered as in the controller, with the default mix weight of each
+@Getter
+@RequiredArgsConstructor
+enum Endpoint {
+    REGISTER_TRAINEE("POST /api/trainee", 2),
+    REGISTER_TRAINER("POST /api/trainer", 1),
+    LOGIN("GET /api/user/login", 5),
+    UPDATE_PASSWORD("PUT /api/user/{username}/password", 1),
+    GET_TRAINEE("GET /api/trainees/{username}", 15),
+    UPDATE_TRAINEE("PUT /api/trainees/{username}", 3),
+    DELETE_TRAINEE("DELETE /api/trainees/{username}", 1),
+    GET_TRAINER("GET /api/trainers/{username}", 10),
+    UPDATE_TRAINER("PUT /api/trainers/{username}", 2),
+    UNASSIGNED_TRAINERS("GET /api/trainees/{username}/trainersNotAssigned", 8),
+    UPDATE_TRAINEE_TRAINERS("PUT /api/trainees/{username}/trainers", 3),
+    TRAINEE_TRAININGS("GET /api/trainees/{username}/trainings", 12),
+    TRAINER_TRAININGS("GET /api/trainers/{username}/trainings", 8),
+    ADD_TRAINING("POST /api/training", 6),
+    TRAINEE_STATUS("PATCH /api/trainees/{username}/status", 1),
+    TRAINER_STATUS("PATCH /api/trainers/{username}/status", 1),
+    TRAINING_TYPES("GET /api/training-Types", 5);
+
+    private final String route;
+    private final int defaultWeight;
+}
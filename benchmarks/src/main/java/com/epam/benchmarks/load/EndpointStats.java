@@ -0,0 +1,59 @@
+package com.epam.benchmarks.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Latency histogram in microseconds plus outcome counts for one endpoint
+class EndpointStats {
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private final Histogram latency = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+    private final LongAdder errors = new LongAdder();
+    private final ConcurrentMap<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+
+    void record(long latencyNanos, String outcome, boolean error) {
+        latency.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), MAX_LATENCY_MICROS));
+        outcomes.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+        if (error) {
+            errors.increment();
+        }
+    }
+
+    long count() {
+        return latency.getTotalCount();
+    }
+
+    Map<String, Object> summary(double seconds) {
+        long count = count();
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requests", count);
+        summary.put("errors", errors.sum());
+        summary.put("errorRate", count == 0 ? 0.0 : round((double) errors.sum() / count));
+        summary.put("throughputPerSecond", round(count / seconds));
+        summary.put("p50Millis", millis(latency.getValueAtPercentile(50)));
+        summary.put("p95Millis", millis(latency.getValueAtPercentile(95)));
+        summary.put("p99Millis", millis(latency.getValueAtPercentile(99)));
+        summary.put("maxMillis", millis(latency.getMaxValue()));
+        Map<String, Long> byOutcome = new LinkedHashMap<>();
+        outcomes.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> byOutcome.put(entry.getKey(), entry.getValue().sum()));
+        summary.put("outcomes", byOutcome);
+        return summary;
+    }
+
+    private static double millis(long micros) {
+        return round(micros / 1000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+}
@@ -0,0 +1,100 @@
+package com.epam.benchmarks.load;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+
+// Thin HTTP client for the Task-GYM API; login and the training lists are GETs with a JSON body
+class GymClient {
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String baseUri;
+    private final Duration timeout;
+
+    GymClient(String baseUri, Duration timeout) {
+        this.baseUri = baseUri;
+        this.timeout = timeout;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .build();
+    }
+
+    HttpResponse<String> send(String method, String path, Object body, String token) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUri + path))
+                .timeout(timeout)
+                .method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(toJson(body)));
+        if (body != null) {
+            request.header("Content-Type", "application/json");
+        }
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    HttpResponse<String> sendText(String method, String path, String contentType, String body, String token) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUri + path))
+                .timeout(timeout)
+                .header("Content-Type", contentType)
+                .method(method, HttpRequest.BodyPublishers.ofString(body));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    Credentials register(String path, Map<String, Object> body) throws IOException, InterruptedException {
+        JsonNode json = expect(send("POST", path, body, null), 201);
+        return new Credentials(json.get("username").asText(), json.get("password").asText());
+    }
+
+    String login(Credentials credentials) throws IOException, InterruptedException {
+        return expect(send("GET", "/api/user/login", credentials.asLoginRequest(), null), 200).get("accessToken").asText();
+    }
+
+    JsonNode json(HttpResponse<String> response) throws JsonProcessingException {
+        return objectMapper.readTree(response.body());
+    }
+
+    static String query(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private JsonNode expect(HttpResponse<String> response, int status) throws JsonProcessingException {
+        if (response.statusCode() != status) {
+            throw new IllegalStateException(response.request().method() + " " + response.uri().getPath()
+                    + " returned " + response.statusCode() + ": " + response.body());
+        }
+        return json(response);
+    }
+
+    private String toJson(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    record Credentials(String username, String password) {
+        Map<String, Object> asLoginRequest() {
+            return Map.of("username", username, "password", password);
+        }
+
+        Credentials withPassword(String newPassword) {
+            return new Credentials(username, newPassword);
+        }
+    }
+}
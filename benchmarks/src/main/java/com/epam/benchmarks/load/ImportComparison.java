@@ -0,0 +1,87 @@
+package com.epam.benchmarks.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Registers the same number of trainees twice on a fresh stack: once through concurrent POST /api/trainee calls,
+// once as a single CSV upload to POST /api/trainees/import, and reports rows per second for both.
+// Arguments are key=value pairs, e.g. rows=50000 clients=16
+public class ImportComparison {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = LoadTest.parse(args);
+        int rows = Integer.parseInt(options.getOrDefault("rows", "5000"));
+        int clients = Integer.parseInt(options.getOrDefault("clients", "8"));
+        Duration timeout = Duration.parse(options.getOrDefault("timeout", "PT30M"));
+        Path result = Path.of(options.getOrDefault("result", "target/import-result.json"));
+
+        try (ServiceStack stack = ServiceStack.start(false)) {
+            GymClient client = new GymClient(stack.taskGymUri(), timeout);
+            String token = stack.adminToken();
+            // One request each way first, so class loading and JIT of both paths are not billed to either run
+            client.register("/api/trainee", Map.of("firstName", "Warm", "lastName", "Up"));
+            client.sendText("POST", "/api/trainees/import", "text/csv", "firstName,lastName\nWarm,Up\n", token);
+
+            System.out.printf("Registering %d trainees with %d concurrent clients%n", rows, clients);
+            double perRequest = perRequest(client, rows, clients);
+            System.out.printf("Importing %d trainees as one CSV upload%n", rows);
+            double imported = imported(client, rows, token);
+
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("config", Map.of("rows", rows, "clients", clients, "java", Runtime.version().toString(),
+                    "processors", Runtime.getRuntime().availableProcessors()));
+            report.put("perRequestRowsPerSecond", Math.round(perRequest));
+            report.put("importRowsPerSecond", Math.round(imported));
+            report.put("speedup", Math.round(imported / perRequest * 10) / 10.0);
+            Files.createDirectories(result.toAbsolutePath().getParent());
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(result.toFile(), report);
+            System.out.printf("per request: %.0f rows/s, import: %.0f rows/s, speedup %.1fx%n", perRequest, imported, imported / perRequest);
+            System.out.println("Import comparison result is saved to " + result);
+        }
+    }
+
+    private static double perRequest(GymClient client, int rows, int clients) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        AtomicInteger next = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int i = 0; i < clients; i++) {
+            futures.add(executor.submit(() -> {
+                for (int row = next.getAndIncrement(); row < rows; row = next.getAndIncrement()) {
+                    client.register("/api/trainee", Map.of("firstName", "Single", "lastName", "Member" + row % 100,
+                            "address", row + " Main St"));
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        executor.shutdown();
+        return rows / seconds;
+    }
+
+    private static double imported(GymClient client, int rows, String token) throws Exception {
+        StringBuilder csv = new StringBuilder("firstName,lastName,address\n");
+        for (int row = 0; row < rows; row++) {
+            csv.append("Bulk,Member").append(row % 100).append(',').append(row).append(" Main St\n");
+        }
+        long start = System.nanoTime();
+        HttpResponse<String> response = client.sendText("POST", "/api/trainees/import", "text/csv", csv.toString(), token);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        long created = response.body().lines().filter(line -> line.contains("\"username\"")).count();
+        if (response.statusCode() != 200 || created != rows) {
+            throw new IllegalStateException("Import returned " + response.statusCode() + " with " + created + " of " + rows + " rows created");
+        }
+        return rows / seconds;
+    }
+}
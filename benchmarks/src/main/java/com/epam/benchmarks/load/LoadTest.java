@@ -0,0 +1,216 @@
+package com.epam.benchmarks.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+
+// End-to-end load run: boots both services on H2, drives the GymController endpoints and writes a JSON report.
+// Arguments are key=value pairs, e.g. users=100 duration=PT2M threads=virtual mix=GET_TRAINEE:10,ADD_TRAINING:5
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        int users = Integer.parseInt(options.getOrDefault("users", "50"));
+        int trainings = Integer.parseInt(options.getOrDefault("trainings", "10"));
+        Duration warmup = Duration.parse(options.getOrDefault("warmup", "PT15S"));
+        Duration duration = Duration.parse(options.getOrDefault("duration", "PT60S"));
+        Duration thinkTime = Duration.parse(options.getOrDefault("thinkTime", "PT0S"));
+        Duration timeout = Duration.parse(options.getOrDefault("timeout", "PT10S"));
+        Path result = Path.of(options.getOrDefault("result", "target/load-result.json"));
+        Map<Endpoint, Integer> mix = mix(options.get("mix"));
+        String threading = options.getOrDefault("threads", "platform");
+        if (!threading.equals("platform") && !threading.equals("virtual")) {
+            throw new IllegalArgumentException("threads must be platform or virtual but was: " + threading);
+        }
+
+        try (ServiceStack stack = ServiceStack.start(threading.equals("virtual"))) {
+            GymClient client = new GymClient(stack.taskGymUri(), timeout);
+            List<String> trainerPool = new CopyOnWriteArrayList<>();
+            Plan plan = new Plan(mix, thinkTime);
+            List<VirtualUser> virtualUsers = new ArrayList<>();
+            for (int i = 0; i < users; i++) {
+                virtualUsers.add(new VirtualUser(i, client, plan, trainerPool));
+            }
+            prepare(virtualUsers, trainings);
+
+            System.out.printf("Running %d virtual users on %s threads: %s warm-up, %s measured%n", users, threading, warmup, duration);
+            Instant startedAt = Instant.now();
+            plan.start(warmup, duration);
+            List<Thread> threads = new ArrayList<>();
+            for (int i = 0; i < virtualUsers.size(); i++) {
+                Thread thread = new Thread(virtualUsers.get(i), "virtual-user-" + i);
+                thread.start();
+                threads.add(thread);
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("startedAt", startedAt.toString());
+            report.put("config", Map.of("users", users, "trainingsPerUser", trainings, "warmup", warmup.toString(),
+                    "duration", duration.toString(), "thinkTime", thinkTime.toString(), "threads", threading,
+                    "java", Runtime.version().toString(), "mix", mix));
+            report.put("total", plan.total.summary(duration.toMillis() / 1000.0));
+            Map<String, Object> endpoints = new LinkedHashMap<>();
+            plan.stats.forEach((endpoint, stats) -> {
+                Map<String, Object> summary = new LinkedHashMap<>();
+                summary.put("route", endpoint.getRoute());
+                summary.putAll(stats.summary(duration.toMillis() / 1000.0));
+                endpoints.put(endpoint.name(), summary);
+            });
+            report.put("endpoints", endpoints);
+            report.put("outbox", drainOutbox(stack.taskGymMeters()));
+
+            Files.createDirectories(result.toAbsolutePath().getParent());
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(result.toFile(), report);
+            print(endpoints, report);
+            System.out.println("Load test result is saved to " + result);
+        }
+    }
+
+    // Registers every virtual user's accounts and seed trainings before the clock starts
+    private static void prepare(List<VirtualUser> virtualUsers, int trainings) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> prepared = new ArrayList<>();
+            for (VirtualUser virtualUser : virtualUsers) {
+                prepared.add(executor.submit(() -> {
+                    virtualUser.prepare(trainings);
+                    return null;
+                }));
+            }
+            for (Future<?> future : prepared) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    // Training changes reach the workload service through the outbox, so the report includes how long it took to catch up
+    private static Map<String, Object> drainOutbox(MeterRegistry meters) throws InterruptedException {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(60);
+        double backlog = meters.get("workload.outbox.backlog").gauge().value();
+        while (backlog > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(200);
+            backlog = meters.get("workload.outbox.backlog").gauge().value();
+        }
+        Map<String, Object> outbox = new LinkedHashMap<>();
+        outbox.put("drainMillis", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        outbox.put("backlog", (long) backlog);
+        outbox.put("delivered", (long) meters.get("workload.outbox.delivered").counter().count());
+        outbox.put("retried", (long) meters.get("workload.outbox.retried").counter().count());
+        outbox.put("parked", (long) meters.get("workload.outbox.parked").counter().count());
+        return outbox;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void print(Map<String, Object> endpoints, Map<String, Object> report) {
+        System.out.printf("%-24s %9s %8s %9s %9s %9s %9s%n", "Endpoint", "Requests", "Errors", "Req/s", "p50 ms", "p95 ms", "p99 ms");
+        Map<String, Object> rows = new LinkedHashMap<>(endpoints);
+        rows.put("TOTAL", report.get("total"));
+        rows.forEach((name, value) -> {
+            Map<String, Object> row = (Map<String, Object>) value;
+            System.out.printf("%-24s %9d %8d %9.1f %9.2f %9.2f %9.2f%n", name, row.get("requests"), row.get("errors"),
+                    row.get("throughputPerSecond"), row.get("p50Millis"), row.get("p95Millis"), row.get("p99Millis"));
+        });
+        System.out.println("Outbox: " + report.get("outbox"));
+    }
+
+    static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator < 1) {
+                throw new IllegalArgumentException("Expected key=value but got: " + arg);
+            }
+            options.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+
+    private static Map<Endpoint, Integer> mix(String value) {
+        Map<Endpoint, Integer> mix = new EnumMap<>(Endpoint.class);
+        if (value == null || value.isBlank()) {
+            for (Endpoint endpoint : Endpoint.values()) {
+                mix.put(endpoint, endpoint.getDefaultWeight());
+            }
+            return mix;
+        }
+        for (String entry : value.split(",")) {
+            String[] parts = entry.trim().split(":");
+            mix.put(Endpoint.valueOf(parts[0].trim().toUpperCase(Locale.ROOT)), parts.length > 1 ? Integer.parseInt(parts[1].trim()) : 1);
+        }
+        return mix;
+    }
+
+    // Shared schedule and recorders; only requests that start after the warm-up are recorded
+    static class Plan {
+        private final Endpoint[] endpoints;
+        private final int[] cumulativeWeights;
+        private final long thinkTimeMillis;
+        private final Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+        private final EndpointStats total = new EndpointStats();
+        private volatile long measureFrom;
+        private volatile long endAt;
+
+        Plan(Map<Endpoint, Integer> mix, Duration thinkTime) {
+            this.thinkTimeMillis = thinkTime.toMillis();
+            List<Endpoint> weighted = mix.entrySet().stream().filter(entry -> entry.getValue() > 0).map(Map.Entry::getKey).toList();
+            if (weighted.isEmpty()) {
+                throw new IllegalArgumentException("The mix must give at least one endpoint a positive weight");
+            }
+            this.endpoints = weighted.toArray(Endpoint[]::new);
+            this.cumulativeWeights = new int[endpoints.length];
+            int sum = 0;
+            for (int i = 0; i < endpoints.length; i++) {
+                sum += mix.get(endpoints[i]);
+                cumulativeWeights[i] = sum;
+                stats.put(endpoints[i], new EndpointStats());
+            }
+        }
+
+        void start(Duration warmup, Duration duration) {
+            long now = System.nanoTime();
+            measureFrom = now + warmup.toNanos();
+            endAt = measureFrom + duration.toNanos();
+        }
+
+        boolean finished() {
+            return System.nanoTime() >= endAt;
+        }
+
+        Endpoint nextEndpoint() {
+            int pick = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+            int index = Arrays.binarySearch(cumulativeWeights, pick + 1);
+            return endpoints[index >= 0 ? index : -index - 1];
+        }
+
+        void record(Endpoint endpoint, long startedAt, long latencyNanos, String outcome, boolean error) {
+            if (startedAt < measureFrom || startedAt >= endAt) {
+                return;
+            }
+            stats.get(endpoint).record(latencyNanos, outcome, error);
+            total.record(latencyNanos, outcome, error);
+        }
+
+        void thinkTime() {
+            if (thinkTimeMillis > 0) {
+                try {
+                    Thread.sleep(thinkTimeMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.epam.benchmarks.load;
+
+import com.epam.microservice.MicroserviceApplication;
+import com.epam.taskgym.TaskGymApplication;
+import com.epam.taskgym.security.JwtIssuer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.Banner;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+
+// Both services in one JVM on H2, with Eureka replaced by a static instance list for the Feign client
+class ServiceStack implements AutoCloseable {
+    static final String SECRET_KEY = "thiskeyisjustfortestingpurposesdontuseitanywhereelsety";
+
+    private final ConfigurableApplicationContext microservice;
+    private final ConfigurableApplicationContext taskGym;
+
+    private ServiceStack(ConfigurableApplicationContext microservice, ConfigurableApplicationContext taskGym) {
+        this.microservice = microservice;
+        this.taskGym = taskGym;
+    }
+
+    static ServiceStack start(boolean virtualThreads) {
+        ConfigurableApplicationContext microservice = new SpringApplicationBuilder(MicroserviceApplication.class)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                .properties(common("workload-load", virtualThreads))
+                .properties(
+                        "spring.application.name=microservice",
+                        "spring.mvc.pathmatch.matching-strategy=ANT_PATH_MATCHER")
+                .run();
+        String microserviceUri = "http://localhost:" + port(microservice);
+        ConfigurableApplicationContext taskGym = new SpringApplicationBuilder(TaskGymApplication.class)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                .properties(common("gym-load", virtualThreads))
+                .properties(
+                        "spring.application.name=Gym-Management-System",
+                        "spring.cloud.discovery.client.simple.instances[MICROSERVICE][0].uri=" + microserviceUri,
+                        "spring.cloud.openfeign.circuitbreaker.enabled=true")
+                .run();
+        return new ServiceStack(microservice, taskGym);
+    }
+
+    String taskGymUri() {
+        return "http://localhost:" + port(taskGym);
+    }
+
+    // Registration never hands out ROLE_ADMIN, so the admin-only endpoints get a token signed by the stack itself
+    String adminToken() {
+        return taskGym.getBean(JwtIssuer.class).issue(0L, "benchmark-admin", List.of("ROLE_ADMIN"));
+    }
+
+        MeterRegistry taskGymMeters() {
+        return taskGym.getBean(MeterRegistry.class);
+    }
+
+    @Override
+    public void close() {
+        taskGym.close();
+        microservice.close();
+    }
+
+    private static String[] common(String database, boolean virtualThreads) {
+        return new String[]{
+                "server.port=0",
+                "spring.datasource.url=jdbc:h2:mem:" + database + ";MODE=MySQL;DB_CLOSE_DELAY=-1",
+                "spring.datasource.username=sa",
+                "spring.datasource.password=",
+                "spring.jpa.hibernate.ddl-auto=update",
+                "spring.jpa.open-in-view=false",
+                "security.jwt.secret-key=" + SECRET_KEY,
+                "eureka.client.enabled=false",
+                "spring.threads.virtual.enabled=" + virtualThreads
+        };
+    }
+
+    private static int port(ConfigurableApplicationContext context) {
+        return ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+}
@@ -0,0 +1,151 @@
+package com.epam.benchmarks.load;
+
+import com.epam.benchmarks.load.GymClient.Credentials;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static com.epam.benchmarks.load.GymClient.query;
+
+// One simulated client: owns a trainee and a trainer account and keeps picking endpoints from the mix
+class VirtualUser implements Runnable {
+    static final List<String> SPECIALIZATIONS = List.of("Functional Training", "Mobility Training", "Strength Training",
+            "Balance Training", "Agility Training", "Stretching");
+    private static final LocalDate FIRST_TRAINING_DAY = LocalDate.of(2024, 1, 1);
+
+    private final int id;
+    private final GymClient client;
+    private final LoadTest.Plan plan;
+    private final List<String> trainerPool;
+    private Credentials trainee;
+    private Credentials trainer;
+    private String token;
+    private int passwordChanges;
+
+    VirtualUser(int id, GymClient client, LoadTest.Plan plan, List<String> trainerPool) {
+        this.id = id;
+        this.client = client;
+        this.plan = plan;
+        this.trainerPool = trainerPool;
+    }
+
+    // Runs before the clock starts; nothing here is recorded
+    void prepare(int trainings) throws IOException, InterruptedException {
+        trainee = client.register("/api/trainee", traineeBody("Trainee" + id));
+        trainer = client.register("/api/trainer", trainerBody("Coach" + id));
+        trainerPool.add(trainer.username());
+        token = client.login(trainee);
+        for (int i = 0; i < trainings; i++) {
+            client.send("POST", "/api/training", trainingBody(), token);
+        }
+    }
+
+    @Override
+    public void run() {
+        while (!plan.finished()) {
+            Endpoint endpoint = plan.nextEndpoint();
+            long start = System.nanoTime();
+            String outcome;
+            boolean error;
+            try {
+                HttpResponse<String> response = execute(endpoint);
+                outcome = String.valueOf(response.statusCode());
+                error = response.statusCode() >= 400;
+            } catch (IOException e) {
+                outcome = e.getClass().getSimpleName();
+                error = true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            plan.record(endpoint, start, System.nanoTime() - start, outcome, error);
+            plan.thinkTime();
+        }
+    }
+
+    private HttpResponse<String> execute(Endpoint endpoint) throws IOException, InterruptedException {
+        return switch (endpoint) {
+            case REGISTER_TRAINEE -> client.send("POST", "/api/trainee", traineeBody("Extra" + id), null);
+            case REGISTER_TRAINER -> client.send("POST", "/api/trainer", trainerBody("Extra" + id), null);
+            case LOGIN -> login();
+            case UPDATE_PASSWORD -> updatePassword();
+            case GET_TRAINEE -> client.send("GET", "/api/trainees/" + trainee.username(), null, token);
+            case UPDATE_TRAINEE -> client.send("PUT", "/api/trainees/" + trainee.username(), traineeBody("Trainee" + id), token);
+            case DELETE_TRAINEE -> deleteTrainee();
+            case GET_TRAINER -> client.send("GET", "/api/trainers/" + randomTrainer(), null, token);
+            case UPDATE_TRAINER -> client.send("PUT", "/api/trainers/" + trainer.username(), trainerBody("Coach" + id), token);
+            case UNASSIGNED_TRAINERS -> client.send("GET", "/api/trainees/" + trainee.username() + "/trainersNotAssigned", null, token);
+            case UPDATE_TRAINEE_TRAINERS -> client.send("PUT", "/api/trainees/" + trainee.username() + "/trainers",
+                    List.of(randomTrainer(), randomTrainer()), token);
+            case TRAINEE_TRAININGS -> client.send("GET", "/api/trainees/" + trainee.username() + "/trainings", Map.of(), token);
+            case TRAINER_TRAININGS -> client.send("GET", "/api/trainers/" + randomTrainer() + "/trainings", Map.of(), token);
+            case ADD_TRAINING -> client.send("POST", "/api/training", trainingBody(), token);
+            case TRAINEE_STATUS -> client.send("PATCH", "/api/trainees/" + trainee.username() + "/status?isActive=true", null, token);
+            case TRAINER_STATUS -> client.send("PATCH", "/api/trainers/" + trainer.username() + "/status?isActive=true", null, token);
+            case TRAINING_TYPES -> client.send("GET", "/api/training-Types", null, token);
+        };
+    }
+
+    private HttpResponse<String> login() throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send("GET", "/api/user/login", trainee.asLoginRequest(), null);
+        if (response.statusCode() == 200) {
+            token = client.json(response).get("accessToken").asText();
+        }
+        return response;
+    }
+
+    private HttpResponse<String> updatePassword() throws IOException, InterruptedException {
+        String newPassword = "LoadPass" + id + "x" + (++passwordChanges);
+        HttpResponse<String> response = client.send("PUT", "/api/user/" + trainee.username() + "/password?newPassword="
+                + query(newPassword), null, token);
+        if (response.statusCode() == 200) {
+            trainee = trainee.withPassword(newPassword);
+        }
+        return response;
+    }
+
+    // Deleting needs a victim; registering it is setup, only the DELETE is measured by the caller
+    private HttpResponse<String> deleteTrainee() throws IOException, InterruptedException {
+        Credentials victim = client.register("/api/trainee", traineeBody("Deleted" + id));
+        return client.send("DELETE", "/api/trainees/" + victim.username(), null, token);
+    }
+
+    private String randomTrainer() {
+        return trainerPool.get(ThreadLocalRandom.current().nextInt(trainerPool.size()));
+    }
+
+    private Map<String, Object> trainingBody() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Map<String, Object> body = new HashMap<>();
+        body.put("traineeUsername", trainee.username());
+        body.put("trainerUsername", randomTrainer());
+        body.put("date", FIRST_TRAINING_DAY.plusDays(random.nextInt(365)).toString());
+        body.put("duration", 30 + random.nextInt(90));
+        body.put("name", "Load session " + id);
+        return body;
+    }
+
+    private Map<String, Object> traineeBody(String lastName) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("firstName", "Load");
+        body.put("lastName", lastName);
+        body.put("dateOfBirth", "1995-06-15");
+        body.put("address", ThreadLocalRandom.current().nextInt(1, 9999) + " Load St");
+        body.put("isActive", true);
+        return body;
+    }
+
+    private Map<String, Object> trainerBody(String lastName) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("firstName", "Load");
+        body.put("lastName", lastName);
+        body.put("specialization", SPECIALIZATIONS.get(id % SPECIALIZATIONS.size()));
+        body.put("isActive", true);
+        return body;
+    }
+}
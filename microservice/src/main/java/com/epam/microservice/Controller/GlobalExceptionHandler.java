@@ -1,7 +1,10 @@
 package com.epam.microservice.Controller;
 
+import com.epam.microservice.exception.BadRequestException;
+import com.epam.microservice.exception.DuplicateTransactionException;
 import com.epam.microservice.exception.MissingAttributes;
 import com.epam.microservice.exception.NotFoundException;
+import com.epam.microservice.exception.WorkloadUnavailableException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -17,11 +20,26 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new ErrorResponse(ex.getClass().getName(), ex.getMessage(), LocalDateTime.now(), HttpStatus.BAD_REQUEST.value(), ex.getCause(), ex.getLocalizedMessage(), List.of(ex.getStackTrace())));
     }
 
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<ErrorResponse> handleBadRequestException(BadRequestException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new ErrorResponse(ex.getClass().getName(), ex.getMessage(), LocalDateTime.now(), HttpStatus.BAD_REQUEST.value(), ex.getCause(), ex.getLocalizedMessage(), List.of(ex.getStackTrace())));
+    }
+
+    @ExceptionHandler(DuplicateTransactionException.class)
+    public ResponseEntity<ErrorResponse> handleDuplicateTransactionException(DuplicateTransactionException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(new ErrorResponse(ex.getClass().getName(), ex.getMessage(), LocalDateTime.now(), HttpStatus.CONFLICT.value(), ex.getCause(), ex.getLocalizedMessage(), List.of(ex.getStackTrace())));
+    }
+
     @ExceptionHandler(NotFoundException.class)
     public ResponseEntity<ErrorResponse> handleNotFoundException(NotFoundException ex) {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ErrorResponse(ex.getClass().getName(), ex.getMessage(), LocalDateTime.now(), HttpStatus.NOT_FOUND.value(), ex.getCause(), ex.getLocalizedMessage(), List.of(ex.getStackTrace())));
     }
 
+    @ExceptionHandler(WorkloadUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleWorkloadUnavailableException(WorkloadUnavailableException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(new ErrorResponse(ex.getClass().getName(), ex.getMessage(), LocalDateTime.now(), HttpStatus.SERVICE_UNAVAILABLE.value(), ex.getCause(), ex.getLocalizedMessage(), List.of(ex.getStackTrace())));
+    }
+
     // Handle generic exceptions
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleException(Exception ex) {
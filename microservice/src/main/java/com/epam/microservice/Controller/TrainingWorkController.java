@@ -1,22 +1,73 @@
 package com.epam.microservice.Controller;
 
+import com.epam.microservice.model.TrainingMonth;
 import com.epam.microservice.model.TrainingRequest;
+import com.epam.microservice.model.TrainingWork;
+import com.epam.microservice.model.TrainingYears;
+import com.epam.microservice.model.WorkloadBatchResult;
+import com.epam.microservice.service.TrainingWorkBatchService;
 import com.epam.microservice.service.TrainingWorkService;
+import com.epam.microservice.service.WorkloadAggregator;
+import com.epam.microservice.service.WorkloadSummaryService;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.MDC;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
 
 @RestController
 @RequestMapping("/Workloads")
 @RequiredArgsConstructor
 public class TrainingWorkController {
     private final TrainingWorkService trainingWorkService;
+    private final TrainingWorkBatchService trainingWorkBatchService;
+    private final WorkloadAggregator workloadAggregator;
+    private final WorkloadSummaryService workloadSummaryService;
 
     @PostMapping
     public ResponseEntity<String> actionTraining(@RequestBody TrainingRequest trainingRequest) {
-        trainingWorkService.acceptTrainerWork(trainingRequest);
+        if (workloadAggregator.isEnabled()) {
+            workloadAggregator.acceptTrainerWork(trainingRequest);
+        } else {
+            trainingWorkService.acceptTrainerWork(trainingRequest);
+        }
         return new ResponseEntity<>(trainingRequest.getAction() + "Action Completed successfully", HttpStatus.OK);
     }
+
+    @PostMapping("/batch")
+    public ResponseEntity<List<WorkloadBatchResult>> actionTrainingBatch(@RequestBody List<TrainingRequest> trainingRequests) {
+        return new ResponseEntity<>(trainingWorkBatchService.acceptTrainerWorkBatch(trainingRequests), HttpStatus.OK);
+    }
+
+    // Each read checks If-None-Match against the trainer's version first, so an unchanged summary costs no building
+    @GetMapping("/{username}")
+    public ResponseEntity<TrainingWork> getSummary(@PathVariable String username, WebRequest request) {
+        String etag = workloadSummaryService.etag(username);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(workloadSummaryService.getSummary(username));
+    }
+
+    @GetMapping("/{username}/{year}")
+    public ResponseEntity<TrainingYears> getYear(@PathVariable String username, @PathVariable int year, WebRequest request) {
+        String etag = workloadSummaryService.etag(username);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(workloadSummaryService.getYear(username, year));
+    }
+
+    @GetMapping("/{username}/{year}/{month}")
+    public ResponseEntity<TrainingMonth> getMonth(@PathVariable String username, @PathVariable int year,
+                                                  @PathVariable int month, WebRequest request) {
+        String etag = workloadSummaryService.etag(username);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(workloadSummaryService.getMonth(username, year, month));
+    }
 }
@@ -0,0 +1,26 @@
+package com.epam.microservice.configuration;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.TaskDecorator;
+
+// Virtual threads are opt-in through the virtual-threads profile (spring.threads.virtual.enabled=true, Java 21+).
+// Spring Boot then runs Tomcat requests and the application task executor on virtual threads.
+@Configuration
+public class ThreadingConfig {
+
+    public ThreadingConfig(Environment environment) {
+        if (environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false)
+                && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("spring.threads.virtual.enabled requires Java 21 or newer, running on "
+                    + Runtime.version());
+        }
+    }
+
+    // Picked up by the auto-configured task executor, so work handed off from a request keeps its transaction id
+    @Bean
+    public TaskDecorator mdcTaskDecorator() {
+        return new MdcTaskDecorator();
+    }
+}
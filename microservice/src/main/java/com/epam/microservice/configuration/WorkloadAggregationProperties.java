@@ -0,0 +1,28 @@
+package com.epam.microservice.configuration;
+
+import com.epam.microservice.wal.WalSyncPolicy;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties("workload.aggregation")
+public class WorkloadAggregationProperties {
+    // Off: every request commits its own transaction, as before
+    private boolean enabled = false;
+    private Duration flushInterval = Duration.ofSeconds(1);
+    // Statements per JDBC batch when dirty months are written back
+    private int batchSize = 500;
+    private Path walDirectory = Path.of("workload-wal");
+    // Preallocated and memory-mapped; a new segment is only started when the current one is full
+    private DataSize walSegmentSize = DataSize.ofMegabytes(64);
+    private WalSyncPolicy walSync = WalSyncPolicy.ALWAYS;
+    private Duration walSyncInterval = Duration.ofMillis(100);
+}
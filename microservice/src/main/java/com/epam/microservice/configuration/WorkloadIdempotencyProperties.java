@@ -0,0 +1,22 @@
+package com.epam.microservice.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties("workload.idempotency")
+public class WorkloadIdempotencyProperties {
+    private boolean enabled = true;
+    // Replays are rejected for at least this long after the original was applied
+    private Duration window = Duration.ofHours(24);
+    // Sizing of each prefilter generation; past this many ids per window the false positive rate climbs
+    private int expectedTransactions = 1_000_000;
+    private double falsePositiveRate = 0.01;
+    private Duration cleanupInterval = Duration.ofMinutes(10);
+}
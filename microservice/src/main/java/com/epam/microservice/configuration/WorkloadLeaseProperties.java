@@ -0,0 +1,19 @@
+package com.epam.microservice.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties("workload.lease")
+public class WorkloadLeaseProperties {
+    private boolean enabled = true;
+    // How long a crashed instance keeps the next one from starting; renewals have to come well within it
+    private Duration ttl = Duration.ofSeconds(30);
+    private Duration renewInterval = Duration.ofSeconds(10);
+}
@@ -0,0 +1,25 @@
+package com.epam.microservice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+// A workload update already applied, keyed by action and the caller's transaction id; committed together with it
+@Entity
+@Table(name = "processed_transaction",
+        indexes = @Index(name = "idx_processed_transaction_processed_at", columnList = "processed_at"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProcessedTransaction {
+    @Id
+    @Column(name = "idempotency_key", nullable = false)
+    private String idempotencyKey;
+    @Column(name = "processed_at", nullable = false)
+    private Instant processedAt;
+}
@@ -0,0 +1,29 @@
+package com.epam.microservice.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+// The instance that may run a stateful service until expires_at, see WorkloadLease
+@Entity
+@Table(name = "service_lease")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ServiceLease {
+    @Id
+    @Column(name = "name", nullable = false)
+    private String name;
+    @Column(name = "owner", nullable = false)
+    private String owner;
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+}
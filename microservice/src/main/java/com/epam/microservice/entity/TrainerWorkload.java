@@ -0,0 +1,35 @@
+package com.epam.microservice.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+// One row per trainer and calendar month; the composite primary key doubles as the lookup index
+@Entity
+@Table(name = "trainer_workload")
+@IdClass(TrainerWorkloadId.class)
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+public class TrainerWorkload {
+    @Id
+    @Column(name = "username", nullable = false)
+    private String username;
+    @Id
+    @Column(name = "training_year", nullable = false)
+    private int year;
+    @Id
+    @Column(name = "training_month", nullable = false)
+    private int month;
+    @Column(name = "first_name")
+    private String firstName;
+    @Column(name = "last_name")
+    private String lastName;
+    @Column(name = "status")
+    private Boolean status;
+    @Column(name = "hours", nullable = false)
+    private int hours;
+}
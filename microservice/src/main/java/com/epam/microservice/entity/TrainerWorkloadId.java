@@ -0,0 +1,18 @@
+package com.epam.microservice.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Getter
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrainerWorkloadId implements Serializable {
+    private String username;
+    private int year;
+    private int month;
+}
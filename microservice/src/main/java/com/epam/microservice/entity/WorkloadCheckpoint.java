@@ -0,0 +1,28 @@
+package com.epam.microservice.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// Write-ahead log position up to which the deltas are in trainer_workload; committed together with them
+@Entity
+@Table(name = "workload_checkpoint")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkloadCheckpoint {
+    @Id
+    @Column(name = "name", nullable = false)
+    private String name;
+    @Column(name = "segment", nullable = false)
+    private long segment;
+    // Null in rows written before checkpoints carried an offset, when one covered its whole segment
+    @Column(name = "segment_offset")
+    private Integer offset;
+}
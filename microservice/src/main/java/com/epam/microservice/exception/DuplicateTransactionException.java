@@ -0,0 +1,11 @@
+package com.epam.microservice.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class DuplicateTransactionException extends RuntimeException {
+    public DuplicateTransactionException(String message) {
+        super(message);
+    }
+}
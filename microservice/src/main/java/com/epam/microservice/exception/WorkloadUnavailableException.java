@@ -0,0 +1,11 @@
+package com.epam.microservice.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class WorkloadUnavailableException extends RuntimeException {
+    public WorkloadUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -1,11 +1,14 @@
 package com.epam.microservice.helper;
 
+import com.epam.microservice.exception.BadRequestException;
 import com.epam.microservice.exception.MissingAttributes;
 import com.epam.microservice.model.TrainingRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
 
+import java.util.List;
+
 public class Validations {
     private static final Logger LOGGER = LoggerFactory.getLogger(Validations.class);
 
@@ -17,6 +20,14 @@ public class Validations {
         }
     }
 
+    public static void validateTrainingRequests(List<TrainingRequest> trainingRequests) {
+        LOGGER.info("Transaction Id: {}, Validating training requests", MDC.get("transactionId"));
+        if (trainingRequests == null || trainingRequests.isEmpty()) {
+            LOGGER.error("Transaction Id: {}, Training requests are required", MDC.get("transactionId"));
+            throw new MissingAttributes("Training requests are required");
+        }
+    }
+
     public static void validateTrainingRequestForAdd(TrainingRequest trainingRequest) {
         LOGGER.info("Transaction Id: {}, Validating training request for add: {}", MDC.get("transactionId"), trainingRequest);
         if ((trainingRequest.getFirstName() == null || trainingRequest.getFirstName().isEmpty()) ||
@@ -49,4 +60,18 @@ public class Validations {
             throw new MissingAttributes("Action must be add or delete");
         }
     }
+
+    public static void validateYear(int year) {
+        if (year < 1 || year > 9999) {
+            LOGGER.error("Transaction Id: {}, Year must be between 1 and 9999", MDC.get("transactionId"));
+            throw new BadRequestException("Year must be between 1 and 9999");
+        }
+    }
+
+    public static void validateMonth(int month) {
+        if (month < 1 || month > 12) {
+            LOGGER.error("Transaction Id: {}, Month must be between 1 and 12", MDC.get("transactionId"));
+            throw new BadRequestException("Month must be between 1 and 12");
+        }
+    }
 }
@@ -0,0 +1,13 @@
+package com.epam.microservice.model;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@ToString
+public class TrainingMonth {
+    private String monthName;
+    private Integer hours;
+}
@@ -1,24 +1,19 @@
-package com.epam.microservice.entity;
+package com.epam.microservice.model;
 
-import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
 
 import java.util.List;
 
-@Entity
 @Getter
 @Setter
 @ToString
 public class TrainingWork {
-    @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
-    private Long id;
     private String username;
     private String firstName;
     private String lastName;
     private Boolean status;
-    @OneToMany
     private List<TrainingYears> years;
+    private Integer totalHours;
 }
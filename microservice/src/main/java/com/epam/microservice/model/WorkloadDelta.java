@@ -0,0 +1,14 @@
+package com.epam.microservice.model;
+
+// A netted change to one trainer-month; names and status come from the latest add, as in the batch endpoint
+public record WorkloadDelta(WorkloadKey key, String firstName, String lastName, Boolean status, int hours) {
+
+    public WorkloadDelta plus(WorkloadDelta later) {
+        boolean renamed = later.firstName() != null;
+        return new WorkloadDelta(key,
+                renamed ? later.firstName() : firstName,
+                renamed ? later.lastName() : lastName,
+                renamed ? later.status() : status,
+                hours + later.hours());
+    }
+}
@@ -0,0 +1,4 @@
+package com.epam.microservice.model;
+
+public record WorkloadKey(String username, int year, int month) {
+}
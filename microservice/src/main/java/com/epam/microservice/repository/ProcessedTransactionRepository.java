@@ -0,0 +1,28 @@
+package com.epam.microservice.repository;
+
+import com.epam.microservice.entity.ProcessedTransaction;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface ProcessedTransactionRepository extends JpaRepository<ProcessedTransaction, String> {
+
+    // A plain insert, so a concurrent replay of the same key fails on the primary key instead of being merged
+    @Modifying
+    @Query(value = "INSERT INTO processed_transaction (idempotency_key, processed_at) VALUES (:idempotencyKey, :processedAt)",
+            nativeQuery = true)
+    int insert(@Param("idempotencyKey") String idempotencyKey, @Param("processedAt") Instant processedAt);
+
+    @Query("SELECT p.idempotencyKey FROM ProcessedTransaction p WHERE p.processedAt >= :since")
+    List<String> findKeysProcessedSince(@Param("since") Instant since);
+
+    @Modifying
+    @Query("DELETE FROM ProcessedTransaction p WHERE p.processedAt < :before")
+    int deleteProcessedBefore(@Param("before") Instant before);
+}
@@ -0,0 +1,36 @@
+package com.epam.microservice.repository;
+
+import com.epam.microservice.entity.ServiceLease;
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+
+// Each call is its own transaction, so the lease can be taken while the application context is still starting
+@Repository
+public interface ServiceLeaseRepository extends JpaRepository<ServiceLease, String> {
+
+    // Renews a lease this owner holds, or takes over one that has expired
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE service_lease SET owner = :owner, expires_at = :expiresAt " +
+            "WHERE name = :name AND (owner = :owner OR expires_at < :now)", nativeQuery = true)
+    int extend(@Param("name") String name, @Param("owner") String owner, @Param("now") Instant now,
+               @Param("expiresAt") Instant expiresAt);
+
+    // A plain insert, so of two instances starting together only one creates the lease
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO service_lease (name, owner, expires_at) VALUES (:name, :owner, :expiresAt)",
+            nativeQuery = true)
+    int insert(@Param("name") String name, @Param("owner") String owner, @Param("expiresAt") Instant expiresAt);
+
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM service_lease WHERE name = :name AND owner = :owner", nativeQuery = true)
+    int release(@Param("name") String name, @Param("owner") String owner);
+}
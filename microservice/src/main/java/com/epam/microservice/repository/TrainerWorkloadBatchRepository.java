@@ -0,0 +1,79 @@
+package com.epam.microservice.repository;
+
+import com.epam.microservice.model.WorkloadDelta;
+import com.epam.microservice.model.WorkloadKey;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+// The statements of TrainerWorkloadRepository, sent as JDBC batches
+@Repository
+@RequiredArgsConstructor
+public class TrainerWorkloadBatchRepository {
+    private static final String ADD_HOURS = "INSERT INTO trainer_workload (username, training_year, training_month, first_name, last_name, status, hours) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE hours = hours + VALUES(hours), " +
+            "first_name = VALUES(first_name), last_name = VALUES(last_name), status = VALUES(status)";
+    private static final String SUBTRACT_HOURS = "UPDATE trainer_workload SET hours = hours - ? " +
+            "WHERE username = ? AND training_year = ? AND training_month = ?";
+    private static final String DELETE_IF_EMPTY = "DELETE FROM trainer_workload " +
+            "WHERE username = ? AND training_year = ? AND training_month = ? AND hours <= 0";
+    private static final String ALL_WORKLOADS = "SELECT username, training_year, training_month, first_name, last_name, status, hours " +
+            "FROM trainer_workload";
+    // MySQL only honours this with useCursorFetch=true on the URL; otherwise the driver buffers the whole result
+    private static final int FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void applyDeltas(Collection<WorkloadDelta> deltas, int batchSize) {
+        List<WorkloadDelta> additions = new ArrayList<>();
+        List<WorkloadDelta> removals = new ArrayList<>();
+        for (WorkloadDelta delta : deltas) {
+            if (delta.hours() > 0) {
+                additions.add(delta);
+            } else if (delta.hours() < 0) {
+                removals.add(delta);
+            }
+        }
+        jdbcTemplate.batchUpdate(ADD_HOURS, additions, batchSize, (statement, delta) -> {
+            statement.setString(1, delta.key().username());
+            statement.setInt(2, delta.key().year());
+            statement.setInt(3, delta.key().month());
+            statement.setString(4, delta.firstName());
+            statement.setString(5, delta.lastName());
+            statement.setObject(6, delta.status());
+            statement.setInt(7, delta.hours());
+        });
+        jdbcTemplate.batchUpdate(SUBTRACT_HOURS, removals, batchSize, (statement, delta) -> {
+            statement.setInt(1, -delta.hours());
+            statement.setString(2, delta.key().username());
+            statement.setInt(3, delta.key().year());
+            statement.setInt(4, delta.key().month());
+        });
+        jdbcTemplate.batchUpdate(DELETE_IF_EMPTY, removals, batchSize, (statement, delta) -> {
+            statement.setString(1, delta.key().username());
+            statement.setInt(2, delta.key().year());
+            statement.setInt(3, delta.key().month());
+        });
+    }
+
+    // Every row as an add of its hours, without building entities
+    public void forEachWorkload(Consumer<WorkloadDelta> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(ALL_WORKLOADS, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(FETCH_SIZE);
+            return statement;
+        }, row -> {
+            consumer.accept(new WorkloadDelta(
+                    new WorkloadKey(row.getString(1), row.getInt(2), row.getInt(3)),
+                    row.getString(4), row.getString(5), row.getObject(6, Boolean.class), row.getInt(7)));
+        });
+    }
+}
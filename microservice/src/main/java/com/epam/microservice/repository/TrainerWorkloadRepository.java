@@ -0,0 +1,49 @@
+package com.epam.microservice.repository;
+
+import com.epam.microservice.entity.TrainerWorkload;
+import com.epam.microservice.entity.TrainerWorkloadId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface TrainerWorkloadRepository extends JpaRepository<TrainerWorkload, TrainerWorkloadId> {
+
+    @Modifying
+    @Query(value = "INSERT INTO trainer_workload (username, training_year, training_month, first_name, last_name, status, hours) " +
+            "VALUES (:username, :year, :month, :firstName, :lastName, :status, :hours) " +
+            "ON DUPLICATE KEY UPDATE hours = hours + VALUES(hours), " +
+            "first_name = VALUES(first_name), last_name = VALUES(last_name), status = VALUES(status)",
+            nativeQuery = true)
+    int addHours(@Param("username") String username,
+                 @Param("year") int year,
+                 @Param("month") int month,
+                 @Param("firstName") String firstName,
+                 @Param("lastName") String lastName,
+                 @Param("status") Boolean status,
+                 @Param("hours") int hours);
+
+    // Matches nothing when the month has fewer hours than are removed
+    @Modifying
+    @Query("UPDATE TrainerWorkload w SET w.hours = w.hours - :hours " +
+            "WHERE w.username = :username AND w.year = :year AND w.month = :month AND w.hours >= :hours")
+    int subtractHours(@Param("username") String username,
+                      @Param("year") int year,
+                      @Param("month") int month,
+                      @Param("hours") int hours);
+
+    @Modifying
+    @Query("DELETE FROM TrainerWorkload w " +
+            "WHERE w.username = :username AND w.year = :year AND w.month = :month AND w.hours <= 0")
+    int deleteIfEmpty(@Param("username") String username,
+                      @Param("year") int year,
+                      @Param("month") int month);
+
+    boolean existsByUsername(String username);
+
+    List<TrainerWorkload> findAllByUsernameOrderByYearAscMonthAsc(String username);
+}
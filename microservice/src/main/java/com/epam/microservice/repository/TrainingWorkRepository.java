@@ -1,12 +1,52 @@
 package com.epam.microservice.repository;
 
-import com.epam.microservice.entity.TrainingWork;
-import org.springframework.data.jpa.repository.JpaRepository;
+import com.epam.microservice.entity.TrainerWorkload;
+import com.epam.microservice.model.TrainingMonth;
+import com.epam.microservice.model.TrainingWork;
+import com.epam.microservice.model.TrainingYears;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
+// Read view that rebuilds the trainer -> years -> months summary from the trainer_workload rows
 @Repository
-public interface TrainingWorkRepository extends JpaRepository<TrainingWork, Long> {
-    Optional<TrainingWork> findByUsername(String username);
+@RequiredArgsConstructor
+public class TrainingWorkRepository {
+    private final TrainerWorkloadRepository trainerWorkloadRepository;
+
+    public Optional<TrainingWork> findByUsername(String username) {
+        List<TrainerWorkload> rows = trainerWorkloadRepository.findAllByUsernameOrderByYearAscMonthAsc(username);
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        TrainerWorkload latest = rows.get(rows.size() - 1);
+        TrainingWork trainingWork = new TrainingWork();
+        trainingWork.setUsername(username);
+        trainingWork.setFirstName(latest.getFirstName());
+        trainingWork.setLastName(latest.getLastName());
+        trainingWork.setStatus(latest.getStatus());
+        List<TrainingYears> years = new ArrayList<>();
+        TrainingYears currentYear = null;
+        for (TrainerWorkload row : rows) {
+            String yearNumber = String.valueOf(row.getYear());
+            if (currentYear == null || !currentYear.getYearNumber().equals(yearNumber)) {
+                currentYear = new TrainingYears();
+                currentYear.setYearNumber(yearNumber);
+                currentYear.setMonths(new ArrayList<>());
+                currentYear.setTotalHours(0);
+                years.add(currentYear);
+            }
+            TrainingMonth month = new TrainingMonth();
+            month.setMonthName(String.valueOf(row.getMonth()));
+            month.setHours(row.getHours());
+            currentYear.getMonths().add(month);
+            currentYear.setTotalHours(currentYear.getTotalHours() + row.getHours());
+        }
+        trainingWork.setYears(years);
+        trainingWork.setTotalHours(years.stream().mapToInt(TrainingYears::getTotalHours).sum());
+        return Optional.of(trainingWork);
+    }
 }
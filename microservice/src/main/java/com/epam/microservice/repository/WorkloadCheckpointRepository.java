@@ -1,9 +1,9 @@
 package com.epam.microservice.repository;
 
-import com.epam.microservice.entity.TrainingYears;
+import com.epam.microservice.entity.WorkloadCheckpoint;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface TrainingYearsRepository extends JpaRepository<TrainingYears, Long> {
+public interface WorkloadCheckpointRepository extends JpaRepository<WorkloadCheckpoint, String> {
 }
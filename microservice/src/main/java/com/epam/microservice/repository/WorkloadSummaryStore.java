@@ -0,0 +1,335 @@
+package com.epam.microservice.repository;
+
+import com.epam.microservice.model.TrainingMonth;
+import com.epam.microservice.model.TrainingWork;
+import com.epam.microservice.model.TrainingYears;
+import com.epam.microservice.model.WorkloadDelta;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// In-memory read model of every trainer's monthly hours, kept in primitive arrays instead of an object per month.
+// Usernames are interned to int ids through an open-addressing table; each trainer-year is a packed block of 12 ints
+// in one shared slab, found through an open-addressing map from (id, year) to the block's offset.
+//
+// Yearly and overall totals and a per-trainer version are kept up to date by apply, so reads never sum months and
+// a reader can tell from the version alone whether anything changed.
+//
+// Footprint with compressed oops, both tables at most half full:
+//   per trainer  16 bytes of username table, 25 bytes of per-id arrays, plus the username and name Strings
+//   per year     24 bytes of (id, year) table, 48 bytes of hours, 4 bytes of total
+// so a trainer with two years of history costs about 200 bytes plus its Strings, and up to twice that right after
+// the arrays grow. The same trainer as a TrainingWork -> TrainingYears -> TrainingMonth graph is about 2.6 KB,
+// 88 bytes per month for the TrainingMonth, its String name and its boxed hours.
+// Years are never removed; a year whose months drained to zero is skipped when read.
+//
+// Only changes committed by this process reach the store, which is why the service runs as one instance (WorkloadLease).
+@Repository
+public class WorkloadSummaryStore {
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int MONTHS = 12;
+    private static final byte STATUS_UNKNOWN = 0;
+    private static final byte STATUS_INACTIVE = 1;
+    private static final byte STATUS_ACTIVE = 2;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Versions restart from zero with every process, so they are only comparable within one epoch
+    private final long epoch = System.currentTimeMillis();
+
+    // username -> id; a slot is free while its username is null
+    private String[] usernameTable = new String[INITIAL_CAPACITY];
+    private int[] usernameIds = new int[INITIAL_CAPACITY];
+
+    // Indexed by id
+    private String[] usernames = new String[INITIAL_CAPACITY / 2];
+    private String[] firstNames = new String[INITIAL_CAPACITY / 2];
+    private String[] lastNames = new String[INITIAL_CAPACITY / 2];
+    private byte[] statuses = new byte[INITIAL_CAPACITY / 2];
+    private short[] firstYears = new short[INITIAL_CAPACITY / 2];
+    private short[] lastYears = new short[INITIAL_CAPACITY / 2];
+    private int[] totals = new int[INITIAL_CAPACITY / 2];
+    private int[] versions = new int[INITIAL_CAPACITY / 2];
+    private int trainers;
+
+    // (id + 1) << 16 | year -> offset of the year's months in hours; a slot is free while its key is 0
+    private long[] yearKeys = new long[INITIAL_CAPACITY];
+    private int[] yearOffsets = new int[INITIAL_CAPACITY];
+    private int[] hours = new int[INITIAL_CAPACITY / 2 * MONTHS];
+    // Indexed by offset / MONTHS
+    private int[] yearTotals = new int[INITIAL_CAPACITY / 2];
+    private int years;
+
+    // Same rules as the trainer_workload statements: adds create the month and take the names, removals never
+    // create a month and leave it at zero when they drain it
+    public void apply(WorkloadDelta delta) {
+        lock.writeLock().lock();
+        try {
+            int id = idOf(delta.key().username());
+            if (delta.hours() > 0) {
+                if (id < 0) {
+                    id = intern(delta.key().username());
+                }
+                if (delta.firstName() != null) {
+                    firstNames[id] = delta.firstName();
+                    lastNames[id] = delta.lastName();
+                    statuses[id] = delta.status() == null ? STATUS_UNKNOWN : delta.status() ? STATUS_ACTIVE : STATUS_INACTIVE;
+                }
+                addHours(id, yearOffset(id, delta.key().year(), true), delta.key().month(), delta.hours());
+                versions[id]++;
+            } else if (delta.hours() < 0 && id >= 0) {
+                int offset = yearOffset(id, delta.key().year(), false);
+                if (offset >= 0 && hours[offset + delta.key().month() - 1] > 0) {
+                    addHours(id, offset, delta.key().month(),
+                            Math.max(delta.hours(), -hours[offset + delta.key().month() - 1]));
+                    versions[id]++;
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public long epoch() {
+        return epoch;
+    }
+
+    // Changes with every update that touched the trainer; -1 for a trainer never seen
+    public long version(String username) {
+        lock.readLock().lock();
+        try {
+            int id = idOf(username);
+            return id < 0 ? -1 : versions[id];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int hours(String username, int year, int month) {
+        lock.readLock().lock();
+        try {
+            int id = idOf(username);
+            int offset = id < 0 ? -1 : yearOffset(id, year, false);
+            return offset < 0 ? 0 : hours[offset + month - 1];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // A copy of the year's twelve months, January first
+    public int[] months(String username, int year) {
+        lock.readLock().lock();
+        try {
+            int id = idOf(username);
+            int offset = id < 0 ? -1 : yearOffset(id, year, false);
+            return offset < 0 ? new int[MONTHS] : Arrays.copyOfRange(hours, offset, offset + MONTHS);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // The same shape TrainingWorkRepository builds from the database, empty months and years left out
+    public Optional<TrainingWork> findByUsername(String username) {
+        lock.readLock().lock();
+        try {
+            int id = idOf(username);
+            if (id < 0) {
+                return Optional.empty();
+            }
+            if (totals[id] == 0) {
+                return Optional.empty();
+            }
+            List<TrainingYears> trainingYears = new ArrayList<>();
+            for (int year = firstYears[id]; year <= lastYears[id]; year++) {
+                int offset = yearOffset(id, year, false);
+                if (offset >= 0 && yearTotals[offset / MONTHS] > 0) {
+                    trainingYears.add(trainingYear(offset, year));
+                }
+            }
+            TrainingWork trainingWork = new TrainingWork();
+            trainingWork.setUsername(username);
+            trainingWork.setFirstName(firstNames[id]);
+            trainingWork.setLastName(lastNames[id]);
+            trainingWork.setStatus(statuses[id] == STATUS_UNKNOWN ? null : statuses[id] == STATUS_ACTIVE);
+            trainingWork.setYears(trainingYears);
+            trainingWork.setTotalHours(totals[id]);
+            return Optional.of(trainingWork);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Optional<TrainingYears> findYear(String username, int year) {
+        lock.readLock().lock();
+        try {
+            int id = idOf(username);
+            int offset = id < 0 ? -1 : yearOffset(id, year, false);
+            if (offset < 0 || yearTotals[offset / MONTHS] == 0) {
+                return Optional.empty();
+            }
+            return Optional.of(trainingYear(offset, year));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int trainers() {
+        lock.readLock().lock();
+        try {
+            return trainers;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Bytes held by the arrays, including unused capacity; the username and name Strings are not counted
+    public long arrayBytes() {
+        lock.readLock().lock();
+        try {
+            return array(usernameTable.length, 4) + array(usernameIds.length, 4)
+                    + 3 * array(usernames.length, 4) + array(statuses.length, 1) + 2 * array(firstYears.length, 2)
+                    + 2 * array(totals.length, 4) + array(yearKeys.length, 8) + array(yearOffsets.length, 4)
+                    + array(hours.length, 4) + array(yearTotals.length, 4);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private TrainingYears trainingYear(int offset, int year) {
+        List<TrainingMonth> months = new ArrayList<>();
+        for (int month = 0; month < MONTHS; month++) {
+            if (hours[offset + month] > 0) {
+                TrainingMonth trainingMonth = new TrainingMonth();
+                trainingMonth.setMonthName(String.valueOf(month + 1));
+                trainingMonth.setHours(hours[offset + month]);
+                months.add(trainingMonth);
+            }
+        }
+        TrainingYears trainingYear = new TrainingYears();
+        trainingYear.setYearNumber(String.valueOf(year));
+        trainingYear.setMonths(months);
+        trainingYear.setTotalHours(yearTotals[offset / MONTHS]);
+        return trainingYear;
+    }
+
+    private void addHours(int id, int offset, int month, int delta) {
+        hours[offset + month - 1] += delta;
+        yearTotals[offset / MONTHS] += delta;
+        totals[id] += delta;
+    }
+
+    private int idOf(String username) {
+        int mask = usernameTable.length - 1;
+        for (int slot = mix(username.hashCode()) & mask; ; slot = (slot + 1) & mask) {
+            String candidate = usernameTable[slot];
+            if (candidate == null) {
+                return -1;
+            }
+            if (candidate.equals(username)) {
+                return usernameIds[slot];
+            }
+        }
+    }
+
+    private int intern(String username) {
+        if (2 * (trainers + 1) > usernameTable.length) {
+            String[] oldTable = usernameTable;
+            int[] oldIds = usernameIds;
+            usernameTable = new String[oldTable.length * 2];
+            usernameIds = new int[oldTable.length * 2];
+            for (int slot = 0; slot < oldTable.length; slot++) {
+                if (oldTable[slot] != null) {
+                    putUsername(oldTable[slot], oldIds[slot]);
+                }
+            }
+        }
+        if (trainers == usernames.length) {
+            int capacity = trainers * 2;
+            usernames = Arrays.copyOf(usernames, capacity);
+            firstNames = Arrays.copyOf(firstNames, capacity);
+            lastNames = Arrays.copyOf(lastNames, capacity);
+            statuses = Arrays.copyOf(statuses, capacity);
+            firstYears = Arrays.copyOf(firstYears, capacity);
+            lastYears = Arrays.copyOf(lastYears, capacity);
+            totals = Arrays.copyOf(totals, capacity);
+            versions = Arrays.copyOf(versions, capacity);
+        }
+        int id = trainers++;
+        usernames[id] = username;
+        putUsername(username, id);
+        return id;
+    }
+
+    private void putUsername(String username, int id) {
+        int mask = usernameTable.length - 1;
+        int slot = mix(username.hashCode()) & mask;
+        while (usernameTable[slot] != null) {
+            slot = (slot + 1) & mask;
+        }
+        usernameTable[slot] = username;
+        usernameIds[slot] = id;
+    }
+
+    private int yearOffset(int id, int year, boolean create) {
+        long key = ((long) (id + 1) << 16) | year;
+        int mask = yearKeys.length - 1;
+        int slot = mix(Long.hashCode(key)) & mask;
+        for (; yearKeys[slot] != 0; slot = (slot + 1) & mask) {
+            if (yearKeys[slot] == key) {
+                return yearOffsets[slot];
+            }
+        }
+        if (!create) {
+            return -1;
+        }
+        int offset = years * MONTHS;
+        if (offset == hours.length) {
+            hours = Arrays.copyOf(hours, hours.length * 2);
+            yearTotals = Arrays.copyOf(yearTotals, yearTotals.length * 2);
+        }
+        years++;
+        yearKeys[slot] = key;
+        yearOffsets[slot] = offset;
+        if (firstYears[id] == 0 || year < firstYears[id]) {
+            firstYears[id] = (short) year;
+        }
+        if (year > lastYears[id]) {
+            lastYears[id] = (short) year;
+        }
+        if (2 * years > yearKeys.length) {
+            growYears();
+        }
+        return offset;
+    }
+
+    private void growYears() {
+        long[] oldKeys = yearKeys;
+        int[] oldOffsets = yearOffsets;
+        yearKeys = new long[oldKeys.length * 2];
+        yearOffsets = new int[oldKeys.length * 2];
+        int mask = yearKeys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int slot = mix(Long.hashCode(oldKeys[i])) & mask;
+                while (yearKeys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                yearKeys[slot] = oldKeys[i];
+                yearOffsets[slot] = oldOffsets[i];
+            }
+        }
+    }
+
+    private static int mix(int hash) {
+        int spread = hash * 0x9E3779B9;
+        return spread ^ (spread >>> 16);
+    }
+
+    private static long array(int length, int elementBytes) {
+        return 16 + (long) length * elementBytes;
+    }
+}
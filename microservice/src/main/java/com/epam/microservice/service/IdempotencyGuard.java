@@ -0,0 +1,148 @@
+package com.epam.microservice.service;
+
+import com.epam.microservice.configuration.WorkloadIdempotencyProperties;
+import com.epam.microservice.entity.ProcessedTransaction;
+import com.epam.microservice.exception.DuplicateTransactionException;
+import com.epam.microservice.helper.BloomFilter;
+import com.epam.microservice.repository.ProcessedTransactionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+// Rejects replayed (transaction id, action) pairs. processed_transaction is the record; in front of it sit two Bloom
+// filter generations covering at least one window, so an id never seen before is let through without a query.
+// Only ids the filter might have seen are looked up, and the primary key settles two replays racing each other.
+@Service
+public class IdempotencyGuard {
+    private static final Logger LOGGER = LoggerFactory.getLogger(IdempotencyGuard.class);
+
+    private final ProcessedTransactionRepository processedTransactionRepository;
+    private final WorkloadIdempotencyProperties properties;
+    private final Counter duplicates;
+    private final Counter lookups;
+    // A generation takes inserts for one window and answers for one more, so nothing younger than a window is missed
+    private volatile BloomFilter current;
+    private volatile BloomFilter previous;
+    private volatile Instant rotatedAt = Instant.now();
+
+    public IdempotencyGuard(ProcessedTransactionRepository processedTransactionRepository,
+                            WorkloadIdempotencyProperties properties, MeterRegistry meterRegistry) {
+        this.processedTransactionRepository = processedTransactionRepository;
+        this.properties = properties;
+        this.duplicates = meterRegistry.counter("workload.idempotency.duplicates");
+        this.lookups = meterRegistry.counter("workload.idempotency.lookups");
+        this.current = newFilter();
+        this.previous = newFilter();
+    }
+
+    // Without this, every id after a restart would look new until the filters filled up again
+    @PostConstruct
+    public void load() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        List<String> keys = processedTransactionRepository.findKeysProcessedSince(Instant.now().minus(properties.getWindow()));
+        keys.forEach(current::put);
+        LOGGER.info("Loaded {} processed transaction ids into the idempotency filter", keys.size());
+    }
+
+    public boolean isDuplicate(String transactionId, String action) {
+        if (!properties.isEnabled() || transactionId == null || transactionId.isEmpty()) {
+            return false;
+        }
+        String key = keyOf(transactionId, action);
+        if (!current.mightContain(key) && !previous.mightContain(key)) {
+            return false;
+        }
+        lookups.increment();
+        if (!processedTransactionRepository.existsById(key)) {
+            return false;
+        }
+        duplicates.increment();
+        LOGGER.info("Transaction Id: {}, Skipping {} already applied for transaction {}", MDC.get("transactionId"), action, transactionId);
+        return true;
+    }
+
+    // Joins the transaction that applies the update, so the record and the update commit or roll back together.
+    // Without one (write-behind mode) it commits on its own and reserves the keys before the update is logged
+    @Transactional
+    public void record(Collection<String> keys) {
+        if (!properties.isEnabled() || keys.isEmpty()) {
+            return;
+        }
+        Instant now = Instant.now();
+        for (String key : keys) {
+            try {
+                processedTransactionRepository.insert(key, now);
+            } catch (DataIntegrityViolationException e) {
+                LOGGER.error("Transaction Id: {}, Transaction {} is already being applied", MDC.get("transactionId"), key);
+                throw new DuplicateTransactionException("Transaction " + key + " is already being applied");
+            }
+            current.put(key);
+        }
+    }
+
+    // Gives back keys reserved for an update that never reached the write-ahead log, so a retry is applied
+    @Transactional
+    public void release(Collection<String> keys) {
+        if (!properties.isEnabled() || keys.isEmpty()) {
+            return;
+        }
+        processedTransactionRepository.deleteAllById(keys);
+    }
+
+    // Keys of updates replayed from the write-ahead log; any whose row has gone missing is recorded again
+    @Transactional
+    public void restore(Collection<String> keys) {
+        if (!properties.isEnabled() || keys.isEmpty()) {
+            return;
+        }
+        Instant now = Instant.now();
+        for (String key : keys) {
+            if (!processedTransactionRepository.existsById(key)) {
+                processedTransactionRepository.insert(key, now);
+            }
+            current.put(key);
+        }
+        LOGGER.info("Restored {} transaction ids replayed from the workload log", keys.size());
+    }
+
+    @Scheduled(fixedDelayString = "${workload.idempotency.cleanup-interval:PT10M}")
+    @Transactional
+    public void expire() {
+        Instant now = Instant.now();
+        if (!rotatedAt.plus(properties.getWindow()).isAfter(now)) {
+            previous = current;
+            current = newFilter();
+            rotatedAt = now;
+        }
+        int deleted = processedTransactionRepository.deleteProcessedBefore(now.minus(properties.getWindow()));
+        if (deleted > 0) {
+            LOGGER.info("Removed {} processed transaction ids older than {}", deleted, properties.getWindow());
+        }
+    }
+
+    // Null for requests without a transaction id; those are applied every time they arrive
+    public static String keyOf(String transactionId, String action) {
+        if (transactionId == null || transactionId.isEmpty()) {
+            return null;
+        }
+        return action.toUpperCase(Locale.ROOT) + ":" + transactionId;
+    }
+
+    private BloomFilter newFilter() {
+        return new BloomFilter(properties.getExpectedTransactions(), properties.getFalsePositiveRate());
+    }
+}
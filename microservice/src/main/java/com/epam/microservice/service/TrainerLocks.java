@@ -0,0 +1,34 @@
+package com.epam.microservice.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Serializes updates per trainer without a global lock: a username always maps to the same stripe, so two updates
+// for one trainer queue up while updates for trainers on other stripes go ahead
+@Component
+public class TrainerLocks {
+    private static final int STRIPES = 256;
+
+    private final Lock[] stripes;
+
+    public TrainerLocks() {
+        this(STRIPES);
+    }
+
+    public TrainerLocks(int stripes) {
+        if (Integer.bitCount(stripes) != 1) {
+            throw new IllegalArgumentException("Stripe count must be a power of two, was " + stripes);
+        }
+        this.stripes = new Lock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public Lock lockFor(String username) {
+        int spread = username.hashCode() * 0x9E3779B9;
+        return stripes[(spread ^ (spread >>> 16)) & (stripes.length - 1)];
+    }
+}
@@ -0,0 +1,127 @@
+package com.epam.microservice.service;
+
+import com.epam.microservice.exception.MissingAttributes;
+import com.epam.microservice.exception.NotFoundException;
+import com.epam.microservice.model.TrainingRequest;
+import com.epam.microservice.model.WorkloadBatchResult;
+import com.epam.microservice.model.WorkloadKey;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.epam.microservice.helper.Validations.*;
+
+@Service
+@RequiredArgsConstructor
+public class TrainingWorkBatchService {
+    private final TrainingWorkService trainingWorkService;
+    private final WorkloadAggregator workloadAggregator;
+    private final IdempotencyGuard idempotencyGuard;
+    private final WorkloadLease workloadLease;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TrainingWorkBatchService.class);
+    static final String ALREADY_APPLIED = "Already applied";
+
+    public List<WorkloadBatchResult> acceptTrainerWorkBatch(List<TrainingRequest> trainingRequests) {
+        validateTrainingRequests(trainingRequests);
+        // Answered as a whole rather than as one failure per trainer-month
+        workloadLease.requireHeld();
+        LOGGER.info("Transaction Id: {}, Accepting batch of {} training requests", MDC.get("transactionId"), trainingRequests.size());
+        List<WorkloadBatchResult> results = new ArrayList<>(trainingRequests.size());
+        Map<WorkloadKey, Group> groups = new LinkedHashMap<>();
+        Set<String> idempotencyKeys = new HashSet<>();
+        for (int i = 0; i < trainingRequests.size(); i++) {
+            TrainingRequest trainingRequest = trainingRequests.get(i);
+            WorkloadBatchResult result = new WorkloadBatchResult(i, trainingRequest == null ? null : trainingRequest.getTransactionId(), null, null);
+            results.add(result);
+            try {
+                validateBatchItem(trainingRequest);
+            } catch (MissingAttributes e) {
+                result.setStatus(WorkloadBatchResult.REJECTED);
+                result.setMessage(e.getMessage());
+                continue;
+            }
+            // A replay was applied before, so for the caller it succeeded
+            String idempotencyKey = IdempotencyGuard.keyOf(trainingRequest.getTransactionId(), trainingRequest.getAction());
+            if ((idempotencyKey != null && !idempotencyKeys.add(idempotencyKey))
+                    || idempotencyGuard.isDuplicate(trainingRequest.getTransactionId(), trainingRequest.getAction())) {
+                result.setStatus(WorkloadBatchResult.OK);
+                result.setMessage(ALREADY_APPLIED);
+                continue;
+            }
+            groups.computeIfAbsent(TrainingWorkService.keyOf(trainingRequest), key -> new Group()).add(trainingRequest, result);
+        }
+        groups.forEach(this::applyGroup);
+        LOGGER.info("Transaction Id: {}, Applied {} training requests as {} workload updates", MDC.get("transactionId"), trainingRequests.size(), groups.size());
+        return results;
+    }
+
+    private void validateBatchItem(TrainingRequest trainingRequest) {
+        validateTrainingRequest(trainingRequest);
+        validateAction(trainingRequest);
+        if (trainingRequest.getAction().equalsIgnoreCase("add")) {
+            validateTrainingRequestForAdd(trainingRequest);
+        } else {
+            validateTrainingRequestForDelete(trainingRequest);
+        }
+    }
+
+    // Every group is netted in memory and written in its own transaction
+    private void applyGroup(WorkloadKey key, Group group) {
+        String status = WorkloadBatchResult.OK;
+        String message = null;
+        try {
+            if (workloadAggregator.isEnabled()) {
+                workloadAggregator.accept(key, group.firstName, group.lastName, group.isActive, group.hours, group.idempotencyKeys);
+            } else {
+                trainingWorkService.applyDelta(key, group.firstName, group.lastName, group.isActive, group.hours, group.idempotencyKeys);
+            }
+        } catch (NotFoundException e) {
+            status = WorkloadBatchResult.NOT_FOUND;
+            message = e.getMessage();
+        } catch (RuntimeException e) {
+            LOGGER.error("Transaction Id: {}, Failed to apply workload update for: {}", MDC.get("transactionId"), key, e);
+            status = WorkloadBatchResult.FAILED;
+            message = e.getMessage();
+        }
+        for (WorkloadBatchResult result : group.results) {
+            result.setStatus(status);
+            result.setMessage(message);
+        }
+    }
+
+    private static class Group {
+        private final List<WorkloadBatchResult> results = new ArrayList<>();
+        private final List<String> idempotencyKeys = new ArrayList<>();
+        private String firstName;
+        private String lastName;
+        private Boolean isActive;
+        private int hours;
+
+        private void add(TrainingRequest trainingRequest, WorkloadBatchResult result) {
+            results.add(result);
+            String idempotencyKey = IdempotencyGuard.keyOf(trainingRequest.getTransactionId(), trainingRequest.getAction());
+            if (idempotencyKey != null) {
+                idempotencyKeys.add(idempotencyKey);
+            }
+            int duration = TrainingWorkService.durationOf(trainingRequest);
+            if (trainingRequest.getAction().equalsIgnoreCase("add")) {
+                hours += duration;
+                firstName = trainingRequest.getFirstName();
+                lastName = trainingRequest.getLastName();
+                isActive = trainingRequest.getIsActive();
+            } else {
+                hours -= duration;
+            }
+        }
+    }
+}
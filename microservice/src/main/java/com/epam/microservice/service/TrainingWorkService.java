@@ -1,37 +1,62 @@
 package com.epam.microservice.service;
 
-import com.epam.microservice.entity.TrainingMonth;
-import com.epam.microservice.entity.TrainingWork;
-import com.epam.microservice.entity.TrainingYears;
+import com.epam.microservice.entity.WorkloadCheckpoint;
 import com.epam.microservice.exception.NotFoundException;
 import com.epam.microservice.model.TrainingRequest;
-import com.epam.microservice.repository.TrainingMonthRepository;
-import com.epam.microservice.repository.TrainingWorkRepository;
-import com.epam.microservice.repository.TrainingYearsRepository;
+import com.epam.microservice.model.WorkloadDelta;
+import com.epam.microservice.model.WorkloadKey;
+import com.epam.microservice.repository.TrainerWorkloadBatchRepository;
+import com.epam.microservice.repository.TrainerWorkloadRepository;
+import com.epam.microservice.repository.WorkloadCheckpointRepository;
+import com.epam.microservice.repository.WorkloadSummaryStore;
+import com.epam.microservice.wal.WalPosition;
+import jakarta.annotation.PostConstruct;
+import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.MDC;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Calendar;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
-import java.util.Optional;
+import java.util.concurrent.locks.Lock;
 
 import static com.epam.microservice.helper.Validations.*;
 
 @Service
 @RequiredArgsConstructor
 public class TrainingWorkService {
-    private final TrainingWorkRepository trainingWorkRepository;
-    private final TrainingYearsRepository trainingYearsRepository;
-    private final TrainingMonthRepository trainingMonthRepository;
+    private final TrainerWorkloadRepository trainerWorkloadRepository;
+    private final TrainerWorkloadBatchRepository trainerWorkloadBatchRepository;
+    private final WorkloadCheckpointRepository workloadCheckpointRepository;
+    private final WorkloadSummaryStore workloadSummaryStore;
+    private final TrainerLocks trainerLocks;
+    private final IdempotencyGuard idempotencyGuard;
+    private final WorkloadLease workloadLease;
 
     private final Logger LOGGER = LoggerFactory.getLogger(TrainingWorkService.class);
 
+    // The summary read model starts from the table; afterwards every committed change is applied to it as well
+    @PostConstruct
+    public void loadSummaries() {
+        trainerWorkloadBatchRepository.forEachWorkload(workloadSummaryStore::apply);
+        LOGGER.info("Loaded workload summaries of {} trainers", workloadSummaryStore.trainers());
+    }
+
+    // addTrainingWork/deleteTrainingWork are self-invoked, so the transaction has to start here
+    @Transactional
     public void acceptTrainerWork(TrainingRequest trainingRequest) {
         validateTrainingRequest(trainingRequest);
         validateAction(trainingRequest);
+        if (idempotencyGuard.isDuplicate(trainingRequest.getTransactionId(), trainingRequest.getAction())) {
+            return;
+        }
         if (trainingRequest.getAction().equalsIgnoreCase("add")) {
             MDC.put("Action", "Add");
             addTrainingWork(trainingRequest);
@@ -40,164 +65,122 @@ public class TrainingWorkService {
             deleteTrainingWork(trainingRequest);
         }
         MDC.remove("Action");
+        recordTransaction(trainingRequest);
     }
 
+    @Transactional
     public void addTrainingWork(TrainingRequest trainingRequest) {
         validateTrainingRequestForAdd(trainingRequest);
         LOGGER.info("Transaction Id: {}, Action: {}, Adding training work", MDC.get("transactionId"), MDC.get("Action"));
-        LOGGER.info("Transaction Id: {}, finding training work by username: {}", MDC.get("transactionId"), trainingRequest.getUsername());
-        if (trainingWorkRepository.findByUsername(trainingRequest.getUsername()).isEmpty()) {
-            LOGGER.info("Transaction Id: {}, Creating new training work", MDC.get("transactionId"));
-            createTrainingWork(trainingRequest);
-        } else {
-            LOGGER.info("Transaction Id: {}, Updating training work", MDC.get("transactionId"));
-            updateTrainingWork(trainingRequest);
-        }
+        applyDelta(keyOf(trainingRequest), trainingRequest.getFirstName(), trainingRequest.getLastName(),
+                trainingRequest.getIsActive(), durationOf(trainingRequest));
     }
 
+    @Transactional
     public void deleteTrainingWork(TrainingRequest trainingRequest) {
         LOGGER.info("Transaction Id: {}, Action: {}, Deleting training work", MDC.get("transactionId"), MDC.get("Action"));
         validateTrainingRequestForDelete(trainingRequest);
-        LOGGER.info("Transaction Id: {}, finding training work by username: {}", MDC.get("transactionId"), trainingRequest.getUsername());
-        Optional<TrainingWork> OptionalTrainingWork = trainingWorkRepository.findByUsername(trainingRequest.getUsername());
-        if(OptionalTrainingWork.isEmpty()) {
-            LOGGER.error("Transaction Id: {}, Training work not found", MDC.get("transactionId"));
-            throw new NotFoundException("Training work not found");
+        applyDelta(keyOf(trainingRequest), null, null, null, -durationOf(trainingRequest));
+    }
+
+    // The batch endpoint's netted update, recorded under the idempotency keys of every request it covers
+    @Transactional
+    public void applyDelta(WorkloadKey key, String firstName, String lastName, Boolean status, int hours,
+                           Collection<String> idempotencyKeys) {
+        applyDelta(key, firstName, lastName, status, hours);
+        idempotencyGuard.record(idempotencyKeys);
+    }
+
+    // Adds (positive) or removes (negative) hours for one trainer-month. The trainer's lock is held until the
+    // transaction completes, so per trainer the table and the summary store see updates in the same order
+    @Transactional
+    public void applyDelta(WorkloadKey key, String firstName, String lastName, Boolean status, int hours) {
+        workloadLease.requireHeld();
+        if (hours == 0) {
+            return;
         }
-        TrainingWork trainingWork = OptionalTrainingWork.get();
-        List<TrainingYears> trainingYears = trainingWork.getYears();
-        for (TrainingYears year : trainingYears) {
-            Calendar calendar = Calendar.getInstance();
-            calendar.setTime(trainingRequest.getDate());
-            if (year.getYearNumber().equals(String.valueOf(calendar.get(Calendar.YEAR)))) {
-                LOGGER.info("Transaction Id: {}, Year found: {}", MDC.get("transactionId"), year);
-                List<TrainingMonth> trainingMonths = year.getMonths();
-                for (TrainingMonth month : trainingMonths) {
-                    if (month.getMonthName().equals(String.valueOf(calendar.get(Calendar.MONTH)))) {
-                        LOGGER.info("Transaction Id: {}, Month found: {}", MDC.get("transactionId"), month);
-                        int result = month.getHours() - trainingRequest.getDuration();
-                        if (result == 0){
-                            LOGGER.info("Transaction Id: {}, Deleting month: {}", MDC.get("transactionId"), month);
-                            trainingMonths.remove(month);
-                            trainingMonthRepository.delete(month);
-                        } else {
-                            LOGGER.info("Transaction Id: {}, Updating month: {}", MDC.get("transactionId"), month);
-                            month.setHours(result);
-                            trainingMonthRepository.save(month);
-                        }
-                        break;
-                    }
-                }
-                if (trainingMonths.isEmpty()) {
-                    LOGGER.info("Transaction Id: {}, Deleting year: {}", MDC.get("transactionId"), year);
-                    trainingYears.remove(year);
-                    trainingYearsRepository.delete(year);
-                } else {
-                    LOGGER.info("Transaction Id: {}, Updating year: {}", MDC.get("transactionId"), year);
-                    year.setMonths(trainingMonths);
-                    trainingYearsRepository.save(year);
-                }
-                break;
+        Lock lock = trainerLocks.lockFor(key.username());
+        lock.lock();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            try {
+                writeDelta(key, firstName, lastName, status, hours);
+            } finally {
+                lock.unlock();
             }
+            return;
         }
-        if (trainingYears.isEmpty()) {
-            LOGGER.info("Transaction Id: {}, Deleting training work: {}", MDC.get("transactionId"), trainingWork);
-            trainingWorkRepository.delete(trainingWork);
-        } else {
-            LOGGER.info("Transaction Id: {}, Updating training work: {}", MDC.get("transactionId"), trainingWork);
-            trainingWork.setYears(trainingYears);
-            trainingWorkRepository.save(trainingWork);
-        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int completionStatus) {
+                lock.unlock();
+            }
+        });
+        writeDelta(key, firstName, lastName, status, hours);
     }
 
-    private void createTrainingWork(TrainingRequest trainingRequest) {
-        TrainingWork trainingWork = new TrainingWork();
-        trainingWork.setFirstName(trainingRequest.getFirstName());
-        trainingWork.setLastName(trainingRequest.getLastName());
-        trainingWork.setStatus(trainingRequest.getIsActive());
-        trainingWork.setUsername(trainingRequest.getUsername());
-        List<TrainingYears> years = List.of(createTrainingYears(trainingRequest));
-        trainingWork.setYears(years);
-        trainingWorkRepository.save(trainingWork);
-        LOGGER.info("Transaction Id: {}, Successfully created training work: {}", MDC.get("transactionId"), trainingWork);
+    private void writeDelta(WorkloadKey key, String firstName, String lastName, Boolean status, int hours) {
+        if (hours > 0) {
+            applyToSummaryAfterCommit(new WorkloadDelta(key, firstName, lastName, status, hours));
+            trainerWorkloadRepository.addHours(key.username(), key.year(), key.month(), firstName, lastName, status, hours);
+            LOGGER.info("Transaction Id: {}, Added {} hours for: {} {}/{}", MDC.get("transactionId"), hours, key.username(), key.month(), key.year());
+            return;
+        }
+        applyToSummaryAfterCommit(new WorkloadDelta(key, null, null, null, hours));
+        int updated = trainerWorkloadRepository.subtractHours(key.username(), key.year(), key.month(), -hours);
+        if (updated == 0) {
+            if (!trainerWorkloadRepository.existsByUsername(key.username())) {
+                LOGGER.error("Transaction Id: {}, Training work not found", MDC.get("transactionId"));
+                throw new NotFoundException("Training work not found");
+            }
+            LOGGER.error("Transaction Id: {}, Not enough training work to remove {} hours for: {} {}/{}", MDC.get("transactionId"), -hours, key.username(), key.month(), key.year());
+            throw new NotFoundException("Training work not found for " + key.month() + "/" + key.year());
+        }
+        if (trainerWorkloadRepository.deleteIfEmpty(key.username(), key.year(), key.month()) > 0) {
+            LOGGER.info("Transaction Id: {}, Deleted empty month: {}/{}", MDC.get("transactionId"), key.month(), key.year());
+        }
+        LOGGER.info("Transaction Id: {}, Removed {} hours for: {} {}/{}", MDC.get("transactionId"), -hours, key.username(), key.month(), key.year());
     }
 
-    private void updateTrainingWork(TrainingRequest trainingRequest) {
-        TrainingWork trainingWork = trainingWorkRepository.findByUsername(trainingRequest.getUsername()).get();
-        List<TrainingYears> years = updateTrainingYears(trainingWork, trainingRequest);
-        trainingWork.setYears(years);
-        trainingWorkRepository.save(trainingWork);
-        LOGGER.info("Transaction Id: {}, Successfully updated training work: {}", MDC.get("transactionId"), trainingWork);
+    // The rows and the checkpoint that retires their write-ahead log records commit together, so a crash can
+    // neither lose the deltas nor replay them twice
+    @Transactional
+    public void applyDeltas(Collection<WorkloadDelta> deltas, int batchSize, String checkpoint, WalPosition position) {
+        workloadLease.requireHeld();
+        trainerWorkloadBatchRepository.applyDeltas(deltas, batchSize);
+        workloadCheckpointRepository.save(new WorkloadCheckpoint(checkpoint, position.segment(), position.offset()));
+        LOGGER.info("Transaction Id: {}, Wrote {} aggregated workload updates through log position {}", MDC.get("transactionId"), deltas.size(), position);
     }
 
-    private TrainingYears createTrainingYears(TrainingRequest trainingRequest) {
-        LOGGER.info("Transaction Id: {}, Creating new training years", MDC.get("transactionId"));
-        TrainingYears trainingYears = new TrainingYears();
-        Calendar calendar = Calendar.getInstance();
-        calendar.setTime(trainingRequest.getDate());
-        trainingYears.setYearNumber(String.valueOf(calendar.get(Calendar.YEAR)));
-        List<TrainingMonth> months = List.of(createTrainingMonth(trainingRequest));
-        trainingYears.setMonths(months);
-        trainingYearsRepository.save(trainingYears);
-        LOGGER.info("Transaction Id: {}, Successfully created training years: {}", MDC.get("transactionId"), trainingYears);
-        return trainingYears;
+    private void recordTransaction(TrainingRequest trainingRequest) {
+        String key = IdempotencyGuard.keyOf(trainingRequest.getTransactionId(), trainingRequest.getAction());
+        if (key != null) {
+            idempotencyGuard.record(List.of(key));
+        }
     }
 
-    private List<TrainingYears> updateTrainingYears(TrainingWork trainingWork, TrainingRequest trainingRequest) {
-        List<TrainingYears> trainingYears = trainingWork.getYears();
-        boolean present = false;
-        for (TrainingYears year : trainingYears) {
-            Calendar calendar = Calendar.getInstance();
-            calendar.setTime(trainingRequest.getDate());
-            if (year.getYearNumber().equals(String.valueOf(calendar.get(Calendar.YEAR)))) {
-                LOGGER.info("Transaction Id: {}, Year found: {}", MDC.get("transactionId"), year);
-                List<TrainingMonth> months = updateTrainingMonth(year, trainingRequest);
-                year.setMonths(months);
-                trainingYearsRepository.save(year);
-                LOGGER.info("Transaction Id: {}, Successfully updated training years: {}", MDC.get("transactionId"), year);
-                present = true;
-                break;
-            }
-        }
-        if (!present) {
-            TrainingYears ty = createTrainingYears(trainingRequest);
-            trainingYears.add(ty);
+    private void applyToSummaryAfterCommit(WorkloadDelta delta) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            workloadSummaryStore.apply(delta);
+            return;
         }
-        return trainingYears;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                workloadSummaryStore.apply(delta);
+            }
+        });
     }
 
-    private TrainingMonth createTrainingMonth(TrainingRequest trainingRequest) {
-        LOGGER.info("Transaction Id: {}, Creating new training month", MDC.get("transactionId"));
-        TrainingMonth trainingMonth = new TrainingMonth();
-        Calendar calendar = Calendar.getInstance();
-        calendar.setTime(trainingRequest.getDate());
-        trainingMonth.setMonthName(String.valueOf(calendar.get(Calendar.MONTH)));
-        trainingMonth.setHours(trainingRequest.getDuration());
-        trainingMonthRepository.save(trainingMonth);
-        LOGGER.info("Transaction Id: {}, Successfully created training month: {}", MDC.get("transactionId"), trainingMonth);
-        return trainingMonth;
+    public static WorkloadKey keyOf(TrainingRequest trainingRequest) {
+        LocalDate date = toLocalDate(trainingRequest.getDate());
+        return new WorkloadKey(trainingRequest.getUsername(), date.getYear(), date.getMonthValue());
     }
 
-    private List<TrainingMonth> updateTrainingMonth(TrainingYears trainingYears, TrainingRequest trainingRequest) {
-        List<TrainingMonth> trainingMonths = trainingYears.getMonths();
-        boolean present = false;
-        for (TrainingMonth month : trainingMonths) {
-            Calendar calendar = Calendar.getInstance();
-            calendar.setTime(trainingRequest.getDate());
-            if (month.getMonthName().equals(String.valueOf(calendar.get(Calendar.MONTH)))) {
-                LOGGER.info("Transaction Id: {}, Month found: {}", MDC.get("transactionId"), month);
-                int hours = month.getHours() + trainingRequest.getDuration();
-                month.setHours(hours);
-                trainingMonthRepository.save(month);
-                LOGGER.info("Transaction Id: {}, Successfully updated training month: {}", MDC.get("transactionId"), month);
-                present = true;
-                break;
-            }
-        }
-        if (!present) {
-            TrainingMonth trainingMonth = createTrainingMonth(trainingRequest);
-            trainingMonths.add(trainingMonth);
-        }
-        return trainingMonths;
+    public static int durationOf(TrainingRequest trainingRequest) {
+        return trainingRequest.getDuration() == null ? 0 : trainingRequest.getDuration();
+    }
+
+    private static LocalDate toLocalDate(Date date) {
+        return date.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
     }
 }
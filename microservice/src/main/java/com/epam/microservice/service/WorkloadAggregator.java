@@ -0,0 +1,273 @@
+package com.epam.microservice.service;
+
+import com.epam.microservice.configuration.WorkloadAggregationProperties;
+import com.epam.microservice.entity.WorkloadCheckpoint;
+import com.epam.microservice.exception.NotFoundException;
+import com.epam.microservice.model.TrainingRequest;
+import com.epam.microservice.model.WorkloadDelta;
+import com.epam.microservice.model.WorkloadKey;
+import com.epam.microservice.repository.TrainerWorkloadRepository;
+import com.epam.microservice.repository.WorkloadCheckpointRepository;
+import com.epam.microservice.repository.WorkloadSummaryStore;
+import com.epam.microservice.wal.WalPosition;
+import com.epam.microservice.wal.WalSyncPolicy;
+import com.epam.microservice.wal.WorkloadWal;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static com.epam.microservice.helper.Validations.*;
+
+// Write-behind mode (workload.aggregation.enabled): a delta is acknowledged once it is in the write-ahead log and the
+// in-memory map; a scheduled flush writes each dirty trainer-month back once, however many deltas it received.
+// The log directory belongs to the lease holder, so nothing is opened or replayed before the lease is taken, and
+// nothing is logged or written back once it is lost.
+@Service
+public class WorkloadAggregator {
+    private static final Logger LOGGER = LoggerFactory.getLogger(WorkloadAggregator.class);
+    static final String CHECKPOINT = "workload-wal";
+    // Joins the idempotency keys a logged delta covers; keys are "ACTION:transactionId" and ids carry no line breaks
+    static final String KEY_SEPARATOR = "\n";
+
+    private final TrainingWorkService trainingWorkService;
+    private final TrainerWorkloadRepository trainerWorkloadRepository;
+    private final WorkloadCheckpointRepository workloadCheckpointRepository;
+    private final WorkloadSummaryStore workloadSummaryStore;
+    private final TrainerLocks trainerLocks;
+    private final IdempotencyGuard idempotencyGuard;
+    private final WorkloadAggregationProperties properties;
+    private final WorkloadLease workloadLease;
+    private final Timer flushTimer;
+    private final DistributionSummary flushSize;
+    // Appends and map updates share the read side; a flush takes the write side to swap both at the same point
+    private final ReadWriteLock flushLock = new ReentrantReadWriteLock();
+    private final Set<String> knownTrainers = ConcurrentHashMap.newKeySet();
+    private volatile ConcurrentHashMap<WorkloadKey, WorkloadDelta> dirty = new ConcurrentHashMap<>();
+    private WorkloadWal wal;
+
+    public WorkloadAggregator(TrainingWorkService trainingWorkService, TrainerWorkloadRepository trainerWorkloadRepository,
+                              WorkloadCheckpointRepository workloadCheckpointRepository, WorkloadSummaryStore workloadSummaryStore,
+                              TrainerLocks trainerLocks, IdempotencyGuard idempotencyGuard,
+                              WorkloadAggregationProperties properties, WorkloadLease workloadLease,
+                              MeterRegistry meterRegistry) {
+        this.trainingWorkService = trainingWorkService;
+        this.trainerWorkloadRepository = trainerWorkloadRepository;
+        this.workloadCheckpointRepository = workloadCheckpointRepository;
+        this.workloadSummaryStore = workloadSummaryStore;
+        this.trainerLocks = trainerLocks;
+        this.idempotencyGuard = idempotencyGuard;
+        this.properties = properties;
+        this.workloadLease = workloadLease;
+        this.flushTimer = meterRegistry.timer("workload.aggregation.flush");
+        this.flushSize = meterRegistry.summary("workload.aggregation.flush.size");
+        Gauge.builder("workload.aggregation.dirty", this, aggregator -> aggregator.dirty.size()).register(meterRegistry);
+        Gauge.builder("workload.aggregation.flush.interval", properties, config -> config.getFlushInterval().toMillis() / 1000.0)
+                .baseUnit("seconds").register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    // Deltas logged after the last committed checkpoint were acknowledged but never written back. The summary store
+    // has been loaded from the table by then, so it gets them too, and their idempotency keys are recorded again
+    @PostConstruct
+    public void start() throws IOException {
+        if (!isEnabled()) {
+            return;
+        }
+        wal = WorkloadWal.open(properties.getWalDirectory(), (int) properties.getWalSegmentSize().toBytes(), properties.getWalSync());
+        WalPosition checkpoint = workloadCheckpointRepository.findById(CHECKPOINT).map(WorkloadAggregator::positionOf).orElse(WalPosition.START);
+        wal.compact(checkpoint);
+        List<String> idempotencyKeys = new ArrayList<>();
+        long replayed = wal.replay(checkpoint, (delta, loggedKeys) -> {
+            merge(delta);
+            workloadSummaryStore.apply(delta);
+            if (!loggedKeys.isEmpty()) {
+                idempotencyKeys.addAll(Arrays.asList(loggedKeys.split(KEY_SEPARATOR)));
+            }
+        });
+        idempotencyGuard.restore(idempotencyKeys);
+        dirty.values().forEach(delta -> knownTrainers.add(delta.key().username()));
+        LOGGER.info("Workload aggregation enabled, replayed {} logged updates into {} trainer-months", replayed, dirty.size());
+    }
+
+    public void acceptTrainerWork(TrainingRequest trainingRequest) {
+        validateTrainingRequest(trainingRequest);
+        validateAction(trainingRequest);
+        if (idempotencyGuard.isDuplicate(trainingRequest.getTransactionId(), trainingRequest.getAction())) {
+            return;
+        }
+        WorkloadKey key = TrainingWorkService.keyOf(trainingRequest);
+        int duration = TrainingWorkService.durationOf(trainingRequest);
+        String idempotencyKey = IdempotencyGuard.keyOf(trainingRequest.getTransactionId(), trainingRequest.getAction());
+        List<String> idempotencyKeys = idempotencyKey == null ? List.of() : List.of(idempotencyKey);
+        if (trainingRequest.getAction().equalsIgnoreCase("add")) {
+            validateTrainingRequestForAdd(trainingRequest);
+            accept(key, trainingRequest.getFirstName(), trainingRequest.getLastName(), trainingRequest.getIsActive(), duration, idempotencyKeys);
+        } else {
+            validateTrainingRequestForDelete(trainingRequest);
+            accept(key, null, null, null, -duration, idempotencyKeys);
+        }
+    }
+
+    public void accept(WorkloadKey key, String firstName, String lastName, Boolean status, int hours) {
+        accept(key, firstName, lastName, status, hours, List.of());
+    }
+
+    // Same contract as TrainingWorkService.applyDelta, but returns as soon as the delta is durable in the log.
+    // Holding the trainer's lock keeps the log, the map and the summary store in one order per trainer, and the
+    // idempotency keys are reserved under it before the delta is logged, so of two racing replays only one gets in
+    public void accept(WorkloadKey key, String firstName, String lastName, Boolean status, int hours,
+                       Collection<String> idempotencyKeys) {
+        workloadLease.requireHeld();
+        if (hours == 0) {
+            idempotencyGuard.record(idempotencyKeys);
+            return;
+        }
+        Lock lock = trainerLocks.lockFor(key.username());
+        lock.lock();
+        try {
+            append(new WorkloadDelta(key, firstName, lastName, status, hours), idempotencyKeys);
+        } finally {
+            lock.unlock();
+        }
+        LOGGER.info("Transaction Id: {}, Queued {} hours for: {} {}/{}", MDC.get("transactionId"), hours, key.username(), key.month(), key.year());
+    }
+
+    private void append(WorkloadDelta delta, Collection<String> idempotencyKeys) {
+        WorkloadKey key = delta.key();
+        if (delta.hours() < 0) {
+            requireKnownTrainer(key.username());
+            requireHours(key, -delta.hours());
+        }
+        idempotencyGuard.record(idempotencyKeys);
+        try {
+            long position;
+            flushLock.readLock().lock();
+            try {
+                position = wal.append(delta, String.join(KEY_SEPARATOR, idempotencyKeys));
+                merge(delta);
+            } catch (IOException | RuntimeException e) {
+                // Nothing was logged, so a retry has to be applied
+                idempotencyGuard.release(idempotencyKeys);
+                throw e;
+            } finally {
+                flushLock.readLock().unlock();
+            }
+            wal.sync(position);
+            workloadSummaryStore.apply(delta);
+        } catch (IOException e) {
+            LOGGER.error("Transaction Id: {}, Failed to log workload update for: {}", MDC.get("transactionId"), key, e);
+            throw new UncheckedIOException(e);
+        }
+        if (delta.hours() > 0) {
+            knownTrainers.add(key.username());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${workload.aggregation.flush-interval:PT1S}")
+    public synchronized void flush() throws IOException {
+        if (wal == null) {
+            return;
+        }
+        Map<WorkloadKey, WorkloadDelta> drained;
+        WalPosition position;
+        flushLock.writeLock().lock();
+        try {
+            if (dirty.isEmpty()) {
+                return;
+            }
+            position = wal.position();
+            drained = dirty;
+            dirty = new ConcurrentHashMap<>();
+        } finally {
+            flushLock.writeLock().unlock();
+        }
+        try {
+            flushTimer.record(() -> trainingWorkService.applyDeltas(drained.values(), properties.getBatchSize(), CHECKPOINT, position));
+        } catch (RuntimeException e) {
+            // Nothing was committed and the records are still on disk, so the next flush simply covers them too
+            LOGGER.error("Failed to write back {} trainer-months, keeping them for the next flush", drained.size(), e);
+            drained.values().forEach(this::restore);
+            return;
+        }
+        flushSize.record(drained.size());
+        wal.compact(position);
+    }
+
+    // Only does anything under the INTERVAL policy; ALWAYS forces on every acknowledgement and NEVER not at all
+    @Scheduled(fixedDelayString = "${workload.aggregation.wal-sync-interval:PT0.1S}")
+    public void syncLog() {
+        if (wal != null && properties.getWalSync() == WalSyncPolicy.INTERVAL) {
+            wal.syncAll();
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws IOException {
+        if (wal == null) {
+            return;
+        }
+        flush();
+        wal.close();
+    }
+
+    // A checkpoint without an offset was written when every flush sealed its segment, so it covers all of it
+    private static WalPosition positionOf(WorkloadCheckpoint checkpoint) {
+        return checkpoint.getOffset() == null
+                ? new WalPosition(checkpoint.getSegment() + 1, 0)
+                : new WalPosition(checkpoint.getSegment(), checkpoint.getOffset());
+    }
+
+    private void merge(WorkloadDelta delta) {
+        dirty.merge(delta.key(), delta, WorkloadDelta::plus);
+    }
+
+    // Drained deltas are older than anything accepted since, so they go in front
+    private void restore(WorkloadDelta delta) {
+        dirty.merge(delta.key(), delta, (current, older) -> older.plus(current));
+    }
+
+    // Deletes for unknown trainers are rejected like the synchronous path; a trainer seen once stays known
+    private void requireKnownTrainer(String username) {
+        if (knownTrainers.contains(username)) {
+            return;
+        }
+        if (!trainerWorkloadRepository.existsByUsername(username)) {
+            LOGGER.error("Transaction Id: {}, Training work not found", MDC.get("transactionId"));
+            throw new NotFoundException("Training work not found");
+        }
+        knownTrainers.add(username);
+    }
+
+    // The summary store already holds every accepted delta, so it answers for the month without a query
+    private void requireHours(WorkloadKey key, int hours) {
+        if (workloadSummaryStore.hours(key.username(), key.year(), key.month()) >= hours) {
+            return;
+        }
+        LOGGER.error("Transaction Id: {}, Not enough training work to remove {} hours for: {} {}/{}", MDC.get("transactionId"), hours, key.username(), key.month(), key.year());
+        throw new NotFoundException("Training work not found for " + key.month() + "/" + key.year());
+    }
+}
@@ -0,0 +1,115 @@
+package com.epam.microservice.service;
+
+import com.epam.microservice.configuration.WorkloadLeaseProperties;
+import com.epam.microservice.exception.WorkloadUnavailableException;
+import com.epam.microservice.repository.ServiceLeaseRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// The summary store with its totals, the write-behind map and log, the trainer locks and the idempotency filter all
+// live in this process, so the workload service must not run as more than one instance. A second instance fails to
+// start instead of registering with Eureka next to the first. One that has not renewed its lease within the TTL
+// treats it as lost, since another instance may have taken it by then: it reports itself DOWN and rejects writes.
+@Service
+public class WorkloadLease implements HealthIndicator {
+    private static final Logger LOGGER = LoggerFactory.getLogger(WorkloadLease.class);
+    static final String NAME = "workload-service";
+
+    private final ServiceLeaseRepository serviceLeaseRepository;
+    private final WorkloadLeaseProperties properties;
+    private final String owner = UUID.randomUUID().toString();
+    private volatile boolean held;
+    // End of the TTL granted by the last successful renewal
+    private volatile Instant heldUntil = Instant.MIN;
+
+    public WorkloadLease(ServiceLeaseRepository serviceLeaseRepository, WorkloadLeaseProperties properties) {
+        this.serviceLeaseRepository = serviceLeaseRepository;
+        this.properties = properties;
+    }
+
+    @PostConstruct
+    public void acquire() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (!tryAcquire()) {
+            LOGGER.error("The workload lease is held by another instance");
+            throw new IllegalStateException("Another workload service instance is running; only one may run at a time");
+        }
+        LOGGER.info("Acquired the workload lease as {}", owner);
+    }
+
+    @Scheduled(fixedDelayString = "${workload.lease.renew-interval:PT10S}")
+    public void renew() {
+        if (!held) {
+            return;
+        }
+        try {
+            if (!tryAcquire()) {
+                LOGGER.error("Lost the workload lease to another instance");
+            }
+        } catch (DataAccessException e) {
+            // Still ours until it expires, and nobody else can take it before then; the next renewal may still get it
+            if (isHeld()) {
+                LOGGER.warn("Failed to renew the workload lease", e);
+            } else {
+                LOGGER.error("Failed to renew the workload lease before it expired", e);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void release() {
+        if (held) {
+            serviceLeaseRepository.release(NAME, owner);
+            held = false;
+        }
+    }
+
+    public boolean isHeld() {
+        return !properties.isEnabled() || (held && Instant.now().isBefore(heldUntil));
+    }
+
+    public void requireHeld() {
+        if (!isHeld()) {
+            LOGGER.error("Transaction Id: {}, Rejected a workload update without the workload lease", MDC.get("transactionId"));
+            throw new WorkloadUnavailableException("The workload lease has expired; this instance no longer accepts updates");
+        }
+    }
+
+    @Override
+    public Health health() {
+        if (isHeld()) {
+            return Health.up().withDetail("owner", owner).build();
+        }
+        return Health.down().withDetail("owner", owner).build();
+    }
+
+    private boolean tryAcquire() {
+        Instant now = Instant.now();
+        Instant expiresAt = now.plus(properties.getTtl());
+        if (serviceLeaseRepository.extend(NAME, owner, now, expiresAt) == 0) {
+            try {
+                serviceLeaseRepository.insert(NAME, owner, expiresAt);
+            } catch (DataIntegrityViolationException e) {
+                held = false;
+                return false;
+            }
+        }
+        heldUntil = expiresAt;
+        held = true;
+        return true;
+    }
+}
@@ -0,0 +1,63 @@
+package com.epam.microservice.service;
+
+import com.epam.microservice.exception.NotFoundException;
+import com.epam.microservice.model.TrainingMonth;
+import com.epam.microservice.model.TrainingWork;
+import com.epam.microservice.model.TrainingYears;
+import com.epam.microservice.repository.WorkloadSummaryStore;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.stereotype.Service;
+
+import static com.epam.microservice.helper.Validations.validateMonth;
+import static com.epam.microservice.helper.Validations.validateYear;
+
+// Summaries are served from WorkloadSummaryStore, whose totals are maintained on every add and delete
+@Service
+@RequiredArgsConstructor
+public class WorkloadSummaryService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(WorkloadSummaryService.class);
+
+    private final WorkloadSummaryStore workloadSummaryStore;
+
+    // One tag per trainer covers the summary, year and month views; it is known before anything is built
+    public String etag(String username) {
+        long version = workloadSummaryStore.version(username);
+        if (version < 0) {
+            throw notFound(username);
+        }
+        return "\"" + Long.toHexString(workloadSummaryStore.epoch()) + "-" + version + "\"";
+    }
+
+    public TrainingWork getSummary(String username) {
+        LOGGER.info("Transaction Id: {}, Getting workload summary of {}", MDC.get("transactionId"), username);
+        return workloadSummaryStore.findByUsername(username).orElseThrow(() -> notFound(username));
+    }
+
+    public TrainingYears getYear(String username, int year) {
+        LOGGER.info("Transaction Id: {}, Getting workload of {} for {}", MDC.get("transactionId"), username, year);
+        validateYear(year);
+        return workloadSummaryStore.findYear(username, year).orElseThrow(() -> notFound(username));
+    }
+
+    public TrainingMonth getMonth(String username, int year, int month) {
+        LOGGER.info("Transaction Id: {}, Getting workload of {} for {}/{}", MDC.get("transactionId"), username, month, year);
+        validateYear(year);
+        validateMonth(month);
+        int hours = workloadSummaryStore.hours(username, year, month);
+        if (hours == 0) {
+            throw notFound(username);
+        }
+        TrainingMonth trainingMonth = new TrainingMonth();
+        trainingMonth.setMonthName(String.valueOf(month));
+        trainingMonth.setHours(hours);
+        return trainingMonth;
+    }
+
+    private static NotFoundException notFound(String username) {
+        LOGGER.error("Transaction Id: {}, Training work of {} not found", MDC.get("transactionId"), username);
+        return new NotFoundException("Training work not found");
+    }
+}
@@ -0,0 +1,6 @@
+package com.epam.microservice.wal;
+
+// A point in the log: the segment number and the byte offset of the next record in it
+public record WalPosition(long segment, int offset) {
+    public static final WalPosition START = new WalPosition(0, 0);
+}
@@ -0,0 +1,11 @@
+package com.epam.microservice.wal;
+
+// When appended records are forced from the page cache to disk
+public enum WalSyncPolicy {
+    // Before the append is acknowledged; concurrent appends share one force
+    ALWAYS,
+    // Every workload.aggregation.wal-sync-interval; a power loss can drop the last interval
+    INTERVAL,
+    // Left to the operating system; survives a process crash but not a power loss
+    NEVER
+}
@@ -0,0 +1,332 @@
+package com.epam.microservice.wal;
+
+import com.epam.microservice.model.WorkloadDelta;
+import com.epam.microservice.model.WorkloadKey;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+// Append-only log of workload deltas in numbered, preallocated, memory-mapped segment files. Appending is a copy into
+// the mapping; forcing it to disk follows the WalSyncPolicy.
+//
+// A record is [int length][int crc32c][byte type][body], and a zero length marks the unwritten rest of a segment.
+// Usernames and trainer names are written once per segment and deltas refer to them by a per-segment id, so a delta
+// costs 24 bytes plus its idempotency keys. Every segment is self-contained and can be replayed or deleted on its own.
+// A segment is only sealed once it is full, so mappings are created at the rate the log grows, not per checkpoint.
+// Replay of a segment stops at the first record that fails its checksum, which is where a crash cut a write short.
+public class WorkloadWal implements Closeable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(WorkloadWal.class);
+    private static final String PREFIX = "workload-";
+    private static final String SUFFIX = ".wal";
+    private static final int HEADER = 2 * Integer.BYTES;
+    private static final byte USERNAME = 1;
+    private static final byte TRAINER = 2;
+    private static final byte DELTA = 3;
+    private static final byte WITH_NAMES = 1;
+    // A delta with its username and trainer records, at the longest strings the format allows
+    private static final int MAX_RECORDS = 4 * (HEADER + 0xFFFF + 16);
+
+    private final Path directory;
+    private final int segmentSize;
+    private final WalSyncPolicy syncPolicy;
+    private final Object syncLock = new Object();
+    private final CRC32C crc = new CRC32C();
+    private final ByteBuffer scratch;
+    private MappedByteBuffer mapping;
+    private long segment;
+    // Ids of the usernames and the last trainer names written to the current segment
+    private final Map<String, Integer> usernameIds = new HashMap<>();
+    private final List<WorkloadDelta> trainerNames = new ArrayList<>();
+    // Bytes appended and bytes forced to disk, counted across segments so positions stay comparable after a rotation
+    private long written;
+    private final AtomicLong synced = new AtomicLong();
+    private int syncedOffset;
+
+    private WorkloadWal(Path directory, int segmentSize, WalSyncPolicy syncPolicy) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.syncPolicy = syncPolicy;
+        this.scratch = ByteBuffer.allocate(Math.min(segmentSize, MAX_RECORDS));
+    }
+
+    // Always starts a fresh segment, so nothing is ever appended after a torn record
+    public static WorkloadWal open(Path directory, int segmentSize, WalSyncPolicy syncPolicy) throws IOException {
+        Files.createDirectories(directory);
+        WorkloadWal wal = new WorkloadWal(directory, segmentSize, syncPolicy);
+        List<Long> segments = wal.segments();
+        wal.segment = segments.isEmpty() ? 1 : segments.get(segments.size() - 1) + 1;
+        wal.mapping = wal.mapSegment(wal.segment);
+        return wal;
+    }
+
+    // Returns the position the caller has to pass to sync before acknowledging the delta
+    public synchronized long append(WorkloadDelta delta, String idempotencyKeys) throws IOException {
+        if (!tryAppend(delta, idempotencyKeys)) {
+            seal();
+            if (!tryAppend(delta, idempotencyKeys)) {
+                throw new IllegalArgumentException("Workload update for " + delta.key() + " does not fit in a log segment");
+            }
+        }
+        return written;
+    }
+
+    public void sync(long position) throws IOException {
+        if (syncPolicy == WalSyncPolicy.ALWAYS) {
+            syncTo(position);
+        }
+    }
+
+    // Everything appended so far; what the INTERVAL policy runs on its schedule
+    public void syncAll() {
+        if (syncPolicy != WalSyncPolicy.NEVER) {
+            long target;
+            synchronized (this) {
+                target = written;
+            }
+            syncTo(target);
+        }
+    }
+
+    // Where the next record goes. Everything appended before this call lies before it, so a checkpoint at this
+    // position covers exactly those records, without starting a new segment
+    public synchronized WalPosition position() {
+        return new WalPosition(segment, mapping.position());
+    }
+
+    // Replays the sealed segments' deltas from the given position on in order and returns the number read
+    public long replay(WalPosition from, BiConsumer<WorkloadDelta, String> consumer) throws IOException {
+        long count = 0;
+        for (long sealed : segments()) {
+            if (sealed >= from.segment() && sealed < segment) {
+                count += replaySegment(sealed, sealed == from.segment() ? from.offset() : 0, consumer);
+            }
+        }
+        return count;
+    }
+
+    // Segments before a committed checkpoint's hold nothing the database does not, so they are dropped whole. The
+    // checkpoint's own segment goes once a later checkpoint has moved past it
+    public void compact(WalPosition checkpoint) throws IOException {
+        for (long sealed : segments()) {
+            if (sealed < checkpoint.segment() && sealed < segment) {
+                Files.deleteIfExists(pathOf(sealed));
+            }
+        }
+    }
+
+    public List<Long> segments() throws IOException {
+        List<Long> segments = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.startsWith(PREFIX) && name.endsWith(SUFFIX))
+                    .forEach(name -> segments.add(Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()))));
+        }
+        segments.sort(null);
+        return segments;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (syncPolicy != WalSyncPolicy.NEVER) {
+            mapping.force();
+        }
+    }
+
+    // Group commit: one force covers every record appended before it, and appends carry on while it runs
+    private void syncTo(long position) {
+        if (synced.get() >= position) {
+            return;
+        }
+        synchronized (syncLock) {
+            if (synced.get() >= position) {
+                return;
+            }
+            MappedByteBuffer current;
+            int from;
+            int to;
+            long target;
+            synchronized (this) {
+                current = mapping;
+                from = syncedOffset;
+                to = mapping.position();
+                target = written;
+                syncedOffset = to;
+            }
+            current.force(from, to - from);
+            synced.accumulateAndGet(target, Math::max);
+        }
+    }
+
+    private boolean tryAppend(WorkloadDelta delta, String idempotencyKeys) {
+        int start = mapping.position();
+        try {
+            String username = delta.key().username();
+            Integer id = usernameIds.get(username);
+            if (id == null) {
+                id = usernameIds.size();
+                scratch.clear();
+                scratch.putInt(id);
+                putString(scratch, username);
+                putRecord(USERNAME);
+                usernameIds.put(username, id);
+                trainerNames.add(null);
+            }
+            boolean withNames = delta.firstName() != null;
+            if (withNames && !sameNames(trainerNames.get(id), delta)) {
+                scratch.clear();
+                scratch.putInt(id);
+                putString(scratch, delta.firstName());
+                putString(scratch, delta.lastName());
+                scratch.put(delta.status() == null ? 0 : delta.status() ? (byte) 2 : (byte) 1);
+                putRecord(TRAINER);
+                trainerNames.set(id, delta);
+            }
+            scratch.clear();
+            scratch.putInt(id);
+            scratch.putShort((short) delta.key().year());
+            scratch.put((byte) delta.key().month());
+            scratch.putInt(delta.hours());
+            scratch.put(withNames ? WITH_NAMES : 0);
+            putString(scratch, idempotencyKeys);
+            putRecord(DELTA);
+            written += mapping.position() - start;
+            return true;
+        } catch (BufferOverflowException e) {
+            // The records already copied for this delta are overwritten by the zero end marker when the segment is sealed
+            mapping.position(start);
+            return false;
+        }
+    }
+
+    private void putRecord(byte type) {
+        scratch.flip();
+        crc.reset();
+        crc.update(type);
+        crc.update(scratch.duplicate());
+        int length = 1 + scratch.remaining();
+        if (mapping.remaining() < HEADER + length + Integer.BYTES) {
+            throw new BufferOverflowException();
+        }
+        mapping.putInt(length).putInt((int) crc.getValue()).put(type).put(scratch);
+    }
+
+    // Forces the whole segment, marks its end and maps the next one. A syncTo may still be forcing a range of it
+    // outside the monitor; forcing from the start waits for that write-back too, so publishing synced is safe
+    private void seal() throws IOException {
+        int end = mapping.position();
+        mapping.putInt(end, 0);
+        if (syncPolicy != WalSyncPolicy.NEVER) {
+            mapping.force(0, end + Integer.BYTES);
+            synced.accumulateAndGet(written, Math::max);
+        }
+        segment++;
+        mapping = mapSegment(segment);
+        syncedOffset = 0;
+        usernameIds.clear();
+        trainerNames.clear();
+    }
+
+    // Names and usernames are read from the start of the segment, since later deltas refer to them, but only deltas
+    // at or after fromOffset are handed on. Read rather than mapped, so no mapping outlives the file once compacted
+    private long replaySegment(long sealed, int fromOffset, BiConsumer<WorkloadDelta, String> consumer) throws IOException {
+        Path path = pathOf(sealed);
+        long size = Files.size(path);
+        CRC32C crc = new CRC32C();
+        List<String> usernames = new ArrayList<>();
+        List<WorkloadDelta> names = new ArrayList<>();
+        long count = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            long offset = 0;
+            while (size - offset >= HEADER) {
+                long start = offset;
+                int length = in.readInt();
+                int checksum = in.readInt();
+                offset += HEADER;
+                if (length == 0) {
+                    return count;
+                }
+                if (length < 0 || length > size - offset) {
+                    break;
+                }
+                byte[] bytes = new byte[length];
+                in.readFully(bytes);
+                offset += length;
+                crc.reset();
+                crc.update(bytes);
+                if ((int) crc.getValue() != checksum) {
+                    break;
+                }
+                ByteBuffer record = ByteBuffer.wrap(bytes);
+                byte type = record.get();
+                int id = record.getInt();
+                if (type == USERNAME) {
+                    usernames.add(getString(record));
+                    names.add(null);
+                } else if (type == TRAINER) {
+                    String firstName = getString(record);
+                    String lastName = getString(record);
+                    byte status = record.get();
+                    names.set(id, new WorkloadDelta(null, firstName, lastName, status == 0 ? null : status == 2, 0));
+                } else if (start >= fromOffset) {
+                    WorkloadKey key = new WorkloadKey(usernames.get(id), record.getShort(), record.get());
+                    int hours = record.getInt();
+                    WorkloadDelta trainer = record.get() == WITH_NAMES ? names.get(id) : null;
+                    String idempotencyKeys = getString(record);
+                    consumer.accept(trainer == null
+                            ? new WorkloadDelta(key, null, null, null, hours)
+                            : new WorkloadDelta(key, trainer.firstName(), trainer.lastName(), trainer.status(), hours), idempotencyKeys);
+                    count++;
+                }
+            }
+        }
+        LOGGER.warn("Ignoring a torn record at the end of workload log segment {} after {} updates", sealed, count);
+        return count;
+    }
+
+    private MappedByteBuffer mapSegment(long number) throws IOException {
+        try (FileChannel channel = FileChannel.open(pathOf(number), StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        }
+    }
+
+    private Path pathOf(long number) {
+        return directory.resolve(String.format("%s%020d%s", PREFIX, number, SUFFIX));
+    }
+
+    private static boolean sameNames(WorkloadDelta logged, WorkloadDelta delta) {
+        return logged != null && Objects.equals(logged.firstName(), delta.firstName())
+                && Objects.equals(logged.lastName(), delta.lastName()) && Objects.equals(logged.status(), delta.status());
+    }
+
+    private static void putString(ByteBuffer buffer, String value) {
+        byte[] bytes = value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 0xFFFF) {
+            throw new IllegalArgumentException("Workload log strings are limited to 65535 bytes");
+        }
+        buffer.putShort((short) bytes.length).put(bytes);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        byte[] bytes = new byte[Short.toUnsignedInt(buffer.getShort())];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
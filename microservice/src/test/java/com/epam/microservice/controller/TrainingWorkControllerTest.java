@@ -2,27 +2,42 @@ package com.epam.microservice.controller;
 
 import com.epam.microservice.Controller.TrainingWorkController;
 import com.epam.microservice.model.TrainingRequest;
+import com.epam.microservice.model.TrainingWork;
+import com.epam.microservice.model.TrainingYears;
 import com.epam.microservice.service.TrainingWorkService;
+import com.epam.microservice.service.WorkloadAggregator;
+import com.epam.microservice.service.WorkloadSummaryService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.Date;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 public class TrainingWorkControllerTest {
     @InjectMocks
     private TrainingWorkController trainingWorkController;
     @Mock
     private TrainingWorkService trainingWorkService;
+    @Mock
+    private WorkloadAggregator workloadAggregator;
+    @Mock
+    private WorkloadSummaryService workloadSummaryService;
 
     @BeforeEach
     void setUp() {
@@ -46,4 +61,35 @@ public class TrainingWorkControllerTest {
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals("Action Completed successfully", response.getBody());
     }
+
+    @Test
+    void givenMatchingIfNoneMatch_whenGetSummary_thenNotModifiedWithoutBuilding() {
+        when(workloadSummaryService.etag("john.doe")).thenReturn("\"1-7\"");
+        MockHttpServletRequest servletRequest = new MockHttpServletRequest("GET", "/Workloads/john.doe");
+        servletRequest.addHeader(HttpHeaders.IF_NONE_MATCH, "\"1-7\"");
+        MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+
+        ResponseEntity<TrainingWork> response = trainingWorkController.getSummary("john.doe", new ServletWebRequest(servletRequest, servletResponse));
+
+        assertNull(response);
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), servletResponse.getStatus());
+        verify(workloadSummaryService, never()).getSummary(any());
+    }
+
+    @Test
+    void givenStaleIfNoneMatch_whenGetYear_thenYearWithCurrentEtag() {
+        TrainingYears trainingYears = new TrainingYears();
+        trainingYears.setTotalHours(90);
+        when(workloadSummaryService.etag("john.doe")).thenReturn("\"1-8\"");
+        when(workloadSummaryService.getYear("john.doe", 2024)).thenReturn(trainingYears);
+        MockHttpServletRequest servletRequest = new MockHttpServletRequest("GET", "/Workloads/john.doe/2024");
+        servletRequest.addHeader(HttpHeaders.IF_NONE_MATCH, "\"1-7\"");
+
+        ResponseEntity<TrainingYears> response = trainingWorkController.getYear("john.doe", 2024,
+                new ServletWebRequest(servletRequest, new MockHttpServletResponse()));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("\"1-8\"", response.getHeaders().getETag());
+        assertEquals(90, response.getBody().getTotalHours());
+    }
 }
@@ -0,0 +1,42 @@
+package com.epam.microservice.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class ProcessedTransactionRepositoryTest {
+
+    @Autowired
+    private ProcessedTransactionRepository processedTransactionRepository;
+
+    @Test
+    void givenRecordedKey_whenInsertedAgain_thenPrimaryKeyRejectsIt() {
+        Instant now = Instant.now();
+        assertEquals(1, processedTransactionRepository.insert("ADD:tx-1", now));
+
+        assertThrows(DataIntegrityViolationException.class, () -> processedTransactionRepository.insert("ADD:tx-1", now));
+    }
+
+    @Test
+    void givenOldAndRecentKeys_whenExpired_thenOnlyRecentRemain() {
+        Instant now = Instant.now();
+        processedTransactionRepository.insert("ADD:old", now.minus(Duration.ofDays(2)));
+        processedTransactionRepository.insert("ADD:recent", now);
+
+        assertEquals(1, processedTransactionRepository.deleteProcessedBefore(now.minus(Duration.ofDays(1))));
+        assertEquals(List.of("ADD:recent"), processedTransactionRepository.findKeysProcessedSince(now.minus(Duration.ofDays(1))));
+        assertTrue(processedTransactionRepository.existsById("ADD:recent"));
+    }
+}
@@ -0,0 +1,80 @@
+package com.epam.microservice.repository;
+
+import com.epam.microservice.entity.TrainerWorkload;
+import com.epam.microservice.entity.TrainerWorkloadId;
+import com.epam.microservice.model.WorkloadDelta;
+import com.epam.microservice.model.WorkloadKey;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(TrainerWorkloadBatchRepository.class)
+class TrainerWorkloadRepositoryTest {
+
+    @Autowired
+    private TrainerWorkloadRepository trainerWorkloadRepository;
+    @Autowired
+    private TrainerWorkloadBatchRepository trainerWorkloadBatchRepository;
+
+    @Test
+    void givenRepeatedAdds_whenAddHours_thenSingleRowAccumulates() {
+        trainerWorkloadRepository.addHours("john.doe", 2024, 3, "John", "Doe", true, 60);
+        trainerWorkloadRepository.addHours("john.doe", 2024, 3, "John", "Doe", false, 30);
+
+        TrainerWorkload workload = trainerWorkloadRepository.findById(new TrainerWorkloadId("john.doe", 2024, 3)).orElseThrow();
+        assertEquals(90, workload.getHours());
+        assertFalse(workload.getStatus());
+        assertEquals(1, trainerWorkloadRepository.count());
+    }
+
+    @Test
+    void givenMonthDrainedToZero_whenDeleteIfEmpty_thenRowRemoved() {
+        trainerWorkloadRepository.addHours("john.doe", 2024, 3, "John", "Doe", true, 60);
+
+        assertEquals(1, trainerWorkloadRepository.subtractHours("john.doe", 2024, 3, 60));
+        assertEquals(1, trainerWorkloadRepository.deleteIfEmpty("john.doe", 2024, 3));
+        assertFalse(trainerWorkloadRepository.existsByUsername("john.doe"));
+    }
+
+    @Test
+    void givenUnknownMonth_whenSubtractHours_thenNothingUpdated() {
+        assertEquals(0, trainerWorkloadRepository.subtractHours("john.doe", 2024, 3, 60));
+    }
+
+    @Test
+    void givenFewerHoursThanRemoved_whenSubtractHours_thenNothingUpdated() {
+        trainerWorkloadRepository.addHours("john.doe", 2024, 3, "John", "Doe", true, 30);
+
+        assertEquals(0, trainerWorkloadRepository.subtractHours("john.doe", 2024, 3, 60));
+        assertEquals(30, trainerWorkloadRepository.findAllByUsernameOrderByYearAscMonthAsc("john.doe").get(0).getHours());
+    }
+
+    @Test
+    void givenMixedDeltas_whenApplyDeltas_thenSameRowsAsSingleStatements() {
+        trainerWorkloadRepository.addHours("john.doe", 2024, 3, "John", "Doe", true, 60);
+        trainerWorkloadRepository.addHours("john.doe", 2024, 4, "John", "Doe", true, 30);
+
+        trainerWorkloadBatchRepository.applyDeltas(List.of(
+                new WorkloadDelta(new WorkloadKey("john.doe", 2024, 3), "Johnny", "Doe", false, 15),
+                new WorkloadDelta(new WorkloadKey("john.doe", 2024, 4), null, null, null, -30),
+                new WorkloadDelta(new WorkloadKey("jane.roe", 2024, 3), "Jane", "Roe", true, 45),
+                new WorkloadDelta(new WorkloadKey("jane.roe", 2024, 5), null, null, null, -10)), 2);
+
+        TrainerWorkload march = trainerWorkloadRepository.findById(new TrainerWorkloadId("john.doe", 2024, 3)).orElseThrow();
+        assertEquals(75, march.getHours());
+        assertEquals("Johnny", march.getFirstName());
+        assertFalse(trainerWorkloadRepository.existsById(new TrainerWorkloadId("john.doe", 2024, 4)));
+        assertEquals(45, trainerWorkloadRepository.findById(new TrainerWorkloadId("jane.roe", 2024, 3)).orElseThrow().getHours());
+        assertEquals(2, trainerWorkloadRepository.count());
+    }
+}
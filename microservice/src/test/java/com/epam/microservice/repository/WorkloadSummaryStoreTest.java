@@ -0,0 +1,85 @@
+package com.epam.microservice.repository;
+
+import com.epam.microservice.model.TrainingWork;
+import com.epam.microservice.model.WorkloadDelta;
+import com.epam.microservice.model.WorkloadKey;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorkloadSummaryStoreTest {
+    private final WorkloadSummaryStore store = new WorkloadSummaryStore();
+
+    @Test
+    void givenAddsAndRemovals_whenFindByUsername_thenNonEmptyMonthsInOrder() {
+        store.apply(add("john.doe", 2024, 3, 60));
+        store.apply(add("john.doe", 2023, 12, 30));
+        store.apply(add("john.doe", 2024, 3, 15));
+        store.apply(add("john.doe", 2024, 5, 20));
+        store.apply(remove("john.doe", 2024, 5, 45));
+
+        TrainingWork trainingWork = store.findByUsername("john.doe").orElseThrow();
+
+        assertEquals("John", trainingWork.getFirstName());
+        assertEquals(2, trainingWork.getYears().size());
+        assertEquals("2023", trainingWork.getYears().get(0).getYearNumber());
+        assertEquals("12", trainingWork.getYears().get(0).getMonths().get(0).getMonthName());
+        assertEquals(1, trainingWork.getYears().get(1).getMonths().size());
+        assertEquals(75, trainingWork.getYears().get(1).getMonths().get(0).getHours());
+        assertArrayEquals(new int[]{0, 0, 75, 0, 0, 0, 0, 0, 0, 0, 0, 0}, store.months("john.doe", 2024));
+    }
+
+    @Test
+    void givenRemovalWithoutMonth_whenApply_thenNothingCreated() {
+        store.apply(remove("john.doe", 2024, 3, 60));
+        store.apply(add("jane.roe", 2024, 3, 60));
+        store.apply(remove("jane.roe", 2024, 4, 60));
+
+        assertTrue(store.findByUsername("john.doe").isEmpty());
+        assertEquals(0, store.hours("jane.roe", 2024, 4));
+        assertEquals(1, store.trainers());
+    }
+
+    @Test
+    void givenManyTrainers_whenTablesGrow_thenEveryMonthStillFound() {
+        for (int trainer = 0; trainer < 5000; trainer++) {
+            for (int year = 2020; year < 2024; year++) {
+                store.apply(add("trainer" + trainer, year, trainer % 12 + 1, trainer + year));
+            }
+        }
+
+        for (int trainer = 0; trainer < 5000; trainer++) {
+            for (int year = 2020; year < 2024; year++) {
+                assertEquals(trainer + year, store.hours("trainer" + trainer, year, trainer % 12 + 1));
+            }
+        }
+        assertEquals(5000, store.trainers());
+        // 16 + 25 bytes per trainer and 76 per year at the documented load, at most doubled by the last growth
+        assertTrue(store.arrayBytes() < 2 * 5000 * (41 + 4 * 76));
+    }
+
+    @Test
+    void givenAddsAndClampedRemoval_whenRead_thenTotalsAndVersionFollowEveryChange() {
+        store.apply(add("john.doe", 2023, 12, 30));
+        store.apply(add("john.doe", 2024, 3, 60));
+        store.apply(add("john.doe", 2024, 4, 20));
+        store.apply(remove("john.doe", 2024, 4, 45));
+        long version = store.version("john.doe");
+        store.apply(remove("john.doe", 2024, 5, 10));
+
+        assertEquals(90, store.findByUsername("john.doe").orElseThrow().getTotalHours());
+        assertEquals(60, store.findYear("john.doe", 2024).orElseThrow().getTotalHours());
+        assertEquals(30, store.findYear("john.doe", 2023).orElseThrow().getTotalHours());
+        assertEquals(4, version);
+        assertEquals(version, store.version("john.doe"));
+        assertEquals(-1, store.version("jane.roe"));
+    }
+
+    private static WorkloadDelta add(String username, int year, int month, int hours) {
+        return new WorkloadDelta(new WorkloadKey(username, year, month), "John", "Doe", true, hours);
+    }
+
+    private static WorkloadDelta remove(String username, int year, int month, int hours) {
+        return new WorkloadDelta(new WorkloadKey(username, year, month), null, null, null, -hours);
+    }
+}
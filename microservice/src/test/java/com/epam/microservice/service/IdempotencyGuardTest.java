@@ -0,0 +1,110 @@
+package com.epam.microservice.service;
+
+import com.epam.microservice.configuration.WorkloadIdempotencyProperties;
+import com.epam.microservice.exception.DuplicateTransactionException;
+import com.epam.microservice.repository.ProcessedTransactionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyGuardTest {
+    @Mock
+    private ProcessedTransactionRepository processedTransactionRepository;
+
+    private WorkloadIdempotencyProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private IdempotencyGuard idempotencyGuard;
+
+    @BeforeEach
+    void setUp() {
+        properties = new WorkloadIdempotencyProperties();
+        properties.setExpectedTransactions(10_000);
+        meterRegistry = new SimpleMeterRegistry();
+        idempotencyGuard = new IdempotencyGuard(processedTransactionRepository, properties, meterRegistry);
+    }
+
+    @Test
+    void givenUnseenTransactions_whenIsDuplicate_thenNoDatabaseLookup() {
+        idempotencyGuard.record(List.of("ADD:tx-1"));
+
+        for (int i = 2; i < 1000; i++) {
+            assertFalse(idempotencyGuard.isDuplicate("tx-" + i, "add"));
+        }
+
+        // Only the filter's rare false positives reach the table
+        verify(processedTransactionRepository, atMost(30)).existsById(anyString());
+    }
+
+    @Test
+    void givenRecordedTransaction_whenReplayed_thenDuplicateForSameActionOnly() {
+        idempotencyGuard.record(List.of("ADD:tx-1"));
+        given(processedTransactionRepository.existsById("ADD:tx-1")).willReturn(true);
+
+        assertTrue(idempotencyGuard.isDuplicate("tx-1", "add"));
+        assertTrue(idempotencyGuard.isDuplicate("tx-1", "ADD"));
+        assertFalse(idempotencyGuard.isDuplicate("tx-1", "delete"));
+        assertFalse(idempotencyGuard.isDuplicate(null, "add"));
+        assertEquals(2, meterRegistry.get("workload.idempotency.duplicates").counter().count());
+        verify(processedTransactionRepository).insert(eq("ADD:tx-1"), any(Instant.class));
+    }
+
+    @Test
+    void givenConcurrentReplayCommittedFirst_whenRecord_thenDuplicateTransaction() {
+        given(processedTransactionRepository.insert(eq("ADD:tx-1"), any(Instant.class)))
+                .willThrow(new DataIntegrityViolationException("duplicate key"));
+
+        assertThrows(DuplicateTransactionException.class, () -> idempotencyGuard.record(List.of("ADD:tx-1")));
+    }
+
+    @Test
+    void givenTwoWindowsPassed_whenIsDuplicate_thenFilterHasForgotten() {
+        properties.setWindow(Duration.ZERO);
+        idempotencyGuard.record(List.of("ADD:tx-1"));
+
+        idempotencyGuard.expire();
+        given(processedTransactionRepository.existsById("ADD:tx-1")).willReturn(true);
+        assertTrue(idempotencyGuard.isDuplicate("tx-1", "add"));
+        idempotencyGuard.expire();
+
+        assertFalse(idempotencyGuard.isDuplicate("tx-1", "add"));
+        verify(processedTransactionRepository, times(2)).deleteProcessedBefore(any(Instant.class));
+    }
+
+    @Test
+    void givenRestart_whenLoad_thenRecentTransactionsAreChecked() {
+        given(processedTransactionRepository.findKeysProcessedSince(any(Instant.class))).willReturn(List.of("DELETE:tx-9"));
+        given(processedTransactionRepository.existsById("DELETE:tx-9")).willReturn(true);
+
+        idempotencyGuard.load();
+
+        assertTrue(idempotencyGuard.isDuplicate("tx-9", "delete"));
+    }
+
+    @Test
+    void givenLoggedKeysWithMissingRows_whenRestore_thenOnlyMissingRowsInserted() {
+        given(processedTransactionRepository.existsById("ADD:tx-1")).willReturn(true);
+
+        idempotencyGuard.restore(List.of("ADD:tx-1", "ADD:tx-2"));
+
+        verify(processedTransactionRepository, never()).insert(eq("ADD:tx-1"), any(Instant.class));
+        verify(processedTransactionRepository).insert(eq("ADD:tx-2"), any(Instant.class));
+        given(processedTransactionRepository.existsById("ADD:tx-2")).willReturn(true);
+        assertTrue(idempotencyGuard.isDuplicate("tx-2", "add"));
+    }
+}
@@ -0,0 +1,152 @@
+package com.epam.microservice.service;
+
+import com.epam.microservice.exception.MissingAttributes;
+import com.epam.microservice.exception.NotFoundException;
+import com.epam.microservice.exception.WorkloadUnavailableException;
+import com.epam.microservice.model.TrainingRequest;
+import com.epam.microservice.model.WorkloadBatchResult;
+import com.epam.microservice.model.WorkloadKey;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class TrainingWorkBatchServiceTest {
+
+    @InjectMocks
+    private TrainingWorkBatchService trainingWorkBatchService;
+    @Mock
+    private TrainingWorkService trainingWorkService;
+    @Mock
+    private WorkloadAggregator workloadAggregator;
+    @Mock
+    private IdempotencyGuard idempotencyGuard;
+    @Mock
+    private WorkloadLease workloadLease;
+
+    private Date january;
+    private Date february;
+
+    @BeforeEach
+    public void setup() {
+        january = Date.from(LocalDate.of(2021, 1, 20).atStartOfDay(ZoneId.systemDefault()).toInstant());
+        february = Date.from(LocalDate.of(2021, 2, 3).atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+
+    @Test
+    public void givenEmptyBatch_whenAcceptTrainerWorkBatch_thenThrowsMissingAttributes() {
+        assertThrows(MissingAttributes.class, () -> trainingWorkBatchService.acceptTrainerWorkBatch(List.of()));
+    }
+
+    @Test
+    public void givenLeaseLost_whenAcceptTrainerWorkBatch_thenWholeBatchRejected() {
+        doThrow(new WorkloadUnavailableException("lease lost")).when(workloadLease).requireHeld();
+
+        assertThrows(WorkloadUnavailableException.class,
+                () -> trainingWorkBatchService.acceptTrainerWorkBatch(List.of(request("add", january, 60, "tx-1"))));
+
+        verify(trainingWorkService, never()).applyDelta(any(), any(), any(), any(), anyInt(), any());
+    }
+
+    @Test
+    public void givenSameTrainerMonth_whenAcceptTrainerWorkBatch_thenNetsHoursIntoOneUpdate() {
+        List<TrainingRequest> batch = List.of(
+                request("add", january, 60, "tx-1"),
+                request("add", january, 30, "tx-2"),
+                request("delete", january, 60, "tx-3"),
+                request("add", february, 45, "tx-4"));
+
+        List<WorkloadBatchResult> results = trainingWorkBatchService.acceptTrainerWorkBatch(batch);
+
+        verify(trainingWorkService, times(1)).applyDelta(new WorkloadKey("john.doe", 2021, 1), "John", "Doe", true, 30,
+                List.of("ADD:tx-1", "ADD:tx-2", "DELETE:tx-3"));
+        verify(trainingWorkService, times(1)).applyDelta(new WorkloadKey("john.doe", 2021, 2), "John", "Doe", true, 45, List.of("ADD:tx-4"));
+        assertEquals(4, results.size());
+        results.forEach(result -> assertEquals(WorkloadBatchResult.OK, result.getStatus()));
+        assertEquals("tx-3", results.get(2).getTransactionId());
+    }
+
+    @Test
+    public void givenInvalidItem_whenAcceptTrainerWorkBatch_thenRejectsOnlyThatItem() {
+        TrainingRequest invalid = request("update", january, 60, "tx-2");
+
+        List<WorkloadBatchResult> results = trainingWorkBatchService.acceptTrainerWorkBatch(List.of(request("add", january, 60, "tx-1"), invalid));
+
+        assertEquals(WorkloadBatchResult.OK, results.get(0).getStatus());
+        assertEquals(WorkloadBatchResult.REJECTED, results.get(1).getStatus());
+        verify(trainingWorkService, times(1)).applyDelta(any(), any(), any(), any(), anyInt(), any());
+    }
+
+    @Test
+    public void givenUnknownTrainer_whenAcceptTrainerWorkBatch_thenReportsNotFound() {
+        WorkloadKey key = new WorkloadKey("john.doe", 2021, 1);
+        doThrow(new NotFoundException("Training work not found"))
+                .when(trainingWorkService).applyDelta(eq(key), isNull(), isNull(), isNull(), eq(-60), eq(List.of("DELETE:tx-1")));
+
+        List<WorkloadBatchResult> results = trainingWorkBatchService.acceptTrainerWorkBatch(List.of(request("delete", january, 60, "tx-1")));
+
+        assertEquals(WorkloadBatchResult.NOT_FOUND, results.get(0).getStatus());
+        verify(trainingWorkService, never()).applyDelta(eq(new WorkloadKey("john.doe", 2021, 2)), any(), any(), any(), anyInt(), any());
+    }
+
+    @Test
+    public void givenAggregationEnabled_whenAcceptTrainerWorkBatch_thenGroupsQueuedInsteadOfWritten() {
+        given(workloadAggregator.isEnabled()).willReturn(true);
+
+        List<WorkloadBatchResult> results = trainingWorkBatchService.acceptTrainerWorkBatch(List.of(
+                request("add", january, 60, "tx-1"), request("delete", january, 15, "tx-2")));
+
+        verify(workloadAggregator, times(1)).accept(new WorkloadKey("john.doe", 2021, 1), "John", "Doe", true, 45,
+                List.of("ADD:tx-1", "DELETE:tx-2"));
+        verify(trainingWorkService, never()).applyDelta(any(), any(), any(), any(), anyInt(), any());
+        results.forEach(result -> assertEquals(WorkloadBatchResult.OK, result.getStatus()));
+    }
+
+    @Test
+    public void givenReplayedItems_whenAcceptTrainerWorkBatch_thenAppliedOnceAndReportedOk() {
+        given(idempotencyGuard.isDuplicate("tx-1", "add")).willReturn(true);
+
+        List<WorkloadBatchResult> results = trainingWorkBatchService.acceptTrainerWorkBatch(List.of(
+                request("add", january, 60, "tx-1"), request("add", january, 30, "tx-2"), request("add", january, 30, "tx-2")));
+
+        verify(trainingWorkService, times(1)).applyDelta(new WorkloadKey("john.doe", 2021, 1), "John", "Doe", true, 30, List.of("ADD:tx-2"));
+        results.forEach(result -> assertEquals(WorkloadBatchResult.OK, result.getStatus()));
+        assertEquals(TrainingWorkBatchService.ALREADY_APPLIED, results.get(0).getMessage());
+        assertNull(results.get(1).getMessage());
+        assertEquals(TrainingWorkBatchService.ALREADY_APPLIED, results.get(2).getMessage());
+    }
+
+    private TrainingRequest request(String action, Date date, int duration, String transactionId) {
+        return TrainingRequest.builder()
+                .firstName("John")
+                .lastName("Doe")
+                .username("john.doe")
+                .date(date)
+                .isActive(true)
+                .duration(duration)
+                .action(action)
+                .transactionId(transactionId)
+                .build();
+    }
+}
@@ -0,0 +1,111 @@
+package com.epam.microservice.service;
+
+import com.epam.microservice.exception.NotFoundException;
+import com.epam.microservice.model.WorkloadKey;
+import com.epam.microservice.repository.TrainerWorkloadBatchRepository;
+import com.epam.microservice.repository.TrainerWorkloadRepository;
+import com.epam.microservice.repository.WorkloadSummaryStore;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Every thread commits its own transactions, so the test itself must not run in one. It takes minutes, so the
+// default build skips it; run it with: mvn test -Dgroups=stress -DexcludedGroups=
+@Tag("stress")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@TestPropertySource(properties = "logging.level.com.epam.microservice=WARN")
+@Import({TrainingWorkService.class, TrainerWorkloadBatchRepository.class, WorkloadSummaryStore.class, TrainerLocks.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TrainingWorkConcurrencyTest {
+    private static final int THREADS = 8;
+    private static final int DELTAS = 100_000;
+    private static final int MIXED_TRAINERS = 16;
+    private static final int ADD_ONLY_TRAINERS = 4;
+    private static final int MONTHS = 3;
+
+    @Autowired
+    private TrainingWorkService trainingWorkService;
+    @Autowired
+    private TrainerWorkloadRepository trainerWorkloadRepository;
+    @Autowired
+    private WorkloadSummaryStore workloadSummaryStore;
+    @MockBean
+    private IdempotencyGuard idempotencyGuard;
+    @MockBean
+    private WorkloadLease workloadLease;
+
+    @Test
+    void givenConcurrentAddsAndRemovals_whenApplyDelta_thenTableAndSummariesAgreeExactly() throws Exception {
+        AtomicLong addOnlyHours = new AtomicLong();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            workers.add(executor.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < DELTAS / THREADS; i++) {
+                    int trainer = random.nextInt(MIXED_TRAINERS + ADD_ONLY_TRAINERS);
+                    WorkloadKey key = new WorkloadKey("trainer" + trainer, 2024, random.nextInt(MONTHS) + 1);
+                    if (trainer >= MIXED_TRAINERS) {
+                        int hours = random.nextInt(10) + 1;
+                        trainingWorkService.applyDelta(key, "Trainer", "Roe", true, hours);
+                        addOnlyHours.addAndGet(hours);
+                    } else if (random.nextBoolean()) {
+                        trainingWorkService.applyDelta(key, "Trainer", "Roe", true, random.nextInt(10) + 1);
+                    } else {
+                        try {
+                            trainingWorkService.applyDelta(key, null, null, null, -(random.nextInt(15) + 1));
+                        } catch (NotFoundException e) {
+                            // The month holds fewer hours than removed; nothing changes
+                        }
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+        executor.shutdown();
+
+        Map<WorkloadKey, Integer> table = new HashMap<>();
+        trainerWorkloadRepository.findAll().forEach(row ->
+                table.put(new WorkloadKey(row.getUsername(), row.getYear(), row.getMonth()), row.getHours()));
+        long addOnlyTable = 0;
+        long addOnlySummaries = 0;
+        for (int trainer = 0; trainer < MIXED_TRAINERS + ADD_ONLY_TRAINERS; trainer++) {
+            for (int month = 1; month <= MONTHS; month++) {
+                WorkloadKey key = new WorkloadKey("trainer" + trainer, 2024, month);
+                int summary = workloadSummaryStore.hours(key.username(), key.year(), key.month());
+                assertEquals(table.getOrDefault(key, 0), summary, key.toString());
+                if (trainer >= MIXED_TRAINERS) {
+                    addOnlyTable += table.get(key);
+                    addOnlySummaries += summary;
+                }
+            }
+        }
+        assertEquals(addOnlyHours.get(), addOnlyTable);
+        assertEquals(addOnlyHours.get(), addOnlySummaries);
+    }
+}
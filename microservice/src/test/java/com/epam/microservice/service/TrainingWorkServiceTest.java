@@ -1,19 +1,17 @@
 package com.epam.microservice.service;
 
-import com.epam.microservice.entity.TrainingMonth;
-import com.epam.microservice.entity.TrainingWork;
-import com.epam.microservice.entity.TrainingYears;
 import com.epam.microservice.exception.MissingAttributes;
 import com.epam.microservice.exception.NotFoundException;
+import com.epam.microservice.exception.WorkloadUnavailableException;
 import com.epam.microservice.model.TrainingRequest;
-import com.epam.microservice.repository.TrainingMonthRepository;
-import com.epam.microservice.repository.TrainingWorkRepository;
-import com.epam.microservice.repository.TrainingYearsRepository;
+import com.epam.microservice.repository.TrainerWorkloadRepository;
+import com.epam.microservice.repository.WorkloadSummaryStore;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDate;
@@ -23,10 +21,15 @@ import java.util.*;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 
 @ExtendWith(MockitoExtension.class)
 public class TrainingWorkServiceTest {
@@ -34,40 +37,20 @@ public class TrainingWorkServiceTest {
     @InjectMocks
     private TrainingWorkService trainingWorkService;
     @Mock
-    private TrainingWorkRepository trainingWorkRepository;
+    private TrainerWorkloadRepository trainerWorkloadRepository;
     @Mock
-    private TrainingYearsRepository trainingYearsRepository;
+    private WorkloadSummaryStore workloadSummaryStore;
+    @Spy
+    private TrainerLocks trainerLocks = new TrainerLocks();
     @Mock
-    private TrainingMonthRepository trainingMonthRepository;
-
-    TrainingWork trainingWork;
-    TrainingYears trainingYears;
-    TrainingMonth trainingMonth;
+    private IdempotencyGuard idempotencyGuard;
+    @Mock
+    private WorkloadLease workloadLease;
 
     TrainingRequest trainingRequest;
 
     @BeforeEach
     public void setup() {
-        trainingWork = new TrainingWork();
-        trainingWork.setFirstName("John");
-        trainingWork.setLastName("Doe");
-        trainingWork.setUsername("john.doe");
-        trainingWork.setStatus(true);
-        trainingWork.setId(1L);
-
-        trainingYears = new TrainingYears();
-        trainingYears.setId(1L);
-        trainingYears.setYearNumber("2021");
-
-        trainingMonth = new TrainingMonth();
-        trainingMonth.setId(1L);
-        trainingMonth.setMonthName("January");
-        trainingMonth.setHours(10);
-
-        // Use ArrayList instead of List.of
-        trainingYears.setMonths(new ArrayList<>(Arrays.asList(trainingMonth)));
-        trainingWork.setYears(new ArrayList<>(Arrays.asList(trainingYears)));
-
         LocalDate localDate = LocalDate.of(2021, 1, 20);
         Date date = Date.from(localDate.atStartOfDay(ZoneId.systemDefault()).toInstant());
         trainingRequest = TrainingRequest.builder()
@@ -76,6 +59,7 @@ public class TrainingWorkServiceTest {
                 .username("john.doe")
                 .date(date)
                 .isActive(true)
+                .duration(60)
                 .action("add")
                 .build();
     }
@@ -131,27 +115,11 @@ public class TrainingWorkServiceTest {
     }
 
     @Test
-    public void testAddTrainingWork_CreateTrainingWork() {
-        // Training request with all attributes present
-        given(trainingWorkRepository.findByUsername(anyString()))
-                .willReturn(Optional.empty());
-
-        assertDoesNotThrow(() -> trainingWorkService.addTrainingWork(trainingRequest));
-
-        // Verify that work repository was called
-        verify(trainingWorkRepository, times(1)).save(any());
-    }
-
-    @Test
-    public void testAddTrainingWork_UpdateTrainingWork() {
-        // Training request with all attributes present
-        given(trainingWorkRepository.findByUsername(anyString()))
-                .willReturn(Optional.of(trainingWork)); // Existing training work
-
+    public void testAddTrainingWork_UpsertsMonthRow() {
         assertDoesNotThrow(() -> trainingWorkService.addTrainingWork(trainingRequest));
 
-        // Verify that work repository was called
-        verify(trainingWorkRepository, times(1)).save(any());
+        // A single upsert carries the whole update
+        verify(trainerWorkloadRepository, times(1)).addHours("john.doe", 2021, 1, "John", "Doe", true, 60);
     }
 
     @Test
@@ -160,9 +128,11 @@ public class TrainingWorkServiceTest {
         TrainingRequest request = TrainingRequest.builder()
                 .username("notfound")
                 .date(new Date())
+                .duration(60)
                 .build();
 
-        given(trainingWorkRepository.findByUsername(anyString())).willReturn(Optional.empty());
+        given(trainerWorkloadRepository.subtractHours(anyString(), anyInt(), anyInt(), anyInt())).willReturn(0);
+        given(trainerWorkloadRepository.existsByUsername("notfound")).willReturn(false);
 
         assertThrows(NotFoundException.class,
                 () -> trainingWorkService.deleteTrainingWork(request),
@@ -170,18 +140,57 @@ public class TrainingWorkServiceTest {
     }
 
     @Test
-    public void testDeleteTrainingWork_TrainingYearsNotFound() {
+    public void testAcceptTrainerWork_LeaseLost() {
+        doThrow(new WorkloadUnavailableException("lease lost")).when(workloadLease).requireHeld();
+
+        assertThrows(WorkloadUnavailableException.class, () -> trainingWorkService.acceptTrainerWork(trainingRequest));
+
+        verifyNoInteractions(trainerWorkloadRepository, workloadSummaryStore);
+        verify(idempotencyGuard, never()).record(any());
+    }
+
+    @Test
+    public void testDeleteTrainingWork_MonthNotFound() {
         TrainingRequest request = TrainingRequest.builder()
                 .username("john.doe")
                 .date(new Date())
+                .duration(60)
                 .build();
 
-        TrainingWork work = new TrainingWork();
-        work.setYears(new ArrayList<>());  // Years list is empty
+        given(trainerWorkloadRepository.subtractHours(anyString(), anyInt(), anyInt(), anyInt())).willReturn(0);
+        given(trainerWorkloadRepository.existsByUsername("john.doe")).willReturn(true);
+
+        assertThrows(NotFoundException.class, () -> trainingWorkService.deleteTrainingWork(request));
+        verify(trainerWorkloadRepository, never()).deleteIfEmpty(anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    public void testDeleteTrainingWork_SubtractsAndCleansUpMonth() {
+        trainingRequest.setAction("delete");
+        given(trainerWorkloadRepository.subtractHours("john.doe", 2021, 1, 60)).willReturn(1);
+
+        assertDoesNotThrow(() -> trainingWorkService.deleteTrainingWork(trainingRequest));
+        verify(trainerWorkloadRepository, times(1)).deleteIfEmpty(eq("john.doe"), eq(2021), eq(1));
+    }
+
+    @Test
+    public void givenReplayedTransaction_whenAcceptTrainerWork_thenNothingWritten() {
+        trainingRequest.setTransactionId("tx-1");
+        given(idempotencyGuard.isDuplicate("tx-1", "add")).willReturn(true);
+
+        trainingWorkService.acceptTrainerWork(trainingRequest);
+
+        verify(trainerWorkloadRepository, never()).addHours(anyString(), anyInt(), anyInt(), anyString(), anyString(), any(), anyInt());
+        verify(idempotencyGuard, never()).record(any());
+    }
+
+    @Test
+    public void givenNewTransaction_whenAcceptTrainerWork_thenRecordedWithTheUpdate() {
+        trainingRequest.setTransactionId("tx-1");
 
-        given(trainingWorkRepository.findByUsername(anyString())).willReturn(Optional.of(work));
+        trainingWorkService.acceptTrainerWork(trainingRequest);
 
-        assertDoesNotThrow(() -> trainingWorkService.deleteTrainingWork(request));
-        verify(trainingWorkRepository, times(1)).delete(any());  // Check TrainingWork is deleted
+        verify(trainerWorkloadRepository, times(1)).addHours("john.doe", 2021, 1, "John", "Doe", true, 60);
+        verify(idempotencyGuard, times(1)).record(List.of("ADD:tx-1"));
     }
 }
@@ -0,0 +1,257 @@
+package com.epam.microservice.service;
+
+import com.epam.microservice.configuration.WorkloadAggregationProperties;
+import com.epam.microservice.entity.WorkloadCheckpoint;
+import com.epam.microservice.exception.DuplicateTransactionException;
+import com.epam.microservice.exception.NotFoundException;
+import com.epam.microservice.exception.WorkloadUnavailableException;
+import com.epam.microservice.model.WorkloadDelta;
+import com.epam.microservice.model.WorkloadKey;
+import com.epam.microservice.repository.TrainerWorkloadRepository;
+import com.epam.microservice.repository.WorkloadCheckpointRepository;
+import com.epam.microservice.repository.WorkloadSummaryStore;
+import com.epam.microservice.wal.WalPosition;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class WorkloadAggregatorTest {
+    private static final WorkloadKey JANUARY = new WorkloadKey("john.doe", 2021, 1);
+    private static final WorkloadKey FEBRUARY = new WorkloadKey("john.doe", 2021, 2);
+
+    @Mock
+    private TrainingWorkService trainingWorkService;
+    @Mock
+    private TrainerWorkloadRepository trainerWorkloadRepository;
+    @Mock
+    private WorkloadCheckpointRepository workloadCheckpointRepository;
+    @Mock
+    private IdempotencyGuard idempotencyGuard;
+    @Mock
+    private WorkloadLease workloadLease;
+    @TempDir
+    Path walDirectory;
+
+    private WorkloadAggregationProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private WorkloadSummaryStore workloadSummaryStore;
+
+    @BeforeEach
+    public void setup() {
+        properties = new WorkloadAggregationProperties();
+        properties.setEnabled(true);
+        properties.setWalDirectory(walDirectory);
+        meterRegistry = new SimpleMeterRegistry();
+        workloadSummaryStore = new WorkloadSummaryStore();
+    }
+
+    @Test
+    public void givenSeveralDeltasForOneMonth_whenFlush_thenWrittenOnceAsNetDelta() throws IOException {
+        WorkloadAggregator aggregator = start();
+        aggregator.accept(JANUARY, "John", "Doe", true, 60);
+        aggregator.accept(JANUARY, "Johnny", "Doe", false, 30);
+        aggregator.accept(JANUARY, null, null, null, -15);
+        aggregator.accept(FEBRUARY, "John", "Doe", true, 45);
+        assertEquals(2, meterRegistry.get("workload.aggregation.dirty").gauge().value());
+        assertEquals(75, workloadSummaryStore.hours("john.doe", 2021, 1));
+
+        aggregator.flush();
+
+        assertEquals(Map.of(JANUARY, new WorkloadDelta(JANUARY, "Johnny", "Doe", false, 75),
+                FEBRUARY, new WorkloadDelta(FEBRUARY, "John", "Doe", true, 45)), flushed(1));
+        assertEquals(0, meterRegistry.get("workload.aggregation.dirty").gauge().value());
+        assertEquals(2, meterRegistry.get("workload.aggregation.flush.size").summary().totalAmount());
+        assertEquals(List.of(), sealedSegments());
+        aggregator.stop();
+    }
+
+    @Test
+    public void givenDeltasNotFlushed_whenRestarted_thenReplayedFromLog() throws IOException {
+        WorkloadAggregator crashed = start();
+        crashed.accept(JANUARY, "John", "Doe", true, 60);
+        crashed.accept(JANUARY, null, null, null, -20);
+
+        workloadSummaryStore = new WorkloadSummaryStore();
+        WorkloadAggregator restarted = start();
+        restarted.flush();
+
+        assertEquals(Map.of(JANUARY, new WorkloadDelta(JANUARY, "John", "Doe", true, 40)), flushed(1));
+        assertEquals(40, workloadSummaryStore.hours("john.doe", 2021, 1));
+    }
+
+    @Test
+    public void givenCheckpointCommittedBeforeCrash_whenRestarted_thenLoggedDeltasNotReplayed() throws IOException {
+        WorkloadAggregator crashed = start();
+        crashed.accept(JANUARY, "John", "Doe", true, 60);
+        ArgumentCaptor<WalPosition> position = ArgumentCaptor.forClass(WalPosition.class);
+        doThrow(new IllegalStateException("crash before the log is trimmed")).when(trainingWorkService)
+                .applyDeltas(anyCollection(), anyInt(), anyString(), position.capture());
+        crashed.flush();
+        given(workloadCheckpointRepository.findById(WorkloadAggregator.CHECKPOINT)).willReturn(Optional.of(
+                new WorkloadCheckpoint(WorkloadAggregator.CHECKPOINT, position.getValue().segment(), position.getValue().offset())));
+        reset(trainingWorkService);
+
+        WorkloadAggregator restarted = start();
+        restarted.flush();
+
+        verifyNoInteractions(trainingWorkService);
+        restarted.accept(FEBRUARY, "John", "Doe", true, 45);
+        restarted.flush();
+        assertEquals(Map.of(FEBRUARY, new WorkloadDelta(FEBRUARY, "John", "Doe", true, 45)), flushed(1));
+        assertFalse(Files.exists(walDirectory.resolve(String.format("workload-%020d.wal", 1))));
+    }
+
+    @Test
+    public void givenCheckpointWithoutOffset_whenRestarted_thenItsWholeSegmentSkipped() throws IOException {
+        WorkloadAggregator crashed = start();
+        crashed.accept(JANUARY, "John", "Doe", true, 60);
+        given(workloadCheckpointRepository.findById(WorkloadAggregator.CHECKPOINT))
+                .willReturn(Optional.of(new WorkloadCheckpoint(WorkloadAggregator.CHECKPOINT, 1, null)));
+
+        WorkloadAggregator restarted = start();
+        restarted.flush();
+
+        verifyNoInteractions(trainingWorkService);
+    }
+
+    @Test
+    public void givenManyFlushes_whenSegmentNotFull_thenNoSegmentStarted() throws IOException {
+        WorkloadAggregator aggregator = start();
+        for (int i = 0; i < 10; i++) {
+            aggregator.accept(JANUARY, "John", "Doe", true, 60);
+            aggregator.flush();
+        }
+
+        assertEquals(1, walFiles().size());
+        aggregator.stop();
+    }
+
+    @Test
+    public void givenFailedFlush_whenFlushedAgain_thenKeptDeltasWrittenWithNewOnes() throws IOException {
+        WorkloadAggregator aggregator = start();
+        aggregator.accept(JANUARY, "John", "Doe", true, 60);
+        doThrow(new IllegalStateException("database down")).doNothing().when(trainingWorkService)
+                .applyDeltas(anyCollection(), anyInt(), anyString(), any(WalPosition.class));
+        aggregator.flush();
+        aggregator.accept(JANUARY, "Johnny", "Doe", true, 30);
+
+        aggregator.flush();
+
+        assertEquals(Map.of(JANUARY, new WorkloadDelta(JANUARY, "Johnny", "Doe", true, 90)), flushed(2));
+        assertEquals(List.of(), sealedSegments());
+        aggregator.stop();
+    }
+
+    @Test
+    public void givenDeleteForUnknownTrainer_whenAccept_thenThrowsNotFound() throws IOException {
+        WorkloadAggregator aggregator = start();
+        given(trainerWorkloadRepository.existsByUsername("john.doe")).willReturn(false);
+
+        assertThrows(NotFoundException.class, () -> aggregator.accept(JANUARY, null, null, null, -60));
+
+        aggregator.flush();
+        verifyNoInteractions(trainingWorkService);
+        aggregator.stop();
+    }
+
+    @Test
+    public void givenLeaseLost_whenAccept_thenRejectedAndNothingLogged() throws IOException {
+        WorkloadAggregator aggregator = start();
+        doThrow(new WorkloadUnavailableException("lease lost")).when(workloadLease).requireHeld();
+
+        assertThrows(WorkloadUnavailableException.class, () -> aggregator.accept(JANUARY, "John", "Doe", true, 60, List.of("ADD:tx-1")));
+
+        aggregator.flush();
+        verify(idempotencyGuard, never()).record(anyCollection());
+        verifyNoInteractions(trainingWorkService);
+        assertEquals(0, workloadSummaryStore.hours("john.doe", 2021, 1));
+    }
+
+    @Test
+    public void givenDeleteForMoreThanTheMonthHolds_whenAccept_thenThrowsNotFoundAndKeysNotRecorded() throws IOException {
+        WorkloadAggregator aggregator = start();
+        aggregator.accept(JANUARY, "John", "Doe", true, 30);
+
+        assertThrows(NotFoundException.class, () -> aggregator.accept(JANUARY, null, null, null, -60, List.of("DELETE:tx-1")));
+        assertThrows(NotFoundException.class, () -> aggregator.accept(FEBRUARY, null, null, null, -15, List.of("DELETE:tx-2")));
+
+        verify(idempotencyGuard, never()).record(List.of("DELETE:tx-1"));
+        verify(idempotencyGuard, never()).record(List.of("DELETE:tx-2"));
+        assertEquals(30, workloadSummaryStore.hours("john.doe", 2021, 1));
+        aggregator.flush();
+        assertEquals(Map.of(JANUARY, new WorkloadDelta(JANUARY, "John", "Doe", true, 30)), flushed(1));
+        aggregator.stop();
+    }
+
+    @Test
+    public void givenIdempotencyKeys_whenAccept_thenReservedBeforeLogged() throws IOException {
+        WorkloadAggregator aggregator = start();
+        doThrow(new DuplicateTransactionException("Transaction ADD:tx-1 is already being applied"))
+                .when(idempotencyGuard).record(List.of("ADD:tx-1"));
+
+        assertThrows(DuplicateTransactionException.class,
+                () -> aggregator.accept(JANUARY, "John", "Doe", true, 60, List.of("ADD:tx-1")));
+
+        assertEquals(0, workloadSummaryStore.hours("john.doe", 2021, 1));
+        aggregator.flush();
+        verifyNoInteractions(trainingWorkService);
+        aggregator.stop();
+    }
+
+    @Test
+    public void givenDeltasNotFlushed_whenRestarted_thenIdempotencyKeysRestored() throws IOException {
+        WorkloadAggregator crashed = start();
+        crashed.accept(JANUARY, "John", "Doe", true, 60, List.of("ADD:tx-1", "ADD:tx-2"));
+        crashed.accept(JANUARY, null, null, null, -20);
+
+        start();
+
+        verify(idempotencyGuard, times(1)).restore(List.of("ADD:tx-1", "ADD:tx-2"));
+    }
+
+    private WorkloadAggregator start() throws IOException {
+        WorkloadAggregator aggregator = new WorkloadAggregator(trainingWorkService, trainerWorkloadRepository,
+                workloadCheckpointRepository, workloadSummaryStore, new TrainerLocks(), idempotencyGuard, properties, workloadLease,
+                meterRegistry = new SimpleMeterRegistry());
+        aggregator.start();
+        return aggregator;
+    }
+
+    // The deltas of the last of the given number of flushes, by trainer-month
+    @SuppressWarnings("unchecked")
+    private Map<WorkloadKey, WorkloadDelta> flushed(int flushes) {
+        ArgumentCaptor<Collection<WorkloadDelta>> deltas = ArgumentCaptor.forClass(Collection.class);
+        verify(trainingWorkService, times(flushes)).applyDeltas(deltas.capture(), eq(500), eq(WorkloadAggregator.CHECKPOINT), any(WalPosition.class));
+        Map<WorkloadKey, WorkloadDelta> byKey = new HashMap<>();
+        deltas.getValue().forEach(delta -> byKey.put(delta.key(), delta));
+        return byKey;
+    }
+
+    private List<Path> sealedSegments() throws IOException {
+        // The open segment is always there; anything older is still waiting for a checkpoint
+        List<Path> segments = walFiles();
+        return segments.subList(0, segments.size() - 1);
+    }
+
+    private List<Path> walFiles() throws IOException {
+        try (var files = Files.list(walDirectory)) {
+            return files.sorted().toList();
+        }
+    }
+}
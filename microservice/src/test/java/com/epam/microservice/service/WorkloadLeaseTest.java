@@ -0,0 +1,127 @@
+package com.epam.microservice.service;
+
+import com.epam.microservice.configuration.WorkloadLeaseProperties;
+import com.epam.microservice.entity.ServiceLease;
+import com.epam.microservice.exception.WorkloadUnavailableException;
+import com.epam.microservice.repository.ServiceLeaseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+// Every lease call commits on its own, like it does during startup
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class WorkloadLeaseTest {
+
+    @Autowired
+    private ServiceLeaseRepository serviceLeaseRepository;
+
+    private WorkloadLeaseProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        serviceLeaseRepository.deleteAll();
+        properties = new WorkloadLeaseProperties();
+    }
+
+    @Test
+    void givenRunningInstance_whenSecondStarts_thenStartupFails() {
+        WorkloadLease running = new WorkloadLease(serviceLeaseRepository, properties);
+        running.acquire();
+        WorkloadLease second = new WorkloadLease(serviceLeaseRepository, properties);
+
+        assertThrows(IllegalStateException.class, second::acquire);
+
+        assertTrue(running.isHeld());
+        assertEquals(Status.DOWN, second.health().getStatus());
+    }
+
+    @Test
+    void givenInstanceStopped_whenNextStarts_thenLeaseTaken() {
+        WorkloadLease stopped = new WorkloadLease(serviceLeaseRepository, properties);
+        stopped.acquire();
+        stopped.release();
+        WorkloadLease next = new WorkloadLease(serviceLeaseRepository, properties);
+
+        next.acquire();
+
+        assertTrue(next.isHeld());
+    }
+
+    @Test
+    void givenCrashedInstanceLeaseExpired_whenNextStarts_thenLeaseTakenOver() {
+        serviceLeaseRepository.save(new ServiceLease(WorkloadLease.NAME, "crashed", Instant.now().minus(Duration.ofSeconds(1))));
+        WorkloadLease next = new WorkloadLease(serviceLeaseRepository, properties);
+
+        next.acquire();
+        next.renew();
+
+        assertTrue(next.isHeld());
+        assertEquals(Status.UP, next.health().getStatus());
+    }
+
+    @Test
+    void givenLeaseTakenOver_whenRenew_thenReportsDown() {
+        WorkloadLease stalled = new WorkloadLease(serviceLeaseRepository, properties);
+        stalled.acquire();
+        serviceLeaseRepository.save(new ServiceLease(WorkloadLease.NAME, "other", Instant.now().plus(Duration.ofMinutes(1))));
+
+        stalled.renew();
+
+        assertFalse(stalled.isHeld());
+        assertEquals(Status.DOWN, stalled.health().getStatus());
+        assertThrows(WorkloadUnavailableException.class, stalled::requireHeld);
+    }
+
+    @Test
+    void givenRenewalsFailingPastTtl_whenRenew_thenLeaseTreatedAsLost() throws InterruptedException {
+        ServiceLeaseRepository unreachable = mock(ServiceLeaseRepository.class);
+        given(unreachable.extend(anyString(), anyString(), any(), any()))
+                .willReturn(1)
+                .willThrow(new DataAccessResourceFailureException("database down"));
+        properties.setTtl(Duration.ofMillis(200));
+        WorkloadLease lease = new WorkloadLease(unreachable, properties);
+        lease.acquire();
+
+        lease.renew();
+        assertTrue(lease.isHeld());
+        Thread.sleep(300);
+        lease.renew();
+
+        assertFalse(lease.isHeld());
+        assertEquals(Status.DOWN, lease.health().getStatus());
+        assertThrows(WorkloadUnavailableException.class, lease::requireHeld);
+    }
+
+    @Test
+    void givenLeaseExpiredLocally_whenRenewSucceeds_thenHeldAgain() throws InterruptedException {
+        properties.setTtl(Duration.ofMillis(200));
+        WorkloadLease lease = new WorkloadLease(serviceLeaseRepository, properties);
+        lease.acquire();
+        Thread.sleep(300);
+        assertFalse(lease.isHeld());
+
+        lease.renew();
+
+        assertTrue(lease.isHeld());
+        assertDoesNotThrow(lease::requireHeld);
+    }
+}
@@ -0,0 +1,43 @@
+package com.epam.microservice.service;
+
+import com.epam.microservice.exception.BadRequestException;
+import com.epam.microservice.exception.NotFoundException;
+import com.epam.microservice.model.WorkloadDelta;
+import com.epam.microservice.model.WorkloadKey;
+import com.epam.microservice.repository.WorkloadSummaryStore;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorkloadSummaryServiceTest {
+    private final WorkloadSummaryStore workloadSummaryStore = new WorkloadSummaryStore();
+    private final WorkloadSummaryService workloadSummaryService = new WorkloadSummaryService(workloadSummaryStore);
+
+    @Test
+    void givenUpdate_whenEtag_thenTagChanges() {
+        workloadSummaryStore.apply(delta(2024, 3, 60));
+        String before = workloadSummaryService.etag("john.doe");
+        workloadSummaryStore.apply(delta(2024, 3, 15));
+
+        assertNotEquals(before, workloadSummaryService.etag("john.doe"));
+        assertEquals(75, workloadSummaryService.getMonth("john.doe", 2024, 3).getHours());
+    }
+
+    @Test
+    void givenUnknownTrainerOrEmptyMonth_whenRead_thenNotFound() {
+        workloadSummaryStore.apply(delta(2024, 3, 60));
+
+        assertThrows(NotFoundException.class, () -> workloadSummaryService.etag("jane.roe"));
+        assertThrows(NotFoundException.class, () -> workloadSummaryService.getMonth("john.doe", 2024, 4));
+        assertThrows(NotFoundException.class, () -> workloadSummaryService.getYear("john.doe", 2023));
+    }
+
+    @Test
+    void givenMonthOutOfRange_whenGetMonth_thenBadRequest() {
+        assertThrows(BadRequestException.class, () -> workloadSummaryService.getMonth("john.doe", 2024, 13));
+    }
+
+    private static WorkloadDelta delta(int year, int month, int hours) {
+        return new WorkloadDelta(new WorkloadKey("john.doe", year, month), "John", "Doe", true, hours);
+    }
+}
@@ -0,0 +1,135 @@
+package com.epam.microservice.wal;
+
+import com.epam.microservice.model.WorkloadDelta;
+import com.epam.microservice.model.WorkloadKey;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class WorkloadWalTest {
+    private static final int SEGMENT_SIZE = 4096;
+    private static final WorkloadDelta ADD = new WorkloadDelta(new WorkloadKey("john.doe", 2021, 1), "John", "Doe", true, 60);
+    private static final WorkloadDelta RENAMED = new WorkloadDelta(new WorkloadKey("john.doe", 2021, 2), "Johnny", "Doe", false, 30);
+    private static final WorkloadDelta DELETE = new WorkloadDelta(new WorkloadKey("jane.roe", 2024, 12), null, null, null, -30);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void givenAppendedDeltas_whenReopened_thenReplayedInOrderWithTransactionIds() throws IOException {
+        try (WorkloadWal wal = WorkloadWal.open(directory, SEGMENT_SIZE, WalSyncPolicy.ALWAYS)) {
+            wal.sync(wal.append(ADD, "tx-1"));
+            wal.sync(wal.append(RENAMED, "tx-2"));
+            wal.sync(wal.append(ADD, null));
+            wal.sync(wal.append(DELETE, "tx-3"));
+        }
+
+        List<String> replayed = replayAll();
+
+        assertEquals(List.of(ADD + " tx-1", RENAMED + " tx-2", ADD + " ", DELETE + " tx-3"), replayed);
+    }
+
+    @Test
+    void givenCorruptLastRecord_whenReplayed_thenEarlierRecordsKept() throws IOException {
+        long end;
+        try (WorkloadWal wal = WorkloadWal.open(directory, SEGMENT_SIZE, WalSyncPolicy.NEVER)) {
+            wal.append(ADD, "tx-1");
+            end = wal.append(DELETE, "tx-2");
+        }
+        try (RandomAccessFile segment = new RandomAccessFile(directory.resolve(segmentName(1)).toFile(), "rw")) {
+            segment.seek(end - 3);
+            segment.write(0x7f);
+        }
+
+        assertEquals(List.of(ADD + " tx-1"), replayAll());
+    }
+
+    @Test
+    void givenFullSegments_whenAppend_thenRollsOverAndReplaysAcrossSegments() throws IOException {
+        List<String> appended = new ArrayList<>();
+        try (WorkloadWal wal = WorkloadWal.open(directory, 256, WalSyncPolicy.ALWAYS)) {
+            for (int i = 0; i < 40; i++) {
+                WorkloadDelta delta = new WorkloadDelta(new WorkloadKey("trainer" + i % 3, 2024, i % 12 + 1), "Trainer", "Roe", true, i);
+                wal.sync(wal.append(delta, "tx-" + i));
+                appended.add(delta + " tx-" + i);
+            }
+            assertTrue(wal.segments().size() > 2);
+        }
+
+        assertEquals(appended, replayAll());
+    }
+
+    @Test
+    void givenCheckpointWithinSegment_whenReopened_thenOnlyLaterDeltasReplayed() throws IOException {
+        WalPosition checkpoint;
+        try (WorkloadWal wal = WorkloadWal.open(directory, SEGMENT_SIZE, WalSyncPolicy.ALWAYS)) {
+            wal.append(ADD, "tx-1");
+            checkpoint = wal.position();
+            wal.append(RENAMED, "tx-2");
+
+            wal.compact(checkpoint);
+
+            assertEquals(List.of(1L), wal.segments());
+        }
+        assertEquals(List.of(RENAMED + " tx-2"), replay(checkpoint));
+    }
+
+    @Test
+    void givenCheckpointInLaterSegment_whenCompact_thenEarlierSegmentsDropped() throws IOException {
+        WalPosition checkpoint = WalPosition.START;
+        List<String> afterCheckpoint = new ArrayList<>();
+        try (WorkloadWal wal = WorkloadWal.open(directory, 256, WalSyncPolicy.ALWAYS)) {
+            for (int i = 0; i < 40; i++) {
+                WorkloadDelta delta = new WorkloadDelta(new WorkloadKey("trainer" + i % 3, 2024, i % 12 + 1), "Trainer", "Roe", true, i);
+                wal.append(delta, "tx-" + i);
+                if (i == 29) {
+                    checkpoint = wal.position();
+                } else if (i > 29) {
+                    afterCheckpoint.add(delta + " tx-" + i);
+                }
+            }
+
+            wal.compact(checkpoint);
+
+            assertEquals(checkpoint.segment(), wal.segments().get(0));
+        }
+        assertTrue(checkpoint.segment() > 1);
+        assertEquals(afterCheckpoint, replay(checkpoint));
+    }
+
+    @Test
+    void givenRepeatedCheckpoints_whenPositionTaken_thenNoSegmentStarted() throws IOException {
+        try (WorkloadWal wal = WorkloadWal.open(directory, SEGMENT_SIZE, WalSyncPolicy.ALWAYS)) {
+            for (int i = 0; i < 10; i++) {
+                wal.append(ADD, "tx-" + i);
+                wal.compact(wal.position());
+            }
+
+            assertEquals(List.of(1L), wal.segments());
+        }
+    }
+
+    private List<String> replayAll() throws IOException {
+        return replay(WalPosition.START);
+    }
+
+    private List<String> replay(WalPosition from) throws IOException {
+        List<String> replayed = new ArrayList<>();
+        try (WorkloadWal wal = WorkloadWal.open(directory, SEGMENT_SIZE, WalSyncPolicy.NEVER)) {
+            wal.replay(from, (delta, transactionId) -> replayed.add(delta + " " + transactionId));
+        }
+        return replayed;
+    }
+
+    private static String segmentName(long segment) {
+        return String.format("workload-%020d.wal", segment);
+    }
+}